@@ -0,0 +1,7 @@
+-- Composite (sort column, id) indexes for keyset pagination on /api/v1/components/paged and /search/paged
+CREATE INDEX IF NOT EXISTS idx_components_name_id ON components(name, id);
+CREATE INDEX IF NOT EXISTS idx_components_brand_id ON components(brand, id);
+CREATE INDEX IF NOT EXISTS idx_components_price_id ON components(price, id);
+CREATE INDEX IF NOT EXISTS idx_components_type_id ON components(type, id);
+CREATE INDEX IF NOT EXISTS idx_components_stock_quantity_id ON components(stock_quantity, id);
+CREATE INDEX IF NOT EXISTS idx_components_created_at_id ON components(created_at, id);
@@ -0,0 +1,18 @@
+-- Full-text and trigram search for the component searchTerm and substring filters
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted full-text document: name (A), brand (B), compatibility tag (C); the 'simple' configuration
+-- keeps model numbers and brand names unstemmed
+ALTER TABLE components ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(brand, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(compatibility_tag, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_components_search_vector ON components USING GIN(search_vector);
+
+-- Trigram indexes let ILIKE '%term%' use an index instead of a sequential scan
+CREATE INDEX IF NOT EXISTS idx_components_name_trgm ON components USING GIN(name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_components_brand_trgm ON components USING GIN(brand gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_components_compatibility_tag_trgm ON components USING GIN(compatibility_tag gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_components_socket_trgm ON components USING GIN(socket gin_trgm_ops);
@@ -0,0 +1,24 @@
+-- Power budget columns on build_carts, maintained incrementally by CartItemService
+ALTER TABLE build_carts ADD COLUMN IF NOT EXISTS estimated_wattage INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE build_carts ADD COLUMN IF NOT EXISTS psu_wattage INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill existing carts. Each non-PSU unit draws its wattage scaled by metadata.power_tier
+-- (low 1.0, moderate 1.1, high 1.2, extreme 1.3), rounded up to whole watts.
+UPDATE build_carts b
+SET estimated_wattage = totals.draw,
+    psu_wattage = totals.psu
+FROM (
+    SELECT ci.cart_id,
+           SUM(CASE WHEN c.type <> 'PSU' THEN
+                   CEIL(COALESCE(c.wattage, 0) * CASE c.metadata->>'power_tier'
+                                                    WHEN 'moderate' THEN 1.1
+                                                    WHEN 'high' THEN 1.2
+                                                    WHEN 'extreme' THEN 1.3
+                                                    ELSE 1.0 END) * ci.quantity
+               ELSE 0 END) AS draw,
+           SUM(CASE WHEN c.type = 'PSU' THEN COALESCE(c.wattage, 0) * ci.quantity ELSE 0 END) AS psu
+    FROM cart_items ci
+    JOIN components c ON c.id = ci.component_id
+    GROUP BY ci.cart_id
+) totals
+WHERE totals.cart_id = b.id;
@@ -0,0 +1,4 @@
+-- CartItem now draws IDs from cart_items_id_seq with Hibernate's pooled optimizer (allocationSize 50) instead of
+-- IDENTITY, so item inserts can be JDBC-batched. The sequence must step by the allocation size; the next value lands
+-- 50 past the last one handed out, so every block Hibernate reserves lies above the existing IDs.
+ALTER SEQUENCE cart_items_id_seq INCREMENT BY 50;
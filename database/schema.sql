@@ -2,6 +2,9 @@
 -- PostgreSQL Database Setup Script
 -- Based on tested and working implementation with additional enhancements
 
+-- Trigram operator classes for indexed substring (ILIKE) search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- Create ENUM types
 CREATE TYPE component_type AS ENUM (
     'CPU', 'GPU', 'RAM', 'SSD', 'HDD', 'Motherboard', 'PSU', 'Case', 'Cooler'
@@ -42,7 +45,12 @@ CREATE TABLE components (
     extra_compatibility JSONB,                 -- Flexible JSON field for additional compatibility info (e.g., chipset versions, BIOS versions)
     metadata JSONB DEFAULT '{}',               -- Enhanced metadata for performance, templates, and features
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    search_vector TSVECTOR GENERATED ALWAYS AS (   -- Weighted full-text document: name (A), brand (B), compatibility tag (C)
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(brand, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(compatibility_tag, '')), 'C')
+    ) STORED
 );
 
 -- Create Build Carts table
@@ -52,6 +60,8 @@ CREATE TABLE build_carts (
     name VARCHAR(100) DEFAULT 'Untitled Build',
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     total_price NUMERIC(10, 2) NOT NULL DEFAULT 0,
+    estimated_wattage INTEGER NOT NULL DEFAULT 0,  -- Estimated draw of the non-PSU items in watts, maintained per item change
+    psu_wattage INTEGER NOT NULL DEFAULT 0,        -- Total output of the PSU items in watts, maintained per item change
     finalized_at TIMESTAMP NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
@@ -67,6 +77,8 @@ CREATE TABLE cart_items (
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT unique_cart_component UNIQUE (cart_id, component_id)
 );
+-- CartItem allocates IDs 50 at a time from this sequence, so inserts can be JDBC-batched
+ALTER SEQUENCE cart_items_id_seq INCREMENT BY 50;
 
 -- Create indexes for frequently queried fields
 CREATE INDEX idx_users_email ON users(email);
@@ -75,6 +87,21 @@ CREATE INDEX idx_components_brand ON components(brand);
 CREATE INDEX idx_components_compatibility_tag ON components(compatibility_tag);
 CREATE INDEX idx_components_socket ON components(socket);
 CREATE INDEX idx_components_metadata ON components USING GIN(metadata);
+
+-- Composite (sort column, id) indexes so keyset pagination can seek instead of scanning past OFFSET rows
+CREATE INDEX idx_components_name_id ON components(name, id);
+CREATE INDEX idx_components_brand_id ON components(brand, id);
+CREATE INDEX idx_components_price_id ON components(price, id);
+CREATE INDEX idx_components_type_id ON components(type, id);
+CREATE INDEX idx_components_stock_quantity_id ON components(stock_quantity, id);
+CREATE INDEX idx_components_created_at_id ON components(created_at, id);
+
+-- Full-text and trigram indexes for searchTerm and the substring filters on /api/v1/components
+CREATE INDEX idx_components_search_vector ON components USING GIN(search_vector);
+CREATE INDEX idx_components_name_trgm ON components USING GIN(name gin_trgm_ops);
+CREATE INDEX idx_components_brand_trgm ON components USING GIN(brand gin_trgm_ops);
+CREATE INDEX idx_components_compatibility_tag_trgm ON components USING GIN(compatibility_tag gin_trgm_ops);
+CREATE INDEX idx_components_socket_trgm ON components USING GIN(socket gin_trgm_ops);
 CREATE INDEX idx_build_carts_user_id ON build_carts(user_id);
 CREATE INDEX idx_build_carts_status ON build_carts(status);
 CREATE INDEX idx_cart_items_cart_id ON cart_items(cart_id);
@@ -0,0 +1,55 @@
+package com.rigarchitect.config;
+
+import com.rigarchitect.service.CompatibilityRuleService;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.compatibility.RuleSet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.ZoneId;
+
+/**
+ * Answers conditional GETs on the component endpoints from the catalog and compatibility rules versions alone.
+ * Every component read reflects the catalog, and the compatibility answers also the configured rules, so together
+ * their versions are a validator for all of them; when the client's If-None-Match or If-Modified-Since still
+ * matches, a 304 is sent before the controller, the repository or the JSON serializer run.
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private final ComponentCatalog componentCatalog;
+    private final CompatibilityRuleService compatibilityRuleService;
+
+    /**
+     * Constructor with component catalog and compatibility rule dependencies.
+     */
+    public CatalogETagInterceptor(ComponentCatalog componentCatalog, CompatibilityRuleService compatibilityRuleService) {
+        this.componentCatalog = componentCatalog;
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        CatalogSnapshot snapshot = componentCatalog.current();
+        RuleSet rules = compatibilityRuleService.current();
+        String etag = "W/\"" + componentCatalog.versionTag() + "-r" + rules.version() + "\"";
+        long lastModified = Math.max(snapshot.builtAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                compatibilityRuleService.publishedAt().toEpochMilli());
+
+        // Clients must revalidate, but revalidation is nearly free
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // JSON and NDJSON representations share the validator, so caches must key on Accept too
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+}
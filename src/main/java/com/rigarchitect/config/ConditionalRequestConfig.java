@@ -0,0 +1,24 @@
+package com.rigarchitect.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for conditional GET support (ETag / Last-Modified / 304 Not Modified)
+ * Component reads are validated against the catalog version before reaching the controller
+ */
+@Configuration
+public class ConditionalRequestConfig implements WebMvcConfigurer {
+
+    private final CatalogETagInterceptor catalogETagInterceptor;
+
+    public ConditionalRequestConfig(CatalogETagInterceptor catalogETagInterceptor) {
+        this.catalogETagInterceptor = catalogETagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogETagInterceptor).addPathPatterns("/api/v1/components/**");
+    }
+}
@@ -0,0 +1,23 @@
+package com.rigarchitect.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.rigarchitect.dto.component.ComponentResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for JSON serialization defaults
+ * Registers the component fieldset filter so responses are written in full unless a request narrows them
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer componentFieldsFilterCustomizer() {
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(ComponentResponse.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll());
+        return builder -> builder.filters(filters);
+    }
+}
@@ -0,0 +1,13 @@
+package com.rigarchitect.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling scheduled jobs
+ * Runs the @Scheduled methods of services, such as guest session cleanup and cart total reconciliation
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,11 +2,25 @@ package com.rigarchitect.controller;
 
 import com.rigarchitect.dto.MessageResponse;
 import com.rigarchitect.dto.buildcart.BuildCartRequest;
+import com.rigarchitect.dto.buildcart.BuildCompletionResponse;
 import com.rigarchitect.dto.buildcart.BuildCartResponse;
+import com.rigarchitect.dto.buildcart.BuildCartSummaryResponse;
+import com.rigarchitect.dto.buildcart.BuildValidationResponse;
+import com.rigarchitect.dto.buildcart.UpgradeSuggestionResponse;
+import com.rigarchitect.dto.cartitem.CartItemBatchRequest;
+import com.rigarchitect.dto.cartitem.CartItemBatchResponse;
+import com.rigarchitect.dto.common.PagedResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
 import com.rigarchitect.exception.ResourceNotFoundException;
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.User;
+import com.rigarchitect.model.enums.ComponentType;
 import com.rigarchitect.service.BuildCartService;
+import com.rigarchitect.service.BuildCompletionService;
+import com.rigarchitect.service.BuildValidationService;
+import com.rigarchitect.service.CartItemService;
+import com.rigarchitect.service.CompatibilityService;
+import com.rigarchitect.service.UpgradeService;
 import com.rigarchitect.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,8 +30,12 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -30,13 +48,28 @@ public class BuildCartController {
 
     private final BuildCartService buildCartService;
     private final UserService userService;
+    private final CompatibilityService compatibilityService;
+    private final BuildValidationService buildValidationService;
+    private final UpgradeService upgradeService;
+    private final BuildCompletionService buildCompletionService;
+    private final CartItemService cartItemService;
 
     /**
      * Constructor for dependency injection.
      */
-    public BuildCartController(BuildCartService buildCartService, UserService userService) {
+    public BuildCartController(BuildCartService buildCartService, UserService userService,
+                               CompatibilityService compatibilityService,
+                               BuildValidationService buildValidationService,
+                               UpgradeService upgradeService,
+                               BuildCompletionService buildCompletionService,
+                               CartItemService cartItemService) {
         this.buildCartService = buildCartService;
         this.userService = userService;
+        this.compatibilityService = compatibilityService;
+        this.buildValidationService = buildValidationService;
+        this.upgradeService = upgradeService;
+        this.buildCompletionService = buildCompletionService;
+        this.cartItemService = cartItemService;
     }
 
     /**
@@ -45,12 +78,18 @@ public class BuildCartController {
     @Operation(summary = "Get all carts for a user", description = "Returns all build carts for the specified user")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Carts retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Carts not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<BuildCartResponse>> getUserCarts(
             @Parameter(description = "ID of the user", required = true)
-            @PathVariable Long userId) {
+            @PathVariable Long userId,
+            WebRequest webRequest) {
+
+        if (ConditionalRequests.notModified(webRequest, "user-carts-" + userId, buildCartService.getUserCartsVersion(userId), null)) {
+            return null;
+        }
 
         User user = userService.getUserEntityById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User with ID " + userId + " not found"));
@@ -69,12 +108,19 @@ public class BuildCartController {
     @Operation(summary = "Get a cart by ID", description = "Returns a single build cart by its ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cart retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Cart not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Cart not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<BuildCartResponse> getCart(
             @Parameter(description = "ID of the cart", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+
+        Optional<LocalDateTime> lastModified = buildCartService.getCartLastModified(id);
+        if (lastModified.isPresent() && ConditionalRequests.notModified(webRequest, "cart-" + id, lastModified.get())) {
+            return null;
+        }
 
         return buildCartService.getCartById(id)
                 .map(this::toResponse)
@@ -82,6 +128,111 @@ public class BuildCartController {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
     }
 
+    /**
+     * Retrieves everything a cart page shows in one read.
+     */
+    @Operation(summary = "Get a cart summary",
+            description = "Returns the cart, its items with embedded component summaries, the subtotal at current prices, "
+                    + "a GST/QST quote and the grand total, read in a single query")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Cart not found")
+    })
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<BuildCartSummaryResponse> getCartSummary(
+            @Parameter(description = "ID of the cart", required = true) @PathVariable Long id) {
+
+        return buildCartService.getCartSummary(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
+    }
+
+    /**
+     * Retrieves components of a type that are compatible with everything already in the cart.
+     */
+    @Operation(summary = "Get compatible components for a cart",
+            description = "Returns paged components of the given type that are compatible with every item in the cart, including power supply capacity")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Compatible components retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Cart not found")
+    })
+    @GetMapping("/{id}/compatible/{type}")
+    public ResponseEntity<PagedResponse<ComponentResponse>> getCompatibleComponents(
+            @Parameter(description = "ID of the cart", required = true) @PathVariable Long id,
+            @Parameter(description = "Type of component to find", required = true) @PathVariable ComponentType type,
+            @Parameter(description = "In stock only filter") @RequestParam(defaultValue = "false") boolean inStockOnly,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "price") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection) {
+
+        return compatibilityService.getCompatibleComponents(id, type, inStockOnly, page, size, sortBy, sortDirection)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
+    }
+
+    /**
+     * Validates the compatibility of every component in a build cart.
+     */
+    @Operation(summary = "Validate a cart", description = "Checks socket, RAM type, form factor, clearance, PSU form factor and power rules over the whole cart")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Validation verdict returned"),
+            @ApiResponse(responseCode = "404", description = "Cart not found")
+    })
+    @GetMapping("/{id}/validation")
+    public ResponseEntity<BuildValidationResponse> validateCart(
+            @Parameter(description = "ID of the cart", required = true)
+            @PathVariable Long id) {
+
+        if (buildCartService.getCartLastModified(id).isEmpty()) {
+            throw new ResourceNotFoundException("Cart with ID " + id + " not found");
+        }
+        return ResponseEntity.ok(BuildValidationResponse.of(id, buildValidationService.validateCart(id)));
+    }
+
+    /**
+     * Suggests single-component upgrades for a build cart.
+     */
+    @Operation(summary = "Suggest upgrades for a cart",
+            description = "Suggests swapping one cart line for an in-stock component with a higher metadata.performance_score, "
+                    + "ranked by score gained per extra dollar; swaps that cost nothing extra come first. Every suggestion keeps "
+                    + "the cart compatible, including PSU headroom, and fits the owner's remaining budget")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions returned, best first"),
+            @ApiResponse(responseCode = "404", description = "Cart not found")
+    })
+    @GetMapping("/{id}/upgrades")
+    public ResponseEntity<List<UpgradeSuggestionResponse>> getUpgrades(
+            @Parameter(description = "ID of the cart", required = true) @PathVariable Long id,
+            @Parameter(description = "Number of suggestions (at most 50)") @RequestParam(defaultValue = "5") int limit) {
+
+        return upgradeService.getUpgrades(id, limit)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
+    }
+
+    /**
+     * Completes a build cart into a full build.
+     */
+    @Operation(summary = "Complete a cart",
+            description = "Finds the cheapest set of in-stock components, one per type a full build needs and the cart lacks, "
+                    + "that keeps the cart compatible, including PSU headroom, and counts the distinct compatible completions "
+                    + "whose whole build stays under maxPrice, or the owner's budget if maxPrice is not given")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Completion returned"),
+            @ApiResponse(responseCode = "400", description = "Price cap exceeds $999,999.99"),
+            @ApiResponse(responseCode = "404", description = "Cart not found")
+    })
+    @GetMapping("/{id}/completion")
+    public ResponseEntity<BuildCompletionResponse> getCompletion(
+            @Parameter(description = "ID of the cart", required = true) @PathVariable Long id,
+            @Parameter(description = "Cap on the price of the whole build in USD for counting") @RequestParam(required = false) BigDecimal maxPrice) {
+
+        return buildCompletionService.getCompletion(id, maxPrice)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
+    }
+
     /**
      * Creates a new build cart for a specific user.
      */
@@ -106,13 +257,36 @@ public class BuildCartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
     }
 
+    /**
+     * Applies many item operations to a cart in one transaction.
+     */
+    @Operation(summary = "Batch update cart items",
+            description = "Applies ADD, SET and REMOVE operations to the items of a cart in order and in one transaction; "
+                    + "inserts and updates are sent as JDBC batches and the cart totals are adjusted once. "
+                    + "If any operation fails, none is applied")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Operations applied"),
+            @ApiResponse(responseCode = "400", description = "Invalid operation"),
+            @ApiResponse(responseCode = "404", description = "Cart or component not found")
+    })
+    @PostMapping("/{id}/items:batch")
+    public ResponseEntity<CartItemBatchResponse> batchItems(
+            @Parameter(description = "ID of the cart", required = true) @PathVariable Long id,
+            @Valid @RequestBody CartItemBatchRequest request) {
+
+        return cartItemService.applyBatch(id, request.operations())
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + id + " not found"));
+    }
+
     /**
      * Finalizes a build cart and updates the associated user's budget.
      */
     @Operation(summary = "Finalize a cart", description = "Finalizes the build cart and updates user budget")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cart finalized successfully"),
-            @ApiResponse(responseCode = "404", description = "Cart not found or invalid finalization")
+            @ApiResponse(responseCode = "404", description = "Cart not found or invalid finalization"),
+            @ApiResponse(responseCode = "409", description = "The build breaks compatibility rules; the body lists the violations")
     })
     @PostMapping("/{cartId}/finalize")
     public ResponseEntity<String> finalizeCart(
@@ -177,6 +351,9 @@ public class BuildCartController {
                 cart.getName(),
                 cart.getStatus(),
                 cart.getTotalPrice(),
+                cart.getEstimatedWattage(),
+                cart.getPsuWattage(),
+                cart.getPsuWattage() - cart.getEstimatedWattage(),
                 cart.getCreatedAt(),
                 cart.getUpdatedAt(),
                 cart.getFinalizedAt()
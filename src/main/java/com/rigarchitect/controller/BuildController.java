@@ -0,0 +1,46 @@
+package com.rigarchitect.controller;
+
+import com.rigarchitect.dto.build.BuildGenerateRequest;
+import com.rigarchitect.dto.build.GeneratedBuildResponse;
+import com.rigarchitect.service.BuildGeneratorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for assembling builds from the catalog.
+ */
+@RestController
+@RequestMapping("/api/v1/builds")
+@CrossOrigin(origins = "http://localhost:5173")
+public class BuildController {
+
+    private final BuildGeneratorService buildGeneratorService;
+
+    /**
+     * Constructor with build generator dependency.
+     */
+    public BuildController(BuildGeneratorService buildGeneratorService) {
+        this.buildGeneratorService = buildGeneratorService;
+    }
+
+    /**
+     * Generates the best scoring compatible build within a budget.
+     */
+    @Operation(summary = "Generate a build",
+            description = "Finds the compatible build of in-stock components with the highest summed metadata.performance_score "
+                    + "that fits the budget and contains the pinned components; ties go to the cheaper build. "
+                    + "If the search hits its time limit, the best build found so far is returned with complete=false")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search finished; found=false if no build fits"),
+            @ApiResponse(responseCode = "400", description = "Invalid request or incompatible pinned components"),
+            @ApiResponse(responseCode = "404", description = "Pinned component not found")
+    })
+    @PostMapping("/generate")
+    public ResponseEntity<GeneratedBuildResponse> generateBuild(@Valid @RequestBody BuildGenerateRequest request) {
+        return ResponseEntity.ok(buildGeneratorService.generate(request));
+    }
+}
@@ -4,10 +4,11 @@ import com.rigarchitect.dto.MessageResponse;
 import com.rigarchitect.dto.cartitem.CartItemRequest;
 import com.rigarchitect.dto.cartitem.CartItemResponse;
 import com.rigarchitect.dto.cartitem.CartItemUpdate;
+import com.rigarchitect.dto.component.ComponentResponse;
 import com.rigarchitect.exception.ResourceNotFoundException;
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.CartItem;
-import com.rigarchitect.model.Component;
+import com.rigarchitect.repository.CartItemUpsert;
 import com.rigarchitect.service.BuildCartService;
 import com.rigarchitect.service.CartItemService;
 import com.rigarchitect.service.ComponentService;
@@ -16,11 +17,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,12 +55,20 @@ public class CartItemController {
     @Operation(summary = "Get a cart item by ID", description = "Retrieve a single cart item using its ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cart item retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Cart item not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Cart item not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<CartItemResponse> getItemById(
             @Parameter(description = "ID of the cart item", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
+
+        Optional<LocalDateTime> lastModified = cartItemService.getItemLastModified(id);
+        if (lastModified.isPresent() && ConditionalRequests.notModified(
+                webRequest, "item-" + id, lastModified.get(), componentService.getCatalogVersionTag())) {
+            return null;
+        }
 
         return cartItemService.getItemById(id)
                 .map(this::toResponse)
@@ -72,12 +82,19 @@ public class CartItemController {
     @Operation(summary = "Get all items in a cart", description = "Retrieve all items in a specific cart")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cart items retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Cart items not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Cart not found")
     })
     @GetMapping("/cart/{cartId}")
     public ResponseEntity<List<CartItemResponse>> getItemsByCart(
             @Parameter(description = "ID of the cart", required = true)
-            @PathVariable Long cartId) {
+            @PathVariable Long cartId,
+            WebRequest webRequest) {
+
+        if (ConditionalRequests.notModified(webRequest, "cart-items-" + cartId,
+                cartItemService.getCartItemsVersion(cartId), componentService.getCatalogVersionTag())) {
+            return null;
+        }
 
         BuildCart cart = buildCartService.getCartById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + cartId + " not found"));
@@ -92,52 +109,35 @@ public class CartItemController {
 
     /**
      * Adds a new item to a cart or updates quantity if item already exists.
+     * Both cases are one upsert, so concurrent adds of the same component are safe.
      */
     @Operation(summary = "Create a new cart item", description = "Add a new item to a build cart")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Cart item created successfully"),
+            @ApiResponse(responseCode = "200", description = "Quantity added to the existing cart item"),
             @ApiResponse(responseCode = "404", description = "Cart or component not found")
     })
     @PostMapping
     public ResponseEntity<CartItemResponse> createItem(
             @Valid @RequestBody CartItemRequest request) {
 
-        try {
-            BuildCart buildCart = buildCartService.getCartById(request.cartId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + request.cartId() + " not found"));
-
-            Optional<CartItem> existingItem = cartItemService.findByCartAndComponent(buildCart, request.componentId());
-
-            if (existingItem.isPresent()) {
-                CartItem existing = existingItem.get();
-                int newQuantity = existing.getQuantity() + request.quantity();
-
-                CartItem updated = cartItemService.updateQuantity(existing.getId(), newQuantity)
-                        .orElseThrow(() -> new ResourceNotFoundException("Failed to update cart item"));
-
-                return ResponseEntity.ok(toResponse(updated));
-            } else {
-                CartItem cartItem = toEntity(request);
-                CartItem saved = cartItemService.saveItem(cartItem);
-                return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
-            }
-
-        } catch (DataIntegrityViolationException e) {
-            if (e.getMessage().contains("unique_cart_component")) {
-                BuildCart buildCart = buildCartService.getCartById(request.cartId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + request.cartId() + " not found"));
-                Optional<CartItem> existingItem = cartItemService.findByCartAndComponent(buildCart, request.componentId());
-
-                if (existingItem.isPresent()) {
-                    CartItem existing = existingItem.get();
-                    int newQuantity = existing.getQuantity() + request.quantity();
-                    CartItem updated = cartItemService.updateQuantity(existing.getId(), newQuantity)
-                            .orElseThrow(() -> new ResourceNotFoundException("Failed to update cart item"));
-                    return ResponseEntity.ok(toResponse(updated));
-                }
-            }
-            throw e;
-        }
+        ComponentResponse component = componentService.getComponentById(request.componentId())
+                .orElseThrow(() -> new ResourceNotFoundException("Component with ID " + request.componentId() + " not found"));
+
+        CartItemUpsert upsert = cartItemService.addItem(request.cartId(), component, request.quantity())
+                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + request.cartId() + " not found"));
+
+        CartItemResponse response = new CartItemResponse(
+                upsert.getId(),
+                request.cartId(),
+                component.id(),
+                component.name(),
+                upsert.getQuantity(),
+                upsert.getCreatedAt(),
+                upsert.getUpdatedAt()
+        );
+        return ResponseEntity.status(Boolean.TRUE.equals(upsert.getInserted()) ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(response);
     }
 
     /**
@@ -209,20 +209,4 @@ public class CartItemController {
                 cartItem.getUpdatedAt()
         );
     }
-
-    private CartItem toEntity(CartItemRequest request) {
-        CartItem cartItem = new CartItem();
-
-        BuildCart buildCart = buildCartService.getCartById(request.cartId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cart with ID " + request.cartId() + " not found"));
-        cartItem.setBuildCart(buildCart);
-
-        Component component = componentService.findEntityById(request.componentId())
-                .orElseThrow(() -> new ResourceNotFoundException("Component with ID " + request.componentId() + " not found"));
-        cartItem.setComponent(component);
-
-        cartItem.setQuantity(request.quantity());
-
-        return cartItem;
-    }
 }
\ No newline at end of file
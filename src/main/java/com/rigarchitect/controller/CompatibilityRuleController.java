@@ -0,0 +1,51 @@
+package com.rigarchitect.controller;
+
+import com.rigarchitect.dto.compatibility.CompatibilityRulesResponse;
+import com.rigarchitect.service.CompatibilityRuleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for inspecting and reloading the configured compatibility rules.
+ */
+@RestController
+@RequestMapping("/api/v1/compatibility/rules")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CompatibilityRuleController {
+
+    private final CompatibilityRuleService compatibilityRuleService;
+
+    /**
+     * Constructor with rule service dependency.
+     */
+    public CompatibilityRuleController(CompatibilityRuleService compatibilityRuleService) {
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    /**
+     * Retrieves the rules currently in effect.
+     */
+    @Operation(summary = "Get compatibility rules", description = "Returns the configured rule-language compatibility rules in effect")
+    @ApiResponse(responseCode = "200", description = "Rules retrieved successfully")
+    @GetMapping
+    public ResponseEntity<CompatibilityRulesResponse> getRules() {
+        return ResponseEntity.ok(CompatibilityRulesResponse.of(compatibilityRuleService.current()));
+    }
+
+    /**
+     * Reloads the rules file without a restart.
+     */
+    @Operation(summary = "Reload compatibility rules",
+            description = "Reads the rules file again and swaps in its rules; if any rule does not compile, the current rules stay in effect")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rules reloaded"),
+            @ApiResponse(responseCode = "400", description = "A rule does not compile")
+    })
+    @PostMapping("/reload")
+    public ResponseEntity<CompatibilityRulesResponse> reloadRules() {
+        return ResponseEntity.ok(CompatibilityRulesResponse.of(compatibilityRuleService.reload()));
+    }
+}
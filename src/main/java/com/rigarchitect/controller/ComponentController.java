@@ -1,23 +1,35 @@
 package com.rigarchitect.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.rigarchitect.dto.MessageResponse;
 import com.rigarchitect.dto.common.PagedResponse;
+import com.rigarchitect.dto.component.CatalogVersionResponse;
+import com.rigarchitect.dto.component.ComponentFacetsResponse;
 import com.rigarchitect.dto.component.ComponentRequest;
 import com.rigarchitect.dto.component.ComponentResponse;
 import com.rigarchitect.exception.ResourceNotFoundException;
 import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.CompatibilityService;
 import com.rigarchitect.service.ComponentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing PC components with filtering, pagination, and CRUD operations.
@@ -27,13 +39,25 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class ComponentController {
 
+    /** Number of NDJSON lines written between flushes of the response. */
+    private static final int NDJSON_FLUSH_INTERVAL = 256;
+
     private final ComponentService componentService;
+    private final CompatibilityService compatibilityService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
 
     /**
      * Constructor for dependency injection.
      */
-    public ComponentController(ComponentService componentService) {
+    public ComponentController(ComponentService componentService, CompatibilityService compatibilityService,
+                               ObjectMapper objectMapper) {
         this.componentService = componentService;
+        this.compatibilityService = compatibilityService;
+        this.objectMapper = objectMapper;
+        // Flushing is batched by ndjson() instead of after every line
+        this.ndjsonWriter = objectMapper.writerFor(ComponentResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -41,6 +65,7 @@ public class ComponentController {
      */
     @Operation(summary = "Get all components", description = "Retrieve all components in the catalog (non-paginated)")
     @ApiResponse(responseCode = "200", description = "List of all components")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping
     public ResponseEntity<List<ComponentResponse>> getAllComponents() {
         List<ComponentResponse> components = componentService.getAllComponents();
@@ -54,6 +79,7 @@ public class ComponentController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Components retrieved successfully")
     })
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/type/{type}")
     public ResponseEntity<List<ComponentResponse>> getComponentsByType(
             @Parameter(description = "Type of component to filter by", required = true)
@@ -63,6 +89,57 @@ public class ComponentController {
         return ResponseEntity.ok(components);
     }
 
+    /**
+     * Retrieves the best value components of a specific type.
+     */
+    @Operation(summary = "Get best value components by type",
+            description = "Retrieve the in-stock components of a type that no other in-stock component beats on both price and "
+                    + "metadata.performance_score, cheapest first. Components without a performance score are not included")
+    @ApiResponse(responseCode = "200", description = "Best value components retrieved successfully")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
+    @GetMapping("/best-value/{type}")
+    public ResponseEntity<List<ComponentResponse>> getBestValueComponents(
+            @Parameter(description = "Type of component", required = true)
+            @PathVariable ComponentType type) {
+
+        return ResponseEntity.ok(componentService.getBestValueComponents(type));
+    }
+
+    /**
+     * Streams all components as newline-delimited JSON.
+     */
+    @Operation(summary = "Stream all components", description = "Stream all components as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponse(responseCode = "200", description = "One component per line")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllComponents(
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
+        return ndjson(componentService.getAllComponents(), fields);
+    }
+
+    /**
+     * Streams all components of a specific type as newline-delimited JSON.
+     */
+    @Operation(summary = "Stream components by type", description = "Stream all components of a specific type as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponse(responseCode = "200", description = "One component per line")
+    @GetMapping(value = "/type/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamComponentsByType(
+            @Parameter(description = "Type of component to filter by", required = true)
+            @PathVariable ComponentType type,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
+
+        return ndjson(componentService.getComponentsByType(type), fields);
+    }
+
+    /**
+     * Retrieves the version of the in-memory catalog snapshot for monitoring.
+     */
+    @Operation(summary = "Get catalog snapshot version", description = "Returns the version, size and build time of the in-memory catalog snapshot")
+    @ApiResponse(responseCode = "200", description = "Catalog snapshot version")
+    @GetMapping("/catalog/version")
+    public ResponseEntity<CatalogVersionResponse> getCatalogVersion() {
+        return ResponseEntity.ok(componentService.getCatalogVersion());
+    }
+
     /**
      * Retrieves all components with pagination and filtering support.
      */
@@ -78,11 +155,14 @@ public class ComponentController {
             @Parameter(description = "In stock only filter") @RequestParam(defaultValue = "false") Boolean inStockOnly,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection) {
+            @Parameter(description = "Sort field, or relevance to rank searchTerm matches (offset pages only)") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection,
+            @Parameter(description = "Continuation cursor from a previous page's nextCursor (keyset mode, ignores page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count mode (exact/estimate/none); defaults to exact, or none with a cursor") @RequestParam(required = false) String totalMode,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
 
         PagedResponse<ComponentResponse> response = componentService.getAllComponentsPaged(
-                searchTerm, brand, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection);
+                searchTerm, brand, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection, cursor, totalMode, fields);
         return ResponseEntity.ok(response);
     }
 
@@ -99,13 +179,15 @@ public class ComponentController {
             @Parameter(description = "Maximum price filter") @RequestParam(required = false) BigDecimal maxPrice,
             @Parameter(description = "Minimum stock filter") @RequestParam(required = false) Integer minStock,
             @Parameter(description = "In stock only filter") @RequestParam(defaultValue = "false") Boolean inStockOnly,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page number (0-based); page times size must not exceed 2147483647") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection) {
+            @Parameter(description = "Sort field, or relevance to rank searchTerm matches (offset pages only)") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection,
+            @Parameter(description = "Total count mode (exact/estimate/none)") @RequestParam(required = false) String totalMode,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
 
         PagedResponse<ComponentResponse> response = componentService.getComponentsByTypePaged(
-                type, searchTerm, brand, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection);
+                type, searchTerm, brand, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection, totalMode, fields);
         return ResponseEntity.ok(response);
     }
 
@@ -113,6 +195,7 @@ public class ComponentController {
      * Retrieves components by brand with pagination support.
      */
     @Operation(summary = "Get components by brand (paginated)", description = "Retrieve components by brand with pagination")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/brand/{brand}/paged")
     public ResponseEntity<PagedResponse<ComponentResponse>> getComponentsByBrandPaged(
             @Parameter(description = "Brand to filter by", required = true) @PathVariable String brand,
@@ -139,21 +222,47 @@ public class ComponentController {
             @Parameter(description = "Maximum price filter") @RequestParam(required = false) BigDecimal maxPrice,
             @Parameter(description = "Minimum stock filter") @RequestParam(required = false) Integer minStock,
             @Parameter(description = "In stock only filter") @RequestParam(defaultValue = "false") Boolean inStockOnly,
-            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page number (0-based); page times size must not exceed 2147483647") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
-            @Parameter(description = "Sort field") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection) {
+            @Parameter(description = "Sort field, or relevance to rank searchTerm matches (offset pages only)") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection,
+            @Parameter(description = "Continuation cursor from a previous page's nextCursor (keyset mode, ignores page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count mode (exact/estimate/none); defaults to exact, or none with a cursor") @RequestParam(required = false) String totalMode,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
 
         PagedResponse<ComponentResponse> response = componentService.searchComponentsPaged(
-                searchTerm, type, brand, socket, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection
+                searchTerm, type, brand, socket, compatibilityTag, maxPrice, minStock, inStockOnly, page, size, sortBy, sortDirection, cursor, totalMode, fields
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Counts components matching the search filters per type, brand, socket, RAM type, form factor and price bucket.
+     */
+    @Operation(summary = "Get facet counts", description = "Count matching components per type, brand, socket, RAM type, form factor and price bucket, using the same filters as the paginated search")
+    @ApiResponse(responseCode = "200", description = "Facet counts computed successfully")
+    @GetMapping("/facets")
+    public ResponseEntity<ComponentFacetsResponse> getComponentFacets(
+            @Parameter(description = "Search term (name, brand, etc.)") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Type filter") @RequestParam(required = false) ComponentType type,
+            @Parameter(description = "Brand filter") @RequestParam(required = false) String brand,
+            @Parameter(description = "Socket filter") @RequestParam(required = false) String socket,
+            @Parameter(description = "Compatibility tag filter") @RequestParam(required = false) String compatibilityTag,
+            @Parameter(description = "Maximum price filter") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Minimum stock filter") @RequestParam(required = false) Integer minStock,
+            @Parameter(description = "In stock only filter") @RequestParam(defaultValue = "false") Boolean inStockOnly) {
+
+        ComponentFacetsResponse facets = componentService.getComponentFacets(
+                searchTerm, type, brand, socket, compatibilityTag, maxPrice, minStock, inStockOnly
+        );
+        return ResponseEntity.ok(facets);
+    }
+
     /**
      * Retrieves components currently in stock with pagination support.
      */
     @Operation(summary = "Get components in stock (paginated)", description = "Retrieve components in stock with pagination")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/in-stock/paged")
     public ResponseEntity<PagedResponse<ComponentResponse>> getComponentsInStockPaged(
             @Parameter(description = "Minimum quantity in stock") @RequestParam(required = false) Integer minQuantity,
@@ -174,6 +283,7 @@ public class ComponentController {
             @ApiResponse(responseCode = "200", description = "Component retrieved successfully"),
             @ApiResponse(responseCode = "404", description = "Component not found")
     })
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/{id}")
     public ResponseEntity<ComponentResponse> getComponentById(
             @Parameter(description = "ID of the component to retrieve", required = true)
@@ -240,6 +350,7 @@ public class ComponentController {
      * Retrieves all components from a specific brand without pagination.
      */
     @Operation(summary = "Get components by brand", description = "Retrieve all components from a specific brand")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/brand/{brand}")
     public ResponseEntity<List<ComponentResponse>> getComponentsByBrand(
             @Parameter(description = "Brand to filter by", required = true)
@@ -253,6 +364,7 @@ public class ComponentController {
      * Retrieves components filtered by socket type without pagination.
      */
     @Operation(summary = "Get components by socket", description = "Retrieve components filtered by socket type")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/socket/{socket}")
     public ResponseEntity<List<ComponentResponse>> getComponentsBySocket(
             @Parameter(description = "Socket type to filter by", required = true)
@@ -262,10 +374,39 @@ public class ComponentController {
         return ResponseEntity.ok(components);
     }
 
+    /**
+     * Streams components of a specific brand as newline-delimited JSON.
+     */
+    @Operation(summary = "Stream components by brand", description = "Stream all components of a specific brand as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponse(responseCode = "200", description = "One component per line")
+    @GetMapping(value = "/brand/{brand}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamComponentsByBrand(
+            @Parameter(description = "Brand to filter by", required = true)
+            @PathVariable String brand,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
+
+        return ndjson(componentService.getComponentsByBrand(brand), fields);
+    }
+
+    /**
+     * Streams components with a specific socket as newline-delimited JSON.
+     */
+    @Operation(summary = "Stream components by socket", description = "Stream all components with a specific socket as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponse(responseCode = "200", description = "One component per line")
+    @GetMapping(value = "/socket/{socket}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamComponentsBySocket(
+            @Parameter(description = "Socket type to filter by", required = true)
+            @PathVariable String socket,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
+
+        return ndjson(componentService.getComponentsBySocket(socket), fields);
+    }
+
     /**
      * Retrieves components filtered by compatibility tag without pagination.
      */
     @Operation(summary = "Get components by compatibility tag", description = "Retrieve components filtered by compatibility tag")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/compatibility/{tag}")
     public ResponseEntity<List<ComponentResponse>> getComponentsByCompatibilityTag(
             @Parameter(description = "Compatibility tag to filter by", required = true)
@@ -275,10 +416,86 @@ public class ComponentController {
         return ResponseEntity.ok(components);
     }
 
+    /**
+     * Retrieves the motherboards with a specific chipset.
+     */
+    @Operation(summary = "Get motherboards by chipset", description = "Retrieve the motherboards whose chipset matches, ignoring case, spaces and dashes")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
+    @GetMapping("/chipset/{chipset}")
+    public ResponseEntity<List<ComponentResponse>> getMotherboardsByChipset(
+            @Parameter(description = "Chipset to filter by", required = true)
+            @PathVariable String chipset) {
+
+        return ResponseEntity.ok(compatibilityService.getMotherboardsByChipset(chipset));
+    }
+
+    /**
+     * Retrieves the motherboards with a chipset a CPU supports.
+     */
+    @Operation(summary = "Get chipset-compatible motherboards for a CPU",
+            description = "Retrieve the motherboards whose chipset is listed in the CPU's metadata.chipset_compatible")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Motherboards retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "CPU not found")
+    })
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
+    @GetMapping("/{id}/chipset-motherboards")
+    public ResponseEntity<List<ComponentResponse>> getChipsetMotherboardsForCpu(
+            @Parameter(description = "ID of the CPU", required = true)
+            @PathVariable Long id) {
+
+        return compatibilityService.getChipsetMotherboardsForCpu(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("CPU not found with id: " + id));
+    }
+
+    /**
+     * Retrieves the components of a type that are pairwise compatible with a component.
+     */
+    @Operation(summary = "Get pairwise compatible components",
+            description = "Retrieve the components of a type that pass the socket, memory, form factor and clearance rules "
+                    + "and the configured compatibility rules with the component. "
+                    + "Precomputed for CPU/Motherboard, Motherboard/RAM and Case/GPU, Cooler and PSU")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Compatible components retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "The types are not a precomputed pairing"),
+            @ApiResponse(responseCode = "404", description = "Component not found")
+    })
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
+    @GetMapping("/{id}/compatible/{type}")
+    public ResponseEntity<List<ComponentResponse>> getPairCompatibleComponents(
+            @Parameter(description = "ID of the component", required = true) @PathVariable Long id,
+            @Parameter(description = "Type of component to find", required = true) @PathVariable ComponentType type) {
+
+        return compatibilityService.getPairCompatibleComponents(id, type)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Component not found with id: " + id));
+    }
+
+    /**
+     * Counts the pairwise compatible components of each paired type.
+     */
+    @Operation(summary = "Count pairwise compatible components",
+            description = "Counts, per precomputed paired type, the components that pass the pair rules and the configured "
+                    + "compatibility rules with the component")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Counts retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Component not found")
+    })
+    @GetMapping("/{id}/compatible-counts")
+    public ResponseEntity<Map<ComponentType, Integer>> getPairCompatibleCounts(
+            @Parameter(description = "ID of the component", required = true) @PathVariable Long id) {
+
+        return compatibilityService.getPairCompatibleCounts(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Component not found with id: " + id));
+    }
+
     /**
      * Searches components using multiple filters without pagination.
      */
     @Operation(summary = "Search components", description = "Search components using multiple optional filters")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/search")
     public ResponseEntity<List<ComponentResponse>> searchComponents(
             @Parameter(description = "Type filter") @RequestParam(required = false) ComponentType type,
@@ -295,6 +512,7 @@ public class ComponentController {
      * Retrieves components currently in stock without pagination.
      */
     @Operation(summary = "Get components in stock", description = "Retrieve components with at least minQuantity in stock")
+    @Parameter(name = "fields", in = ParameterIn.QUERY, description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all")
     @GetMapping("/in-stock")
     public ResponseEntity<List<ComponentResponse>> getComponentsInStock(
             @Parameter(description = "Minimum quantity in stock") @RequestParam(defaultValue = "0") Integer minQuantity) {
@@ -302,4 +520,42 @@ public class ComponentController {
         List<ComponentResponse> components = componentService.getComponentsInStock(minQuantity);
         return ResponseEntity.ok(components);
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams components currently in stock as newline-delimited JSON.
+     */
+    @Operation(summary = "Stream components in stock", description = "Stream components with more than minQuantity in stock as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponse(responseCode = "200", description = "One component per line")
+    @GetMapping(value = "/in-stock", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamComponentsInStock(
+            @Parameter(description = "Minimum quantity in stock") @RequestParam(defaultValue = "0") Integer minQuantity,
+            @Parameter(description = "Comma-separated fields to return, e.g. name,price (id is always included); defaults to all") @RequestParam(required = false) String fields) {
+
+        return ndjson(componentService.getComponentsInStock(minQuantity), fields);
+    }
+
+    /**
+     * Writes components one JSON document per line, straight from the catalog snapshot to the response.
+     * No intermediate list or buffered body is built, and the first lines reach the client while the rest is written.
+     * Requested fields are checked before the response starts, so unknown names still get a 400.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(List<ComponentResponse> components, String fields) {
+        FilterProvider filters = ComponentFieldsAdvice.filtersFor(fields);
+        ObjectWriter writer = filters != null ? ndjsonWriter.with(filters) : ndjsonWriter;
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                int written = 0;
+                for (ComponentResponse component : components) {
+                    writer.writeValue(generator, component);
+                    generator.writeRaw('\n');
+                    if (++written % NDJSON_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
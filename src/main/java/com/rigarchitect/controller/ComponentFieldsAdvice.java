@@ -0,0 +1,62 @@
+package com.rigarchitect.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.repository.ComponentField;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} request parameter of component endpoints to the serialized response.
+ * Paginated queries already read only the requested columns; this drops the remaining properties from the JSON
+ * of every component response, including those served from the catalog snapshot.
+ * The NDJSON streams bypass response body advice and apply {@link #filtersFor(String)} themselves.
+ */
+@RestControllerAdvice(assignableTypes = ComponentController.class)
+public class ComponentFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        FilterProvider filters = filtersFor(servletRequest.getServletRequest().getParameter("fields"));
+        if (filters != null) {
+            bodyContainer.setFilters(filters);
+        }
+    }
+
+    /**
+     * Builds the filters keeping only the requested fields of component responses, or gives null when no fields are
+     * requested. The NDJSON streams, which write their bodies themselves, apply the same filters.
+     *
+     * @throws BadRequestException if a field name is unknown
+     */
+    static FilterProvider filtersFor(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<ComponentField> selected;
+        try {
+            selected = ComponentField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        return new SimpleFilterProvider().addFilter(ComponentResponse.FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(ComponentField.propertyNames(selected)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.rigarchitect.controller;
+
+import com.rigarchitect.repository.DataVersion;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Helpers for answering conditional GETs from cheap version queries instead of full reads.
+ * When a check returns true, the 304 response is already prepared and the handler should return null.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks a single row by its update timestamp.
+     */
+    static boolean notModified(WebRequest request, String resource, LocalDateTime updatedAt) {
+        long lastModified = epochMillis(updatedAt);
+        return request.checkNotModified(weakETag(resource + "-" + lastModified), lastModified);
+    }
+
+    /**
+     * Checks a single row by its update timestamp combined with the catalog version tag, for responses that
+     * embed component data. Only the ETag is used since the row timestamp alone says nothing about the catalog.
+     */
+    static boolean notModified(WebRequest request, String resource, LocalDateTime updatedAt, String catalogTag) {
+        return request.checkNotModified(weakETag(resource + "-" + epochMillis(updatedAt) + "-" + catalogTag));
+    }
+
+    /**
+     * Checks a collection by its row count and latest update timestamp. Empty collections are never
+     * answered with 304, so a missing parent still reaches the handler and gets its 404.
+     *
+     * @param catalogTag catalog version tag for responses that embed component data, otherwise null
+     */
+    static boolean notModified(WebRequest request, String resource, DataVersion version, String catalogTag) {
+        if (version.isEmpty() || version.lastUpdatedAt() == null) {
+            return false;
+        }
+        long lastModified = epochMillis(version.lastUpdatedAt());
+        String tag = resource + "-" + version.count() + "." + lastModified;
+        if (catalogTag != null) {
+            return request.checkNotModified(weakETag(tag + "-" + catalogTag));
+        }
+        return request.checkNotModified(weakETag(tag), lastModified);
+    }
+
+    private static String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,38 @@
+package com.rigarchitect.dto.build;
+
+import com.rigarchitect.model.enums.ComponentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+@Schema(description = "Request DTO for generating the best scoring compatible build within a budget")
+public record BuildGenerateRequest(
+        @Schema(description = "Most the whole build may cost in USD, pinned components included", example = "1500.00")
+        @NotNull(message = "Budget is required")
+        @DecimalMin(value = "0.0", message = "Budget must be zero or positive")
+        @DecimalMax(value = "999999.99", message = "Budget cannot exceed $999,999.99")
+        BigDecimal budget,
+
+        @Schema(description = "Preferred use case, matched against the components' metadata.use_cases; "
+                + "types without an in-stock component for it are chosen from all in-stock components", example = "gaming")
+        String useCase,
+
+        @Schema(description = "IDs of components the build must contain", example = "[3, 42]")
+        List<Long> pinnedComponentIds,
+
+        @Schema(description = "Component types to fill; defaults to CPU, motherboard, RAM, GPU, SSD, PSU, case and cooler",
+                example = "[\"CPU\", \"Motherboard\", \"RAM\", \"SSD\", \"PSU\", \"Case\"]")
+        Set<ComponentType> types,
+
+        @Schema(description = "Time limit for the search in milliseconds; defaults to the server setting", example = "250")
+        @Min(value = 10, message = "Time limit must be at least 10 ms")
+        @Max(value = 5000, message = "Time limit must be at most 5000 ms")
+        Integer timeLimitMs
+) {}
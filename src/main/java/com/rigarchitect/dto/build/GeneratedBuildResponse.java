@@ -0,0 +1,49 @@
+package com.rigarchitect.dto.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.service.build.BuildSearch;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Response DTO with a generated build")
+public record GeneratedBuildResponse(
+        @Schema(description = "Whether a compatible build fits the budget; false if none was found in time", example = "true")
+        boolean found,
+
+        @Schema(description = "Components of the build ordered by type, pinned components included")
+        List<ComponentResponse> components,
+
+        @Schema(description = "Total price of the build in USD", example = "1487.95")
+        BigDecimal totalPrice,
+
+        @Schema(description = "Summed metadata.performance_score of the build", example = "58500")
+        long performanceScore,
+
+        @Schema(description = "Estimated system draw of all non-PSU components in watts, scaled by power tier", example = "420")
+        int estimatedDrawWatts,
+
+        @Schema(description = "Summed output of the power supplies in the build in watts, if any", example = "650")
+        Integer psuCapacityWatts,
+
+        @Schema(description = "Whether the search was exhausted, so the build is the best there is; "
+                + "false if it is the best found before the time limit", example = "true")
+        boolean complete,
+
+        @Schema(description = "Partial builds the search expanded", example = "1824")
+        long nodesVisited,
+
+        @Schema(description = "Time the search took in milliseconds", example = "12")
+        long elapsedMs
+) {
+
+    /**
+     * Creates the response from a search result.
+     */
+    public static GeneratedBuildResponse of(BuildSearch.Result result) {
+        return new GeneratedBuildResponse(result.found(), result.components(),
+                BigDecimal.valueOf(result.priceCents(), 2), result.score(), result.estimatedDrawWatts(),
+                result.psuCapacityWatts(), result.complete(), result.nodesVisited(), result.elapsed().toMillis());
+    }
+}
@@ -23,6 +23,15 @@ public record BuildCartResponse(
         @Schema(description = "Total price of all components in the cart", example = "1200.00")
         BigDecimal totalPrice,
 
+        @Schema(description = "Estimated system draw of the non-PSU components in watts, scaled by power tier", example = "420")
+        Integer estimatedWattage,
+
+        @Schema(description = "Total output of the power supplies in the cart in watts", example = "650")
+        Integer psuWattage,
+
+        @Schema(description = "PSU output left over the estimated draw in watts; negative when the PSU is undersized", example = "230")
+        Integer psuHeadroomWatts,
+
         @Schema(description = "Timestamp when the build cart was created", example = "2025-08-13T14:00:00")
         LocalDateTime createdAt,
 
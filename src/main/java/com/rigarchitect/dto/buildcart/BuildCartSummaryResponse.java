@@ -0,0 +1,30 @@
+package com.rigarchitect.dto.buildcart;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Response DTO with everything a cart page shows: the cart, its items and a tax quote")
+public record BuildCartSummaryResponse(
+        @Schema(description = "The build cart")
+        BuildCartResponse cart,
+
+        @Schema(description = "Items in the cart with their components, newest first")
+        List<CartSummaryItemResponse> items,
+
+        @Schema(description = "Sum of the line totals at current component prices", example = "1200.00")
+        BigDecimal subtotal,
+
+        @Schema(description = "Federal GST (5%) on the subtotal", example = "60.00")
+        BigDecimal gst,
+
+        @Schema(description = "Quebec QST (9.975%) on the subtotal", example = "119.70")
+        BigDecimal qst,
+
+        @Schema(description = "GST plus QST", example = "179.70")
+        BigDecimal totalTax,
+
+        @Schema(description = "Subtotal plus taxes; what finalizing the cart would charge now", example = "1379.70")
+        BigDecimal grandTotal
+) {}
@@ -0,0 +1,45 @@
+package com.rigarchitect.dto.buildcart;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Response DTO completing a partial cart into a full build")
+public record BuildCompletionResponse(
+        @Schema(description = "ID of the cart", example = "1")
+        Long cartId,
+
+        @Schema(description = "Component types a full build needs and the cart lacks, in the order they were filled")
+        List<ComponentType> missingTypes,
+
+        @Schema(description = "Whether the cart can be completed with compatible, in-stock components", example = "true")
+        boolean found,
+
+        @Schema(description = "Cheapest compatible completion, one component per missing type; empty if none exists")
+        List<ComponentResponse> components,
+
+        @Schema(description = "Price of the completion in USD; null if none exists", example = "412.97")
+        BigDecimal completionPrice,
+
+        @Schema(description = "Price of the cart plus the completion in USD; null if none exists", example = "1289.95")
+        BigDecimal totalPrice,
+
+        @Schema(description = "Cap on the price of the whole build used for counting: the maxPrice parameter, "
+                + "else the owner's budget; null if neither is set", example = "1500.00")
+        BigDecimal priceCap,
+
+        @Schema(description = "Number of distinct compatible completions whose whole build fits under the cap", example = "3840")
+        long completionCount,
+
+        @Schema(description = "Whether the count is only a lower bound, because it overflowed, the catalog is too large "
+                + "to count every completion, or builds close to the cap or to their power supply's output may have "
+                + "been left out by rounding", example = "false")
+        boolean countLowerBound,
+
+        @Schema(description = "Price resolution of the count in USD: builds within this much of the cap may be left out; "
+                + "null without a cap", example = "4.00")
+        BigDecimal countPriceStep
+) {}
@@ -0,0 +1,49 @@
+package com.rigarchitect.dto.buildcart;
+
+import com.rigarchitect.service.compatibility.BuildVerdict;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response DTO with the compatibility verdict for the build in a cart")
+public record BuildValidationResponse(
+        @Schema(description = "ID of the validated cart", example = "1")
+        Long cartId,
+
+        @Schema(description = "Whether every component in the cart is compatible with the others", example = "false")
+        boolean valid,
+
+        @Schema(description = "Broken compatibility rules; empty for a valid build")
+        List<Violation> violations,
+
+        @Schema(description = "Estimated system draw of all non-PSU components in watts, scaled by power tier", example = "420")
+        int estimatedDrawWatts,
+
+        @Schema(description = "Summed output of the power supplies in the cart in watts, if any", example = "650")
+        Integer psuCapacityWatts
+) {
+
+    @Schema(description = "One broken compatibility rule")
+    public record Violation(
+            @Schema(description = "Rule that was broken", example = "SOCKET")
+            String rule,
+
+            @Schema(description = "Human-readable explanation",
+                    example = "CPU, motherboard and cooler sockets must match: AMD Ryzen 5 7600 and ASUS PRIME B760-PLUS")
+            String message,
+
+            @Schema(description = "IDs of the components involved", example = "[3, 42]")
+            List<Long> componentIds
+    ) {}
+
+    /**
+     * Creates the response from a validation verdict.
+     */
+    public static BuildValidationResponse of(Long cartId, BuildVerdict verdict) {
+        List<Violation> violations = verdict.violations().stream()
+                .map(v -> new Violation(v.rule().name(), v.message(), v.componentIds()))
+                .toList();
+        return new BuildValidationResponse(cartId, verdict.valid(), violations,
+                verdict.estimatedDrawWatts(), verdict.psuCapacityWatts());
+    }
+}
@@ -0,0 +1,28 @@
+package com.rigarchitect.dto.buildcart;
+
+import com.rigarchitect.dto.component.ComponentSummaryResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "An item of a cart summary with its component embedded")
+public record CartSummaryItemResponse(
+        @Schema(description = "Unique identifier of the cart item", example = "10")
+        Long id,
+
+        @Schema(description = "Quantity of the component in the cart", example = "2")
+        Integer quantity,
+
+        @Schema(description = "Current price of the component times the quantity", example = "599.98")
+        BigDecimal lineTotal,
+
+        @Schema(description = "Timestamp when the item was added", example = "2025-08-13T14:00:00")
+        LocalDateTime createdAt,
+
+        @Schema(description = "Timestamp when the item was last updated", example = "2025-08-13T14:05:00")
+        LocalDateTime updatedAt,
+
+        @Schema(description = "The component of the item")
+        ComponentSummaryResponse component
+) {}
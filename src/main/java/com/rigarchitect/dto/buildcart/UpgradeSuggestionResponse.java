@@ -0,0 +1,30 @@
+package com.rigarchitect.dto.buildcart;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Response DTO suggesting one component swap that raises the build's performance score")
+public record UpgradeSuggestionResponse(
+        @Schema(description = "ID of the component in the cart that would be replaced", example = "3")
+        Long replacedComponentId,
+
+        @Schema(description = "Name of the component in the cart that would be replaced", example = "AMD Ryzen 5 5600X")
+        String replacedComponentName,
+
+        @Schema(description = "Component to put in its place")
+        ComponentResponse replacement,
+
+        @Schema(description = "Number of units swapped, as in the cart", example = "1")
+        int quantity,
+
+        @Schema(description = "Increase of the build's summed performance score", example = "7000")
+        long scoreGain,
+
+        @Schema(description = "Extra cost in USD; negative if the replacement is cheaper", example = "150.00")
+        BigDecimal extraCost,
+
+        @Schema(description = "Score gained per extra dollar; null if the replacement costs nothing extra", example = "46.67")
+        Double scoreGainPerDollar
+) {}
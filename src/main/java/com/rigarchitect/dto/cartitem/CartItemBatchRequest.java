@@ -0,0 +1,16 @@
+package com.rigarchitect.dto.cartitem;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request DTO for applying many item operations to a build cart in one transaction")
+public record CartItemBatchRequest(
+        @Schema(description = "Operations to apply, in order")
+        @NotEmpty(message = "At least one operation is required")
+        @Size(max = 200, message = "At most 200 operations are allowed per batch")
+        List<@Valid CartItemOperation> operations
+) {}
@@ -0,0 +1,23 @@
+package com.rigarchitect.dto.cartitem;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response DTO for a cart item batch")
+public record CartItemBatchResponse(
+        @Schema(description = "ID of the build cart", example = "1")
+        Long cartId,
+
+        @Schema(description = "Number of items the batch created", example = "6")
+        int created,
+
+        @Schema(description = "Number of existing items whose quantity the batch changed", example = "1")
+        int updated,
+
+        @Schema(description = "Number of existing items the batch removed", example = "1")
+        int removed,
+
+        @Schema(description = "Items in the cart after the batch, newest first")
+        List<CartItemResponse> items
+) {}
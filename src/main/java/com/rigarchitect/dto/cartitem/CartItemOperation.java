@@ -0,0 +1,28 @@
+package com.rigarchitect.dto.cartitem;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "One operation of a cart item batch, addressing the item by its component")
+public record CartItemOperation(
+        @Schema(description = "ADD adds the quantity to the item, creating it if the cart lacks the component; "
+                + "SET replaces the quantity of an item the cart holds; REMOVE deletes it", example = "ADD")
+        @NotNull(message = "Action is required")
+        Action action,
+
+        @Schema(description = "ID of the component the operation applies to", example = "42")
+        @NotNull(message = "Component ID is required")
+        Long componentId,
+
+        @Schema(description = "Quantity to add or set; ignored by REMOVE", example = "2")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity
+) {
+
+    public enum Action {
+        ADD,
+        SET,
+        REMOVE
+    }
+}
@@ -1,27 +1,62 @@
 package com.rigarchitect.dto.common;
 
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 /**
  * Generic paginated response wrapper for API endpoints
  * Provides standardized pagination metadata across all endpoints
+ * Offset pages requested as before always carry their totals and page number; totals are only null when the caller
+ * opts out of counting with totalMode=none, and keyset (cursor) pages have no page number
  */
+@Schema(description = "One page of results with pagination metadata")
 public record PagedResponse<T>(
+        @Schema(description = "Items of the page")
         List<T> content,
-        long totalElements,
-        int totalPages,
-        int currentPage,
+
+        @Schema(description = "Number of matching items, exact unless totalMode=estimate. Always set on offset pages "
+                + "unless totalMode=none is requested; on cursor pages only set when totalMode is exact or estimate",
+                nullable = true, example = "137")
+        Long totalElements,
+
+        @Schema(description = "Number of pages of this size, derived from totalElements and null exactly when it is",
+                nullable = true, example = "7")
+        Integer totalPages,
+
+        @Schema(description = "0-based page number; always set on offset pages, null on cursor pages",
+                nullable = true, example = "0")
+        Integer currentPage,
+
+        @Schema(description = "Page size", example = "20")
         int size,
+
+        @Schema(description = "Whether another page follows", example = "true")
         boolean hasNext,
+
+        @Schema(description = "Whether a page precedes this one", example = "false")
         boolean hasPrevious,
+
+        @Schema(description = "Whether this is the first page", example = "true")
         boolean isFirst,
-        boolean isLast
+
+        @Schema(description = "Whether this is the last page", example = "false")
+        boolean isLast,
+
+        @Schema(description = "Cursor continuing after this page in keyset mode; null on the last page and on "
+                + "endpoints without keyset mode", nullable = true)
+        String nextCursor,
+
+        @Schema(description = "How totalElements was obtained; NONE when it is null", example = "EXACT")
+        TotalMode totalMode
 ) {
 
     /**
      * Create a PagedResponse from a Spring Data Page object
      */
-    public static <T> PagedResponse<T> fromPage(org.springframework.data.domain.Page<T> page) {
+    public static <T> PagedResponse<T> fromPage(Page<T> page) {
         return new PagedResponse<>(
                 page.getContent(),
                 page.getTotalElements(),
@@ -31,7 +66,52 @@ public record PagedResponse<T>(
                 page.hasNext(),
                 page.hasPrevious(),
                 page.isFirst(),
-                page.isLast()
+                page.isLast(),
+                null,
+                TotalMode.EXACT
+        );
+    }
+
+    /**
+     * Create a PagedResponse from a Spring Data Slice with an optional exact or estimated total
+     */
+    public static <T> PagedResponse<T> fromSlice(Slice<T> slice, Long totalElements, TotalMode totalMode, String nextCursor) {
+        Integer totalPages = totalElements != null
+                ? (int) ((totalElements + slice.getSize() - 1) / slice.getSize())
+                : null;
+        return new PagedResponse<>(
+                slice.getContent(),
+                totalElements,
+                totalPages,
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext(),
+                slice.hasPrevious(),
+                slice.isFirst(),
+                slice.isLast(),
+                nextCursor,
+                totalElements != null ? totalMode : TotalMode.NONE
+        );
+    }
+
+    /**
+     * Create a PagedResponse for a keyset page, which has no page number and only an optional total
+     */
+    public static <T> PagedResponse<T> fromKeyset(List<T> content, int size, boolean hasNext,
+                                                  boolean hasPrevious, String nextCursor,
+                                                  Long totalElements, TotalMode totalMode) {
+        return new PagedResponse<>(
+                content,
+                totalElements,
+                totalElements != null ? (int) ((totalElements + size - 1) / size) : null,
+                null,
+                size,
+                hasNext,
+                hasPrevious,
+                !hasPrevious,
+                !hasNext,
+                nextCursor,
+                totalElements != null ? totalMode : TotalMode.NONE
         );
     }
-}
\ No newline at end of file
+}
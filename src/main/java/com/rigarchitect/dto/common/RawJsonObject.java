@@ -0,0 +1,114 @@
+package com.rigarchitect.dto.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only JSON object that keeps its JSON text and writes it verbatim into responses.
+ * Used for the jsonb columns, which the API returns unchanged: the text read from the database
+ * (or serialized once when the catalog snapshot is built) is copied into the response body
+ * without building and walking an object tree per request. Java callers still see a regular map,
+ * which is parsed lazily on first access.
+ */
+@JsonSerialize(using = RawJsonObject.Serializer.class)
+public final class RawJsonObject extends AbstractMap<String, Object> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, Object>> OBJECT_TYPE = new TypeReference<>() {
+    };
+
+    private final String json;
+    private volatile Map<String, Object> parsed;
+
+    private RawJsonObject(String json, Map<String, Object> parsed) {
+        this.json = json;
+        this.parsed = parsed;
+    }
+
+    /**
+     * Wraps JSON object text as read from a jsonb column; it is only parsed if a Java caller reads the map.
+     */
+    public static RawJsonObject of(String json) {
+        return json != null ? new RawJsonObject(json, null) : null;
+    }
+
+    /**
+     * Serializes a map once so that every later response can copy the text.
+     */
+    public static RawJsonObject from(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        if (map instanceof RawJsonObject raw) {
+            return raw;
+        }
+        try {
+            Map<String, Object> copy = Collections.unmodifiableMap(new LinkedHashMap<>(map));
+            return new RawJsonObject(MAPPER.writeValueAsString(copy), copy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Map cannot be written as JSON", e);
+        }
+    }
+
+    /**
+     * Gets the JSON text of this object.
+     */
+    public String json() {
+        return json;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return parsed().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return parsed().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return parsed().containsKey(key);
+    }
+
+    private Map<String, Object> parsed() {
+        Map<String, Object> map = parsed;
+        if (map == null) {
+            try {
+                map = Collections.unmodifiableMap(MAPPER.readValue(json, OBJECT_TYPE));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Invalid JSON object", e);
+            }
+            parsed = map;
+        }
+        return map;
+    }
+
+    /**
+     * Writes the JSON text as is.
+     */
+    public static final class Serializer extends StdSerializer<RawJsonObject> {
+
+        public Serializer() {
+            super(RawJsonObject.class);
+        }
+
+        @Override
+        public void serialize(RawJsonObject value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeRawValue(value.json);
+        }
+    }
+}
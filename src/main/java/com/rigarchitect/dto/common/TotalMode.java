@@ -0,0 +1,25 @@
+package com.rigarchitect.dto.common;
+
+/**
+ * How the total element count of a paginated response is obtained
+ * EXACT runs a count query, ESTIMATE may serve a cached or statistical count, NONE skips it
+ */
+public enum TotalMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    /**
+     * Resolve a request parameter case-insensitively, returning the given default when absent or unknown
+     */
+    public static TotalMode fromParam(String value, TotalMode defaultMode) {
+        if (value != null) {
+            for (TotalMode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+        }
+        return defaultMode;
+    }
+}
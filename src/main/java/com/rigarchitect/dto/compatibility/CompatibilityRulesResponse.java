@@ -0,0 +1,29 @@
+package com.rigarchitect.dto.compatibility;
+
+import com.rigarchitect.service.compatibility.CompiledRule;
+import com.rigarchitect.service.compatibility.RuleSet;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response DTO listing the configured compatibility rules")
+public record CompatibilityRulesResponse(
+        @Schema(description = "Rule set version, incremented whenever the configured or component rules change", example = "3")
+        long version,
+
+        @Schema(description = "Configured rules in rule-language syntax", example = "[\"gpu-case-airflow: gpu.metadata.power_tier != 'extreme' || case.coolerHeightMm >= 150\"]")
+        List<String> rules,
+
+        @Schema(description = "Number of components carrying their own rules", example = "0")
+        int componentsWithRules
+) {
+
+    /**
+     * Create a CompatibilityRulesResponse from a rule set
+     */
+    public static CompatibilityRulesResponse of(RuleSet ruleSet) {
+        return new CompatibilityRulesResponse(ruleSet.version(),
+                ruleSet.rules().stream().map(CompiledRule::source).toList(),
+                ruleSet.componentRules().size());
+    }
+}
@@ -0,0 +1,17 @@
+package com.rigarchitect.dto.component;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Response DTO describing the in-memory component catalog snapshot")
+public record CatalogVersionResponse(
+        @Schema(description = "Snapshot version, incremented on every component write", example = "42")
+        long version,
+
+        @Schema(description = "Number of components in the snapshot", example = "77")
+        int componentCount,
+
+        @Schema(description = "Timestamp when the snapshot was built", example = "2025-08-13T14:00:00")
+        LocalDateTime builtAt
+) {}
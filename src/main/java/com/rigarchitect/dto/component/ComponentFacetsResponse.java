@@ -0,0 +1,52 @@
+package com.rigarchitect.dto.component;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Response DTO with facet counts for a filtered set of components")
+public record ComponentFacetsResponse(
+        @Schema(description = "Number of components matching the filters", example = "128")
+        long total,
+
+        @Schema(description = "Matching components per type")
+        List<FacetValueCount> types,
+
+        @Schema(description = "Matching components per brand")
+        List<FacetValueCount> brands,
+
+        @Schema(description = "Matching components per socket")
+        List<FacetValueCount> sockets,
+
+        @Schema(description = "Matching components per RAM type")
+        List<FacetValueCount> ramTypes,
+
+        @Schema(description = "Matching components per form factor")
+        List<FacetValueCount> formFactors,
+
+        @Schema(description = "Matching components per price bucket, in ascending price order")
+        List<PriceBucketCount> priceBuckets
+) {
+
+    @Schema(description = "Number of matching components with one facet value")
+    public record FacetValueCount(
+            @Schema(description = "Facet value", example = "AMD")
+            String value,
+
+            @Schema(description = "Number of matching components", example = "12")
+            long count
+    ) {}
+
+    @Schema(description = "Number of matching components in a price range")
+    public record PriceBucketCount(
+            @Schema(description = "Inclusive lower bound in USD", example = "100.00")
+            BigDecimal min,
+
+            @Schema(description = "Exclusive upper bound in USD, null for the last bucket", example = "250.00")
+            BigDecimal max,
+
+            @Schema(description = "Number of matching components", example = "34")
+            long count
+    ) {}
+}
@@ -1,6 +1,8 @@
 package com.rigarchitect.dto.component;
 
+import com.rigarchitect.model.Component;
 import com.rigarchitect.model.enums.ComponentType;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -8,6 +10,7 @@ import java.time.LocalDateTime;
 import java.util.Map;
 
 @Schema(description = "Response DTO representing a PC component")
+@JsonFilter(ComponentResponse.FIELDS_FILTER)
 public record ComponentResponse(
         @Schema(description = "Unique identifier of the component", example = "1")
         Long id,
@@ -65,4 +68,37 @@ public record ComponentResponse(
 
         @Schema(description = "Timestamp when the component was last updated", example = "2025-08-13T14:05:00")
         LocalDateTime updatedAt
-) {}
+) {
+
+    /**
+     * Jackson filter that restricts serialization to a sparse fieldset; by default every field is written.
+     */
+    public static final String FIELDS_FILTER = "componentFields";
+
+    /**
+     * Create a ComponentResponse from a Component entity
+     */
+    public static ComponentResponse fromEntity(Component component) {
+        return new ComponentResponse(
+                component.getId(),
+                component.getName(),
+                component.getBrand(),
+                component.getType(),
+                component.getCompatibilityTag(),
+                component.getPrice(),
+                component.getStockQuantity(),
+                component.getSocket(),
+                component.getRamType(),
+                component.getWattage(),
+                component.getFormFactor(),
+                component.getGpuLengthMm(),
+                component.getCoolerHeightMm(),
+                component.getPsuFormFactor(),
+                component.getPciSlotsRequired(),
+                component.getExtraCompatibility(),
+                component.getMetadata(),
+                component.getCreatedAt(),
+                component.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.rigarchitect.dto.component;
+
+import com.rigarchitect.model.enums.ComponentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Short form of a component, embedded where a full component response is not needed")
+public record ComponentSummaryResponse(
+        @Schema(description = "Unique identifier of the component", example = "42")
+        Long id,
+
+        @Schema(description = "Name of the component", example = "Ryzen 7 5800X")
+        String name,
+
+        @Schema(description = "Brand of the component", example = "AMD")
+        String brand,
+
+        @Schema(description = "Type of the component", example = "CPU")
+        ComponentType type,
+
+        @Schema(description = "Current price of the component", example = "299.99")
+        BigDecimal price,
+
+        @Schema(description = "Units of the component in stock", example = "25")
+        Integer stockQuantity
+) {}
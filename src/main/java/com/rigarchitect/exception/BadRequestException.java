@@ -0,0 +1,16 @@
+package com.rigarchitect.exception;
+
+/**
+ * Exception thrown when a request parameter is syntactically valid but cannot be processed.
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new BadRequestException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -73,4 +73,39 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Handles bad request exceptions.
+     *
+     * @param ex the bad request exception
+     * @return error response with bad request details
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(BadRequestException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles builds that break compatibility rules, listing the violations.
+     *
+     * @param ex the incompatible build exception
+     * @return error response with conflict details and the violations
+     */
+    @ExceptionHandler(IncompatibleBuildException.class)
+    public ResponseEntity<Map<String, Object>> handleIncompatibleBuild(IncompatibleBuildException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+        body.put("violations", ex.getViolations());
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,33 @@
+package com.rigarchitect.exception;
+
+import com.rigarchitect.service.compatibility.BuildViolation;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an operation requires a compatible build but the build breaks compatibility rules.
+ */
+public class IncompatibleBuildException extends RuntimeException {
+
+    private final List<BuildViolation> violations;
+
+    /**
+     * Constructs a new IncompatibleBuildException with the specified detail message and broken rules.
+     *
+     * @param message the detail message
+     * @param violations the compatibility rules the build breaks
+     */
+    public IncompatibleBuildException(String message, List<BuildViolation> violations) {
+        super(message);
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * Gets the compatibility rules the build breaks.
+     *
+     * @return the violations
+     */
+    public List<BuildViolation> getViolations() {
+        return violations;
+    }
+}
@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,8 +18,11 @@ import java.util.List;
 /**
  * Entity class representing a user's PC build cart.
  * Maps to the 'build_carts' table in the database.
+ * The total price and power figures are maintained by atomic updates as items change, so updates of the entity only
+ * write the columns it changed and never overwrite them with values read earlier.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "build_carts")
 @Getter
 @Setter
@@ -43,6 +48,14 @@ public class BuildCart extends BaseEntity {
     @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice = BigDecimal.ZERO;
 
+    @Column(name = "estimated_wattage", nullable = false)
+    @ColumnDefault("0")
+    private Integer estimatedWattage = 0;
+
+    @Column(name = "psu_wattage", nullable = false)
+    @ColumnDefault("0")
+    private Integer psuWattage = 0;
+
     @OneToMany(mappedBy = "buildCart", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference("cart-items")
     private List<CartItem> cartItems = new ArrayList<>();
@@ -58,22 +71,4 @@ public class BuildCart extends BaseEntity {
     public Long getUserId() {
         return user != null ? user.getId() : null;
     }
-
-    /**
-     * Recalculates totalPrice based on the current cartItems.
-     */
-    public void recalculateTotalPrice() {
-        if (cartItems == null) {
-            totalPrice = BigDecimal.ZERO;
-            return;
-        }
-
-        totalPrice = cartItems.stream()
-                .map(item -> {
-                    BigDecimal itemPrice = item.getComponent().getPrice();
-                    BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
-                    return itemPrice.multiply(quantity);
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
 }
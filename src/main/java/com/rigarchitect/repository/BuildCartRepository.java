@@ -3,8 +3,14 @@ package com.rigarchitect.repository;
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for BuildCart entities.
@@ -12,4 +18,81 @@ import java.util.List;
  */
 public interface BuildCartRepository extends JpaRepository<BuildCart, Long> {
     List<BuildCart> findByUser(User user);
+
+    /**
+     * Gets only the last update timestamp of a cart, for conditional requests.
+     */
+    @Query("SELECT c.updatedAt FROM BuildCart c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Gets the number of carts of a user and their latest update timestamp, for conditional requests.
+     */
+    @Query("SELECT new com.rigarchitect.repository.DataVersion(COUNT(c), MAX(c.updatedAt)) FROM BuildCart c WHERE c.user.id = :userId")
+    DataVersion findVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Gets the budget of the user owning a cart, or empty if the cart does not exist or the user has no budget.
+     */
+    @Query("SELECT u.budget FROM BuildCart c JOIN c.user u WHERE c.id = :id")
+    Optional<BigDecimal> findUserBudgetById(@Param("id") Long id);
+
+    /**
+     * Adds the change one item mutation makes to a cart's total price and power figures in a single atomic update,
+     * so no item is read and concurrent mutations of the same cart never lose each other's change.
+     */
+    @Modifying
+    @Query("UPDATE BuildCart c SET c.totalPrice = c.totalPrice + :priceDelta, " +
+            "c.estimatedWattage = c.estimatedWattage + :drawDelta, c.psuWattage = c.psuWattage + :psuDelta, " +
+            "c.updatedAt = :now WHERE c.id = :id")
+    int applyItemDelta(@Param("id") Long id, @Param("priceDelta") BigDecimal priceDelta,
+                       @Param("drawDelta") int drawDelta, @Param("psuDelta") int psuDelta,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Sets a cart's total price and power figures back to zero, e.g. after all its items were removed.
+     */
+    @Modifying
+    @Query("UPDATE BuildCart c SET c.totalPrice = 0, c.estimatedWattage = 0, c.psuWattage = 0, c.updatedAt = :now " +
+            "WHERE c.id = :id")
+    int resetTotals(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Sums the current price of every item in a cart, or gives empty if the cart has no items.
+     */
+    @Query("SELECT SUM(i.component.price * i.quantity) FROM CartItem i WHERE i.buildCart.id = :id")
+    Optional<BigDecimal> sumItemPricesById(@Param("id") Long id);
+
+    /**
+     * Sets the total price, estimated draw and PSU output of every active or draft cart whose stored figures differ from
+     * those summed over its items at current component prices, wattages and power tiers, in one set-based statement.
+     * The draw matches {@code CompatibilityRules.unitDraw}: each non-PSU unit's wattage scaled by its power tier and
+     * rounded up. Returns the number of carts corrected.
+     */
+    @Modifying
+    @Query(value = "UPDATE build_carts b SET total_price = s.total, estimated_wattage = s.draw, psu_wattage = s.psu, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT bc.id, COALESCE(SUM(c.price * ci.quantity), 0) AS total, " +
+            "COALESCE(SUM(CASE WHEN c.type <> 'PSU' AND c.wattage IS NOT NULL THEN " +
+            "CEIL(c.wattage * CASE LOWER(TRIM(c.metadata->>'power_tier')) WHEN 'moderate' THEN 1.1 " +
+            "WHEN 'high' THEN 1.2 WHEN 'extreme' THEN 1.3 ELSE 1.0 END) * ci.quantity ELSE 0 END), 0) AS draw, " +
+            "COALESCE(SUM(CASE WHEN c.type = 'PSU' THEN COALESCE(c.wattage, 0) * ci.quantity ELSE 0 END), 0) AS psu " +
+            "FROM build_carts bc " +
+            "LEFT JOIN cart_items ci ON ci.cart_id = bc.id LEFT JOIN components c ON c.id = ci.component_id " +
+            "WHERE bc.status IN ('ACTIVE', 'DRAFT') GROUP BY bc.id) s " +
+            "WHERE b.id = s.id " +
+            "AND (b.total_price <> s.total OR b.estimated_wattage <> s.draw OR b.psu_wattage <> s.psu)",
+            nativeQuery = true)
+    int reconcileTotals();
+
+    /**
+     * Gets a cart joined with each of its items and their components, newest item first, in one query.
+     * Gives one row with null item fields for a cart with no items, and no rows if the cart does not exist.
+     */
+    @Query("SELECT new com.rigarchitect.repository.CartSummaryRow(b.id, b.user.id, b.name, b.status, b.totalPrice, " +
+            "b.estimatedWattage, b.psuWattage, b.createdAt, b.updatedAt, b.finalizedAt, " +
+            "i.id, i.quantity, i.createdAt, i.updatedAt, c.id, c.name, c.brand, c.type, c.price, c.stockQuantity) " +
+            "FROM BuildCart b LEFT JOIN b.cartItems i LEFT JOIN i.component c " +
+            "WHERE b.id = :id ORDER BY i.createdAt DESC, i.id DESC")
+    List<CartSummaryRow> findSummaryRowsById(@Param("id") Long id);
 }
@@ -2,11 +2,15 @@ package com.rigarchitect.repository;
 
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.CartItem;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,13 +21,62 @@ import java.util.Optional;
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByBuildCart(BuildCart buildCart);
 
+    /**
+     * Find all cart items for a specific cart, locking their rows until the transaction ends, so the quantities read
+     * stay the base of any total delta computed from them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CartItem c WHERE c.buildCart = :buildCart")
+    List<CartItem> findForUpdateByBuildCart(@Param("buildCart") BuildCart buildCart);
+
+    /**
+     * Find a cart item, locking its row until the transaction ends. A concurrent change to the same item waits, so
+     * each reads the quantity the other left and no total delta is computed from a stale quantity.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CartItem c WHERE c.id = :id")
+    Optional<CartItem> findForUpdateById(@Param("id") Long id);
+
     /**
      * Find all cart items for a specific cart, ordered by creation date descending (newest first).
      * This ensures consistent ordering and prevents items from jumping around in the UI.
+     * Components are fetched in the same query, so reading their names does not load them one by one.
      */
+    @EntityGraph(attributePaths = "component")
     List<CartItem> findByBuildCartOrderByCreatedAtDesc(BuildCart buildCart);
 
-    Optional<CartItem> findByBuildCartAndComponent_Id(BuildCart buildCart, Long componentId);
+    /**
+     * Gets only the last update timestamp of a cart item, for conditional requests.
+     */
+    @Query("SELECT c.updatedAt FROM CartItem c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Gets the number of items in a cart and their latest update timestamp, for conditional requests.
+     */
+    @Query("SELECT new com.rigarchitect.repository.DataVersion(COUNT(c), MAX(c.updatedAt)) FROM CartItem c WHERE c.buildCart.id = :cartId")
+    DataVersion findVersionByCartId(@Param("cartId") Long cartId);
+
+    /**
+     * Gets the component ID and quantity of every item in a cart, ordered by component ID.
+     */
+    @Query("SELECT new com.rigarchitect.repository.CartLine(c.component.id, c.quantity) FROM CartItem c " +
+            "WHERE c.buildCart.id = :cartId ORDER BY c.component.id")
+    List<CartLine> findLinesByCartId(@Param("cartId") Long cartId);
+
+    /**
+     * Adds a quantity of a component to a cart in one statement: inserts the item, or, when the cart already holds
+     * the component, adds to its quantity. The conflict on unique_cart_component is resolved by the database, so
+     * concurrent adds of the same component cannot fail. Gives empty, inserting nothing, if the cart does not exist.
+     */
+    @Query(value = "INSERT INTO cart_items (cart_id, component_id, quantity, created_at, updated_at) " +
+            "SELECT b.id, :componentId, :quantity, :now, :now FROM build_carts b WHERE b.id = :cartId " +
+            "ON CONFLICT (cart_id, component_id) DO UPDATE " +
+            "SET quantity = cart_items.quantity + EXCLUDED.quantity, updated_at = EXCLUDED.updated_at " +
+            "RETURNING id, quantity, created_at AS \"createdAt\", updated_at AS \"updatedAt\", (xmax = 0) AS inserted",
+            nativeQuery = true)
+    Optional<CartItemUpsert> upsertQuantity(@Param("cartId") Long cartId, @Param("componentId") Long componentId,
+                                            @Param("quantity") int quantity, @Param("now") LocalDateTime now);
 
     /**
      * Delete all cart items for a specific cart in a single transaction
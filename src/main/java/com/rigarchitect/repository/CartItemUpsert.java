@@ -0,0 +1,19 @@
+package com.rigarchitect.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The row an add-to-cart upsert left in cart_items, and whether the upsert inserted it or added to an existing row.
+ */
+public interface CartItemUpsert {
+
+    Long getId();
+
+    Integer getQuantity();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Boolean getInserted();
+}
@@ -0,0 +1,7 @@
+package com.rigarchitect.repository;
+
+/**
+ * Component ID and quantity of one cart item, read without loading the item or its component.
+ */
+public record CartLine(Long componentId, int quantity) {
+}
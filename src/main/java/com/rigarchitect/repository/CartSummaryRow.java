@@ -0,0 +1,19 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.model.enums.BuildStatus;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a cart joined with one of its items and that item's component, read without loading any entity.
+ * The item and component fields are null on the single row of a cart with no items.
+ */
+public record CartSummaryRow(Long cartId, Long userId, String name, BuildStatus status, BigDecimal totalPrice,
+                             Integer estimatedWattage, Integer psuWattage, LocalDateTime createdAt,
+                             LocalDateTime updatedAt, LocalDateTime finalizedAt,
+                             Long itemId, Integer quantity, LocalDateTime itemCreatedAt, LocalDateTime itemUpdatedAt,
+                             Long componentId, String componentName, String brand, ComponentType type,
+                             BigDecimal price, Integer stockQuantity) {
+}
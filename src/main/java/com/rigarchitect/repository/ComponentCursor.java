@@ -0,0 +1,61 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination over components.
+ * Encodes the sort column, direction and the (sort value, id) pair of the last row returned,
+ * so the next page can seek past it instead of using OFFSET.
+ */
+public record ComponentCursor(ComponentSortKey sortKey, Sort.Direction direction, String lastValue, Long lastId) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Creates the cursor pointing just after the given component.
+     */
+    public static ComponentCursor after(ComponentResponse last, ComponentSortKey sortKey, Sort.Direction direction) {
+        return new ComponentCursor(sortKey, direction, sortKey.valueOf(last), last.id());
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     */
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ComponentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+
+            ComponentCursor cursor = new ComponentCursor(ComponentSortKey.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]), parts[3], Long.valueOf(parts[2]));
+            cursor.typedLastValue();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /**
+     * Gets the last sort value converted to the column's Java type.
+     */
+    public Object typedLastValue() {
+        return sortKey.parse(lastValue);
+    }
+}
@@ -0,0 +1,153 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link ComponentResponse} that can be selected with a sparse fieldset ({@code fields=name,price}).
+ * Declared in the order of the record components, so a projected row maps onto the record by ordinal.
+ */
+public enum ComponentField {
+    ID("id", "c.id", ComponentField::toLong),
+    NAME("name", "c.name", Object::toString),
+    BRAND("brand", "c.brand", Object::toString),
+    TYPE("type", "c.type", value -> ComponentType.valueOf(value.toString())),
+    COMPATIBILITY_TAG("compatibilityTag", "c.compatibility_tag", Object::toString),
+    PRICE("price", "c.price", value -> value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString())),
+    STOCK_QUANTITY("stockQuantity", "c.stock_quantity", ComponentField::toInteger),
+    SOCKET("socket", "c.socket", Object::toString),
+    RAM_TYPE("ramType", "c.ram_type", Object::toString),
+    WATTAGE("wattage", "c.wattage", ComponentField::toInteger),
+    FORM_FACTOR("formFactor", "c.form_factor", Object::toString),
+    GPU_LENGTH_MM("gpuLengthMm", "c.gpu_length_mm", ComponentField::toInteger),
+    COOLER_HEIGHT_MM("coolerHeightMm", "c.cooler_height_mm", ComponentField::toInteger),
+    PSU_FORM_FACTOR("psuFormFactor", "c.psu_form_factor", Object::toString),
+    PCI_SLOTS_REQUIRED("pciSlotsRequired", "c.pci_slots_required", ComponentField::toInteger),
+    EXTRA_COMPATIBILITY("extraCompatibility", "c.extra_compatibility::text", Object::toString),
+    METADATA("metadata", "c.metadata::text", Object::toString),
+    CREATED_AT("createdAt", "c.created_at", ComponentField::toLocalDateTime),
+    UPDATED_AT("updatedAt", "c.updated_at", ComponentField::toLocalDateTime);
+
+    private static final Map<String, ComponentField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(f -> f.property.toLowerCase(Locale.ROOT), f -> f));
+
+    private final String property;
+    private final String selectExpression;
+    private final Function<Object, Object> converter;
+
+    ComponentField(String property, String selectExpression, Function<Object, Object> converter) {
+        this.property = property;
+        this.selectExpression = selectExpression;
+        this.converter = converter;
+    }
+
+    /**
+     * Parses a comma-separated fields parameter. A missing or blank parameter selects every field.
+     * The ID is always included since cursors and clients rely on it.
+     *
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    public static Set<ComponentField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.unmodifiableSet(EnumSet.allOf(ComponentField.class));
+        }
+
+        EnumSet<ComponentField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            ComponentField field = BY_PROPERTY.get(trimmed.toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown component field: " + trimmed);
+            }
+            selected.add(field);
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Checks whether a fieldset selects every field, in which case no projection or filtering is needed.
+     */
+    public static boolean isComplete(Set<ComponentField> fields) {
+        return fields.size() == values().length;
+    }
+
+    /**
+     * Gets the JSON property names of the given fields.
+     */
+    public static Set<String> propertyNames(Set<ComponentField> fields) {
+        return fields.stream().map(f -> f.property).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Builds a response from values indexed by field ordinal; fields that were not selected stay null.
+     */
+    static ComponentResponse toResponse(Object[] v) {
+        return new ComponentResponse(
+                (Long) v[0], (String) v[1], (String) v[2], (ComponentType) v[3], (String) v[4],
+                (BigDecimal) v[5], (Integer) v[6], (String) v[7], (String) v[8], (Integer) v[9],
+                (String) v[10], (Integer) v[11], (Integer) v[12], (String) v[13], (Integer) v[14],
+                castMap(v[15]), castMap(v[16]), (LocalDateTime) v[17], (LocalDateTime) v[18]
+        );
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Gets the SQL select expression; jsonb columns are read as text so they are only parsed when selected.
+     */
+    String selectExpression() {
+        return selectExpression;
+    }
+
+    boolean isJson() {
+        return this == EXTRA_COMPATIBILITY || this == METADATA;
+    }
+
+    /**
+     * Converts a raw JDBC value to the record component type. Nulls pass through unchanged.
+     */
+    Object convert(Object value) {
+        return value != null ? converter.apply(value) : null;
+    }
+
+    private static Object toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static Object toInteger(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static Object toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toLocalDateTime();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+}
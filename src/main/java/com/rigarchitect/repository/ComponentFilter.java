@@ -0,0 +1,35 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter criteria shared by the paginated component queries.
+ * Text filters are matched case-insensitively as substrings; blank values are treated as absent.
+ * The searchTerm additionally matches when every one of its words prefixes a word of name, brand or compatibility tag.
+ */
+public record ComponentFilter(
+        String searchTerm,
+        ComponentType type,
+        String brand,
+        String socket,
+        String compatibilityTag,
+        BigDecimal maxPrice,
+        int minStock
+) {
+
+    /**
+     * Creates a filter from request parameters, resolving the in-stock flag into a minimum stock level.
+     */
+    public static ComponentFilter of(String searchTerm, ComponentType type, String brand, String socket,
+                                     String compatibilityTag, BigDecimal maxPrice, Integer minStock, Boolean inStockOnly) {
+        int effectiveMinStock = inStockOnly != null && inStockOnly ? 1 : (minStock != null ? minStock : 0);
+        return new ComponentFilter(blankToNull(searchTerm), type, blankToNull(brand), blankToNull(socket),
+                blankToNull(compatibilityTag), maxPrice, effectiveMinStock);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
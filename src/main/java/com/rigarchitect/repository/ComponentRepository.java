@@ -2,21 +2,25 @@ package com.rigarchitect.repository;
 
 import com.rigarchitect.model.Component;
 import com.rigarchitect.model.enums.ComponentType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Component entities with comprehensive filtering and pagination support.
  */
 @SuppressWarnings("unused")
-public interface ComponentRepository extends JpaRepository<Component, Long> {
+public interface ComponentRepository extends JpaRepository<Component, Long>, ComponentRepositoryCustom {
     List<Component> findByType(ComponentType type);
     List<Component> findByBrand(String brand);
     List<Component> findBySocket(String socket);
@@ -24,6 +28,17 @@ public interface ComponentRepository extends JpaRepository<Component, Long> {
     @NonNull
     Page<Component> findAll(@NonNull Pageable pageable);
 
+    /**
+     * Streams all components ordered by ID, fetching rows from the database in batches instead of reading the
+     * whole result set at once. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT c FROM Component c ORDER BY c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Component> streamAllOrderById();
+
     Page<Component> findByType(ComponentType type, Pageable pageable);
 
     Page<Component> findByBrand(String brand, Pageable pageable);
@@ -58,29 +73,6 @@ public interface ComponentRepository extends JpaRepository<Component, Long> {
             Pageable pageable
     );
 
-    @Query(value = "SELECT * FROM components c WHERE " +
-            "(:searchTerm IS NULL OR " +
-            "c.name ILIKE CONCAT('%', :searchTerm, '%') OR " +
-            "c.brand ILIKE CONCAT('%', :searchTerm, '%') OR " +
-            "c.compatibility_tag ILIKE CONCAT('%', :searchTerm, '%')) AND " +
-            "(:type IS NULL OR c.type = :type) AND " +
-            "(:brand IS NULL OR c.brand ILIKE CONCAT('%', :brand, '%')) AND " +
-            "(:socket IS NULL OR c.socket ILIKE CONCAT('%', :socket, '%')) AND " +
-            "(:compatibilityTag IS NULL OR c.compatibility_tag ILIKE CONCAT('%', :compatibilityTag, '%')) AND " +
-            "(:maxPrice IS NULL OR c.price <= :maxPrice) AND " +
-            "c.stock_quantity >= :minStock",
-            nativeQuery = true)
-    Page<Component> findComponentsWithAllFilters(
-            @Param("searchTerm") String searchTerm,
-            @Param("type") String type,
-            @Param("brand") String brand,
-            @Param("socket") String socket,
-            @Param("compatibilityTag") String compatibilityTag,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("minStock") Integer minStock,
-            Pageable pageable
-    );
-
     @Query("SELECT c FROM Component c WHERE LOWER(c.compatibilityTag) LIKE LOWER(CONCAT('%', :tag, '%'))")
     List<Component> findByCompatibilityTag(@Param("tag") String tag);
 
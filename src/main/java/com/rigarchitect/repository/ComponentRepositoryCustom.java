@@ -0,0 +1,49 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Custom component queries that need SQL built at runtime (dynamic sort columns, keyset predicates and projections).
+ * Rows are read as scalar tuples straight into responses: only the selected columns are transferred, nothing is
+ * registered in the persistence context, and jsonb columns are only parsed when selected.
+ */
+public interface ComponentRepositoryCustom {
+
+    /**
+     * Finds up to {@code limit} components matching the filter, ordered by the sort key and then ID,
+     * starting strictly after the cursor position when a cursor is given.
+     * Fields outside the fieldset are left null, except the ID and the sort field.
+     */
+    List<ComponentResponse> findPageAfter(ComponentFilter filter, ComponentSortKey sortKey, Sort.Direction direction,
+                                          ComponentCursor after, int limit, Set<ComponentField> fields);
+
+    /**
+     * Finds one offset page of components matching the filter without running a count query.
+     * One extra row is read to determine whether a next page exists.
+     * Fields outside the fieldset are left null, except the ID and the sort field.
+     */
+    Slice<ComponentResponse> findSlice(ComponentFilter filter, ComponentSortKey sortKey, Sort.Direction direction,
+                                       int page, int size, Set<ComponentField> fields);
+
+    /**
+     * Finds one offset page of components matching the filter, most relevant to the searchTerm first.
+     * Rows are ranked by ts_rank over the weighted full-text document and then by ID; substring-only
+     * matches rank last. One extra row is read to determine whether a next page exists.
+     */
+    Slice<ComponentResponse> findRankedSlice(ComponentFilter filter, int page, int size, Set<ComponentField> fields);
+
+    /**
+     * Counts the components matching the filter.
+     */
+    long countFiltered(ComponentFilter filter);
+
+    /**
+     * Gets the planner's row estimate for the components table, or -1 if the table was never analyzed.
+     */
+    long estimateRowCount();
+}
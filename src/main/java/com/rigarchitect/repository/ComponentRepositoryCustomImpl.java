@@ -0,0 +1,212 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.dto.common.RawJsonObject;
+import com.rigarchitect.dto.component.ComponentResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Native SQL implementation of {@link ComponentRepositoryCustom}.
+ * Only the predicates for filters that are actually set are emitted, and the sort column
+ * always comes from {@link ComponentSortKey}, never from raw request input.
+ */
+class ComponentRepositoryCustomImpl implements ComponentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ComponentResponse> findPageAfter(ComponentFilter filter, ComponentSortKey sortKey, Sort.Direction direction,
+                                                 ComponentCursor after, int limit, Set<ComponentField> fields) {
+        return select(filter, sortKey, direction, after, 0, limit, fields);
+    }
+
+    @Override
+    public Slice<ComponentResponse> findSlice(ComponentFilter filter, ComponentSortKey sortKey, Sort.Direction direction,
+                                              int page, int size, Set<ComponentField> fields) {
+        List<ComponentResponse> rows = select(filter, sortKey, direction, null, offset(page, size), size + 1, fields);
+        boolean hasNext = rows.size() > size;
+        List<ComponentResponse> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(page, size, Sort.by(direction, sortKey.column())), hasNext);
+    }
+
+    @Override
+    public long countFiltered(ComponentFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM components c WHERE ");
+        appendFilters(sql, params, filter);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long estimateRowCount() {
+        Object estimate = entityManager
+                .createNativeQuery("SELECT reltuples::bigint FROM pg_class WHERE oid = 'components'::regclass")
+                .getSingleResult();
+        return estimate != null ? ((Number) estimate).longValue() : -1;
+    }
+
+    @Override
+    public Slice<ComponentResponse> findRankedSlice(ComponentFilter filter, int page, int size, Set<ComponentField> fields) {
+        List<ComponentField> selected = selection(fields, ComponentField.ID);
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = selectFrom(selected);
+        appendFilters(sql, params, filter);
+
+        String tsQuery = ComponentSearchTerms.toPrefixTsQuery(filter.searchTerm());
+        sql.append(" ORDER BY ");
+        if (tsQuery != null) {
+            sql.append("ts_rank(c.search_vector, to_tsquery('simple', :tsQuery)) DESC, ");
+            params.put("tsQuery", tsQuery);
+        }
+        sql.append("c.id ASC");
+
+        List<ComponentResponse> rows = read(sql, params, offset(page, size), size + 1, selected);
+        boolean hasNext = rows.size() > size;
+        List<ComponentResponse> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+
+    private List<ComponentResponse> select(ComponentFilter filter, ComponentSortKey sortKey, Sort.Direction direction,
+                                           ComponentCursor after, int offset, int limit, Set<ComponentField> fields) {
+        List<ComponentField> selected = selection(fields, sortKey.field());
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = selectFrom(selected);
+        appendFilters(sql, params, filter);
+
+        String comparator = direction.isAscending() ? ">" : "<";
+        if (after != null) {
+            if (sortKey == ComponentSortKey.ID) {
+                sql.append(" AND c.id ").append(comparator).append(" :lastId");
+            } else {
+                sql.append(" AND (c.").append(sortKey.column()).append(", c.id) ")
+                        .append(comparator).append(" (:lastValue, :lastId)");
+                params.put("lastValue", after.typedLastValue());
+            }
+            params.put("lastId", after.lastId());
+        }
+
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        sql.append(" ORDER BY c.").append(sortKey.column()).append(' ').append(order);
+        if (sortKey != ComponentSortKey.ID) {
+            sql.append(", c.id ").append(order);
+        }
+
+        return read(sql, params, offset, limit, selected);
+    }
+
+    /**
+     * Gets the row offset of a page, failing rather than wrapping around when it does not fit in an int.
+     */
+    private static int offset(int page, int size) {
+        return Math.toIntExact(Math.multiplyExact((long) page, size));
+    }
+
+    /**
+     * Gets the columns to read: the requested fields plus the ID and the given ordering field.
+     */
+    private static List<ComponentField> selection(Set<ComponentField> fields, ComponentField orderField) {
+        if (fields.contains(ComponentField.ID) && fields.contains(orderField)) {
+            return new ArrayList<>(fields);
+        }
+        EnumSet<ComponentField> required = EnumSet.copyOf(fields);
+        required.add(ComponentField.ID);
+        required.add(orderField);
+        return new ArrayList<>(required);
+    }
+
+    private static StringBuilder selectFrom(List<ComponentField> selected) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < selected.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(selected.get(i).selectExpression());
+        }
+        return sql.append(" FROM components c WHERE ");
+    }
+
+    private List<ComponentResponse> read(StringBuilder sql, Map<String, Object> params, int offset, int limit,
+                                         List<ComponentField> selected) {
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+
+        List<?> rows = query.getResultList();
+        List<ComponentResponse> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(toResponse(row instanceof Object[] columns ? columns : new Object[]{row}, selected));
+        }
+        return result;
+    }
+
+    /**
+     * Maps a tuple of the selected columns onto a response. The jsonb text is kept as is and written
+     * verbatim into the response body.
+     */
+    private ComponentResponse toResponse(Object[] columns, List<ComponentField> selected) {
+        Object[] values = new Object[ComponentField.values().length];
+        for (int i = 0; i < selected.size(); i++) {
+            ComponentField field = selected.get(i);
+            Object value = field.convert(columns[i]);
+            values[field.ordinal()] = field.isJson() ? RawJsonObject.of((String) value) : value;
+        }
+        return ComponentField.toResponse(values);
+    }
+
+    /**
+     * Appends the filter predicates, as documented on {@link ComponentFilter}.
+     * The searchTerm matches either every word as a prefix in the full-text document or as a substring of
+     * name, brand or compatibility tag; both branches are served by GIN indexes (search_vector and trigram).
+     */
+    static void appendFilters(StringBuilder sql, Map<String, Object> params, ComponentFilter filter) {
+        sql.append("c.stock_quantity >= :minStock");
+        params.put("minStock", filter.minStock());
+
+        if (filter.searchTerm() != null) {
+            sql.append(" AND (");
+            String tsQuery = ComponentSearchTerms.toPrefixTsQuery(filter.searchTerm());
+            if (tsQuery != null) {
+                sql.append("c.search_vector @@ to_tsquery('simple', :tsQuery) OR ");
+                params.put("tsQuery", tsQuery);
+            }
+            sql.append("c.name ILIKE CONCAT('%', :searchTerm, '%')")
+                    .append(" OR c.brand ILIKE CONCAT('%', :searchTerm, '%')")
+                    .append(" OR c.compatibility_tag ILIKE CONCAT('%', :searchTerm, '%'))");
+            params.put("searchTerm", filter.searchTerm());
+        }
+        if (filter.type() != null) {
+            sql.append(" AND c.type = :type");
+            params.put("type", filter.type().name());
+        }
+        if (filter.brand() != null) {
+            sql.append(" AND c.brand ILIKE CONCAT('%', :brand, '%')");
+            params.put("brand", filter.brand());
+        }
+        if (filter.socket() != null) {
+            sql.append(" AND c.socket ILIKE CONCAT('%', :socket, '%')");
+            params.put("socket", filter.socket());
+        }
+        if (filter.compatibilityTag() != null) {
+            sql.append(" AND c.compatibility_tag ILIKE CONCAT('%', :compatibilityTag, '%')");
+            params.put("compatibilityTag", filter.compatibilityTag());
+        }
+        if (filter.maxPrice() != null) {
+            sql.append(" AND c.price <= :maxPrice");
+            params.put("maxPrice", filter.maxPrice());
+        }
+    }
+}
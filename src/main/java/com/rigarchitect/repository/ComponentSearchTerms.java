@@ -0,0 +1,40 @@
+package com.rigarchitect.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a free-text searchTerm into the words matched against the components' full-text document.
+ * Each word matches as a prefix, so "ryz 78" finds "AMD Ryzen 7 7800X3D". Words are split on anything
+ * that is not a letter or digit, which also strips the tsquery operators from user input.
+ */
+public final class ComponentSearchTerms {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ComponentSearchTerms() {
+    }
+
+    /**
+     * Gets the lowercased words of a search term; empty if it holds no letters or digits.
+     */
+    public static List<String> words(String searchTerm) {
+        if (searchTerm == null) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(searchTerm.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Builds a tsquery requiring every word as a prefix ({@code ryz:* & 78:*}), or null if there are no words.
+     */
+    public static String toPrefixTsQuery(String searchTerm) {
+        List<String> words = words(searchTerm);
+        return words.isEmpty() ? null : words.stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
+    }
+}
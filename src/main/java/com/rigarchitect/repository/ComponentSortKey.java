@@ -0,0 +1,88 @@
+package com.rigarchitect.repository;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Columns the paginated component queries can be sorted by.
+ * All of them are non-null, which keeps keyset comparisons on (column, id) well defined.
+ */
+public enum ComponentSortKey {
+    NAME("name", "name", ComponentField.NAME, ComponentResponse::name, value -> value),
+    BRAND("brand", "brand", ComponentField.BRAND, ComponentResponse::brand, value -> value),
+    TYPE("type", "type", ComponentField.TYPE, c -> c.type().name(), value -> value),
+    PRICE("price", "price", ComponentField.PRICE, ComponentResponse::price, BigDecimal::new),
+    STOCK_QUANTITY("stockQuantity", "stock_quantity", ComponentField.STOCK_QUANTITY, ComponentResponse::stockQuantity, Integer::valueOf),
+    CREATED_AT("createdAt", "created_at", ComponentField.CREATED_AT, ComponentResponse::createdAt, LocalDateTime::parse),
+    ID("id", "id", ComponentField.ID, ComponentResponse::id, Long::valueOf);
+
+    private final String property;
+    private final String column;
+    private final ComponentField field;
+    private final Function<ComponentResponse, Object> extractor;
+    private final Function<String, Object> parser;
+
+    ComponentSortKey(String property, String column, ComponentField field,
+                     Function<ComponentResponse, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.column = column;
+        this.field = field;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * Resolves a sort parameter given either as property name or column name, falling back to name.
+     */
+    public static ComponentSortKey fromParam(String sortBy) {
+        if (sortBy != null) {
+            for (ComponentSortKey key : values()) {
+                if (key.property.equalsIgnoreCase(sortBy) || key.column.equalsIgnoreCase(sortBy)) {
+                    return key;
+                }
+            }
+        }
+        return NAME;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Gets the field holding the sort value, which projections must always select for cursors to work.
+     */
+    public ComponentField field() {
+        return field;
+    }
+
+    /**
+     * Gets a comparator ordering components by this key and then by ID, for sorting results held in memory.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<ComponentResponse> comparator(Sort.Direction direction) {
+        Comparator<ComponentResponse> byKey = Comparator.comparing(c -> (Comparable) extractor.apply(c),
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        Comparator<ComponentResponse> ordered = byKey.thenComparing(ComponentResponse::id);
+        return direction.isAscending() ? ordered : ordered.reversed();
+    }
+
+    /**
+     * Gets the sort value of a component in its cursor string form.
+     */
+    public String valueOf(ComponentResponse component) {
+        return String.valueOf(extractor.apply(component));
+    }
+
+    /**
+     * Parses a cursor string back into a value that can be bound against this column.
+     */
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,14 @@
+package com.rigarchitect.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for a collection of rows: the row count and the latest update timestamp.
+ * Any insert, delete or update changes at least one of the two.
+ */
+public record DataVersion(long count, LocalDateTime lastUpdatedAt) {
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
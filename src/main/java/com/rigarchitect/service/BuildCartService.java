@@ -1,38 +1,59 @@
 package com.rigarchitect.service;
 
+import com.rigarchitect.dto.buildcart.BuildCartResponse;
+import com.rigarchitect.dto.buildcart.BuildCartSummaryResponse;
+import com.rigarchitect.dto.buildcart.CartSummaryItemResponse;
+import com.rigarchitect.dto.component.ComponentSummaryResponse;
+import com.rigarchitect.exception.IncompatibleBuildException;
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.User;
 import com.rigarchitect.model.enums.BuildStatus;
 import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.repository.CartSummaryRow;
+import com.rigarchitect.repository.DataVersion;
 import com.rigarchitect.repository.UserRepository;
+import com.rigarchitect.service.compatibility.BuildVerdict;
+import com.rigarchitect.service.compatibility.BuildViolation;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing build cart operations including creation, finalization, and tax calculations.
  * Handles cart persistence, user budget validation, and Quebec tax calculations.
+ * Cart totals are maintained by item changes; finalization charges a fresh sum, and stored totals are
+ * reconciled against one periodically or on demand.
  */
 @Service
 public class BuildCartService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BuildCartService.class);
+
     private final BuildCartRepository buildCartRepository;
     private final UserRepository userRepository;
+    private final BuildValidationService buildValidationService;
 
     private static final BigDecimal GST_RATE = new BigDecimal("0.05"); // 5% Federal GST
     private static final BigDecimal QST_RATE = new BigDecimal("0.09975"); // 9.975% Quebec Sales Tax
 
     /**
-     * Constructor with required repository dependencies.
+     * Constructor with required repository and validation dependencies.
      */
-    public BuildCartService(BuildCartRepository buildCartRepository, UserRepository userRepository) {
+    public BuildCartService(BuildCartRepository buildCartRepository, UserRepository userRepository,
+                            BuildValidationService buildValidationService) {
         this.buildCartRepository = buildCartRepository;
         this.userRepository = userRepository;
+        this.buildValidationService = buildValidationService;
     }
 
     /**
@@ -50,13 +71,40 @@ public class BuildCartService {
     }
 
     /**
-     * Saves a cart, ensuring total price is recalculated.
+     * Gets the last update timestamp of a cart without loading it.
+     */
+    public Optional<LocalDateTime> getCartLastModified(Long id) {
+        return buildCartRepository.findUpdatedAtById(id);
+    }
+
+    /**
+     * Gets the count and latest update timestamp of a user's carts without loading them.
+     */
+    public DataVersion getUserCartsVersion(Long userId) {
+        return buildCartRepository.findVersionByUserId(userId);
+    }
+
+    /**
+     * Saves a cart. Its total price is maintained by item changes and is not recalculated here.
      */
     public BuildCart saveCart(BuildCart buildCart) {
-        buildCart.recalculateTotalPrice();
         return buildCartRepository.save(buildCart);
     }
 
+    /**
+     * Corrects the stored total price and power figures of every active or draft cart that differ from those summed
+     * over its items, e.g. after component prices, wattages or power tiers changed. Returns the number of carts corrected.
+     */
+    @Scheduled(cron = "${rigarchitect.carts.reconcile-cron:0 30 * * * ?}")
+    @Transactional
+    public int reconcileTotals() {
+        int corrected = buildCartRepository.reconcileTotals();
+        if (corrected > 0) {
+            logger.info("Corrected the totals of {} carts", corrected);
+        }
+        return corrected;
+    }
+
     /**
      * Deletes a cart by ID.
      */
@@ -66,7 +114,9 @@ public class BuildCartService {
 
     /**
      * Finalizes a cart, applying taxes and deducting from user budget.
-     * Validates budget sufficiency including Quebec GST and QST taxes.
+     * Rejects incompatible builds, then validates budget sufficiency including Quebec GST and QST taxes.
+     *
+     * @throws IncompatibleBuildException if the build breaks compatibility rules
      */
     @Transactional
     public void finalizeCartById(Long cartId) {
@@ -76,13 +126,17 @@ public class BuildCartService {
             throw new IllegalStateException("Only active or draft carts can be finalized.");
         }
 
-        cart.recalculateTotalPrice();
-        BigDecimal subtotal = cart.getTotalPrice();
+        BuildVerdict verdict = buildValidationService.validateCart(cartId);
+        if (!verdict.valid()) {
+            throw new IncompatibleBuildException("The build is not compatible: " + verdict.violations().stream()
+                    .map(BuildViolation::message)
+                    .collect(Collectors.joining("; ")), verdict.violations());
+        }
+
+        BigDecimal subtotal = buildCartRepository.sumItemPricesById(cartId).orElse(BigDecimal.ZERO);
+        cart.setTotalPrice(subtotal);
 
-        BigDecimal gst = subtotal.multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal qst = subtotal.multiply(QST_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal totalTax = gst.add(qst);
-        BigDecimal grandTotal = subtotal.add(totalTax);
+        BigDecimal grandTotal = subtotal.add(gstOn(subtotal)).add(qstOn(subtotal));
 
         User user = cart.getUser();
         if (user.getBudget().compareTo(grandTotal) < 0) {
@@ -100,6 +154,53 @@ public class BuildCartService {
         buildCartRepository.save(cart);
     }
 
+    /**
+     * Gets a cart with its items, their components and a tax quote on the current price of the items, all read in one
+     * query, or gives empty if the cart does not exist. The quote is what finalizing the cart would charge now.
+     */
+    public Optional<BuildCartSummaryResponse> getCartSummary(Long cartId) {
+        List<CartSummaryRow> rows = buildCartRepository.findSummaryRowsById(cartId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<CartSummaryItemResponse> items = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (CartSummaryRow row : rows) {
+            if (row.itemId() == null) {
+                continue;
+            }
+            BigDecimal lineTotal = row.price().multiply(BigDecimal.valueOf(row.quantity()));
+            subtotal = subtotal.add(lineTotal);
+            items.add(new CartSummaryItemResponse(row.itemId(), row.quantity(), lineTotal,
+                    row.itemCreatedAt(), row.itemUpdatedAt(),
+                    new ComponentSummaryResponse(row.componentId(), row.componentName(), row.brand(), row.type(),
+                            row.price(), row.stockQuantity())));
+        }
+
+        CartSummaryRow cart = rows.get(0);
+        BigDecimal gst = gstOn(subtotal);
+        BigDecimal qst = qstOn(subtotal);
+        return Optional.of(new BuildCartSummaryResponse(
+                new BuildCartResponse(cart.cartId(), cart.userId(), cart.name(), cart.status(), cart.totalPrice(),
+                        cart.estimatedWattage(), cart.psuWattage(), cart.psuWattage() - cart.estimatedWattage(),
+                        cart.createdAt(), cart.updatedAt(), cart.finalizedAt()),
+                items,
+                subtotal,
+                gst,
+                qst,
+                gst.add(qst),
+                subtotal.add(gst).add(qst)));
+    }
+
+    private static BigDecimal gstOn(BigDecimal subtotal) {
+        return subtotal.multiply(GST_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal qstOn(BigDecimal subtotal) {
+        return subtotal.multiply(QST_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Finds a cart by ID or throws exception if not found.
      */
@@ -0,0 +1,105 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.buildcart.BuildCompletionResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.service.build.BuildCompletion;
+import com.rigarchitect.service.build.ComponentScores;
+import com.rigarchitect.service.catalog.CompatibilityIndex;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service completing a partial cart into a full build: the cheapest compatible completion, and how many compatible
+ * completions fit under a price cap. The compatibility index narrows each missing type to in-stock components that
+ * fit the cart, configured rules are applied against the cart's parts, and {@link BuildCompletion} solves the rest.
+ */
+@Service
+public class BuildCompletionService {
+
+    private static final BigDecimal MAX_PRICE_CAP = new BigDecimal("999999.99");
+
+    private final BuildCartRepository buildCartRepository;
+    private final CompatibilityService compatibilityService;
+    private final CompatibilityIndex compatibilityIndex;
+    private final CompatibilityRuleService compatibilityRuleService;
+
+    /**
+     * Constructor with repository, compatibility service, index and rule dependencies.
+     */
+    public BuildCompletionService(BuildCartRepository buildCartRepository,
+                                  CompatibilityService compatibilityService,
+                                  CompatibilityIndex compatibilityIndex,
+                                  CompatibilityRuleService compatibilityRuleService) {
+        this.buildCartRepository = buildCartRepository;
+        this.compatibilityService = compatibilityService;
+        this.compatibilityIndex = compatibilityIndex;
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    /**
+     * Completes a cart with one component of every type a full build needs and the cart lacks,
+     * or gives empty if the cart does not exist.
+     *
+     * @param maxPrice cap on the price of the whole build for counting; the owner's budget if null, else no cap
+     * @throws BadRequestException if the cap exceeds $999,999.99
+     */
+    public Optional<BuildCompletionResponse> getCompletion(Long cartId, BigDecimal maxPrice) {
+        if (maxPrice != null && maxPrice.compareTo(MAX_PRICE_CAP) > 0) {
+            throw new BadRequestException("Price cap cannot exceed $999,999.99");
+        }
+        if (!buildCartRepository.existsById(cartId)) {
+            return Optional.empty();
+        }
+        List<BuildPart> parts = compatibilityService.getCartParts(cartId);
+        Set<ComponentType> missing = EnumSet.copyOf(BuildGeneratorService.DEFAULT_TYPES);
+        for (BuildPart part : parts) {
+            missing.remove(part.component().type());
+        }
+
+        RuleSet rules = compatibilityRuleService.current();
+        Map<ComponentType, List<ComponentResponse>> candidates = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : missing) {
+            List<ComponentResponse> fitting = new ArrayList<>();
+            for (ComponentResponse candidate : compatibilityIndex.compatibleWith(parts, type)) {
+                if (candidate.price() != null && candidate.stockQuantity() != null && candidate.stockQuantity() > 0
+                        && rules.allows(parts, candidate)) {
+                    fitting.add(candidate);
+                }
+            }
+            candidates.put(type, fitting);
+        }
+
+        BigDecimal cap = maxPrice != null ? maxPrice : buildCartRepository.findUserBudgetById(cartId).orElse(null);
+        BuildCompletion completion = BuildCompletion.of(parts, candidates, rules);
+        BuildCompletion.Cheapest cheapest = completion.cheapest();
+        BuildCompletion.Count count = completion.count(cap != null ? ComponentScores.cents(cap) : null);
+
+        long cartCents = parts.stream()
+                .mapToLong(part -> ComponentScores.cents(part.component().price()) * part.quantity())
+                .sum();
+        return Optional.of(new BuildCompletionResponse(
+                cartId,
+                List.copyOf(candidates.keySet()),
+                cheapest.found(),
+                cheapest.components(),
+                cheapest.found() ? BigDecimal.valueOf(cheapest.priceCents(), 2) : null,
+                cheapest.found() ? BigDecimal.valueOf(cartCents + cheapest.priceCents(), 2) : null,
+                cap,
+                count.completions(),
+                count.saturated() || count.truncated() || count.rounded(),
+                count.binCents() > 0 ? BigDecimal.valueOf(count.binCents(), 2) : null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.build.BuildGenerateRequest;
+import com.rigarchitect.dto.build.GeneratedBuildResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.exception.ResourceNotFoundException;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.build.BuildSearch;
+import com.rigarchitect.service.build.ComponentScores;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.BuildViolation;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.RuleSet;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Service generating the best scoring compatible build within a budget from the in-memory catalog.
+ * Searches run on a dedicated ForkJoinPool so that they cannot starve the common pool used elsewhere.
+ */
+@Service
+public class BuildGeneratorService {
+
+    /** Component types a generated build fills unless the request names its own. */
+    public static final Set<ComponentType> DEFAULT_TYPES = EnumSet.of(ComponentType.CPU, ComponentType.Motherboard,
+            ComponentType.RAM, ComponentType.GPU, ComponentType.SSD, ComponentType.PSU, ComponentType.Case,
+            ComponentType.Cooler);
+
+    private final ComponentCatalog componentCatalog;
+    private final CompatibilityRuleService compatibilityRuleService;
+    private final Duration defaultTimeLimit;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor with catalog and rule dependencies and the default search time limit.
+     */
+    public BuildGeneratorService(ComponentCatalog componentCatalog,
+                                 CompatibilityRuleService compatibilityRuleService,
+                                 @Value("${rigarchitect.builds.generate-time-limit-ms:250}") long timeLimitMs) {
+        this.componentCatalog = componentCatalog;
+        this.compatibilityRuleService = compatibilityRuleService;
+        this.defaultTimeLimit = Duration.ofMillis(timeLimitMs);
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Generates the highest scoring build of in-stock components that contains the pinned components,
+     * is compatible and fits the budget.
+     */
+    public GeneratedBuildResponse generate(BuildGenerateRequest request) {
+        Duration timeLimit = request.timeLimitMs() != null ? Duration.ofMillis(request.timeLimitMs()) : defaultTimeLimit;
+        long deadline = System.nanoTime() + timeLimit.toNanos();
+        CatalogSnapshot snapshot = componentCatalog.current();
+        RuleSet rules = compatibilityRuleService.current();
+
+        List<ComponentResponse> pinned = new ArrayList<>();
+        if (request.pinnedComponentIds() != null) {
+            for (Long id : request.pinnedComponentIds()) {
+                pinned.add(snapshot.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Component with ID " + id + " not found")));
+            }
+        }
+        for (int i = 0; i < pinned.size(); i++) {
+            for (int j = i + 1; j < pinned.size(); j++) {
+                if (!CompatibilityRules.compatible(pinned.get(i), pinned.get(j))) {
+                    throw new BadRequestException("Pinned components " + pinned.get(i).name() + " and "
+                            + pinned.get(j).name() + " are not compatible");
+                }
+            }
+        }
+        List<BuildViolation> violations = new ArrayList<>();
+        rules.collectViolations(pinned.stream().map(component -> new BuildPart(component, 1)).toList(), violations);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException("Pinned components break compatibility rule " + violations.get(0).message());
+        }
+
+        Set<ComponentType> types = request.types() != null && !request.types().isEmpty()
+                ? EnumSet.copyOf(request.types()) : EnumSet.copyOf(DEFAULT_TYPES);
+        pinned.forEach(component -> types.remove(component.type()));
+
+        Map<ComponentType, List<ComponentResponse>> candidates = new LinkedHashMap<>();
+        for (ComponentType type : types) {
+            candidates.put(type, candidates(snapshot, type, request.useCase()));
+        }
+
+        BuildSearch search = BuildSearch.of(pinned, candidates, ComponentScores.cents(request.budget()), rules);
+        return GeneratedBuildResponse.of(search.run(pool, deadline));
+    }
+
+    /**
+     * Gets the in-stock components of a type that list the use case, or all in-stock ones of the type if none does.
+     */
+    private List<ComponentResponse> candidates(CatalogSnapshot snapshot, ComponentType type, String useCase) {
+        List<ComponentResponse> inStock = snapshot.byType(type).stream()
+                .filter(c -> c.stockQuantity() != null && c.stockQuantity() > 0)
+                .toList();
+        if (useCase == null || useCase.isBlank()) {
+            return inStock;
+        }
+        List<ComponentResponse> suited = inStock.stream()
+                .filter(c -> ComponentScores.suits(c, useCase))
+                .toList();
+        return suited.isEmpty() ? inStock : suited;
+    }
+}
@@ -0,0 +1,95 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.repository.CartItemRepository;
+import com.rigarchitect.repository.CartLine;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.compatibility.BuildValidator;
+import com.rigarchitect.service.compatibility.BuildVerdict;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service validating the builds in carts.
+ * Verdicts are memoized by a hash of the cart's (component ID, quantity) lines, the catalog version and the
+ * rule set version, so validating an unchanged cart again costs one small line query and a map lookup.
+ * A component edit or rules reload bumps a version and therefore invalidates every memoized verdict.
+ */
+@Service
+public class BuildValidationService {
+
+    private static final int MAX_CACHED_VERDICTS = 10_000;
+
+    private final CartItemRepository cartItemRepository;
+    private final CompatibilityService compatibilityService;
+    private final ComponentCatalog componentCatalog;
+    private final CompatibilityRuleService compatibilityRuleService;
+    private final Map<Long, CachedVerdict> verdicts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with repository and catalog dependencies.
+     */
+    public BuildValidationService(CartItemRepository cartItemRepository,
+                                  CompatibilityService compatibilityService,
+                                  ComponentCatalog componentCatalog,
+                                  CompatibilityRuleService compatibilityRuleService) {
+        this.cartItemRepository = cartItemRepository;
+        this.compatibilityService = compatibilityService;
+        this.componentCatalog = componentCatalog;
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    /**
+     * Validates the build in a cart.
+     */
+    public BuildVerdict validateCart(Long cartId) {
+        return validate(cartItemRepository.findLinesByCartId(cartId));
+    }
+
+    /**
+     * Validates a build given as cart lines ordered by component ID, reusing the verdict for identical content.
+     */
+    public BuildVerdict validate(List<CartLine> lines) {
+        long catalogVersion = componentCatalog.version();
+        RuleSet rules = compatibilityRuleService.current();
+        long key = contentHash(lines, catalogVersion ^ Long.rotateLeft(rules.version(), 32));
+
+        CachedVerdict cached = verdicts.get(key);
+        if (cached != null && cached.catalogVersion() == catalogVersion && cached.rulesVersion() == rules.version()
+                && cached.lines().equals(lines)) {
+            return cached.verdict();
+        }
+
+        BuildVerdict verdict = BuildValidator.validate(compatibilityService.toParts(lines), rules);
+        if (verdicts.size() >= MAX_CACHED_VERDICTS) {
+            verdicts.clear();
+        }
+        verdicts.put(key, new CachedVerdict(List.copyOf(lines), catalogVersion, rules.version(), verdict));
+        return verdict;
+    }
+
+    /**
+     * Hashes the lines and the versions they are validated against into 64 bits. Hits are still compared line by line,
+     * so a collision costs a re-evaluation rather than a wrong verdict.
+     */
+    static long contentHash(List<CartLine> lines, long version) {
+        long hash = mix(version);
+        for (CartLine line : lines) {
+            hash = mix(hash ^ mix(line.componentId()) ^ ((long) line.quantity() << 40));
+        }
+        return hash;
+    }
+
+    /** SplitMix64 finalizer. */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record CachedVerdict(List<CartLine> lines, long catalogVersion, long rulesVersion, BuildVerdict verdict) {}
+}
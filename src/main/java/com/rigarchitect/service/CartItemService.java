@@ -1,35 +1,63 @@
 package com.rigarchitect.service;
 
+import com.rigarchitect.dto.cartitem.CartItemBatchResponse;
+import com.rigarchitect.dto.cartitem.CartItemOperation;
+import com.rigarchitect.dto.cartitem.CartItemResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.exception.ResourceNotFoundException;
 import com.rigarchitect.model.BuildCart;
 import com.rigarchitect.model.CartItem;
+import com.rigarchitect.repository.BuildCartRepository;
 import com.rigarchitect.repository.CartItemRepository;
+import com.rigarchitect.repository.CartItemUpsert;
+import com.rigarchitect.repository.ComponentRepository;
+import com.rigarchitect.repository.DataVersion;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service for managing cart items within build carts.
- * Handles CRUD operations and automatic cart total recalculation.
+ * Handles CRUD operations and automatic cart total maintenance.
+ * The cart's total price, estimated draw and PSU output are adjusted by the change each operation makes, in one
+ * atomic update of the cart row, so they never require walking the cart's items; {@link BuildCartService} reconciles
+ * all three against a full sum periodically or on demand, correcting drift from later component edits.
  */
 @Service
 public class CartItemService {
 
     private final CartItemRepository cartItemRepository;
-    private final BuildCartService buildCartService;
+    private final BuildCartRepository buildCartRepository;
+    private final ComponentRepository componentRepository;
+    private final ComponentCatalog componentCatalog;
 
     /**
-     * Constructor with required service and repository dependencies.
+     * Constructor with required repository and catalog dependencies.
      */
-    public CartItemService(CartItemRepository cartItemRepository, BuildCartService buildCartService) {
+    public CartItemService(CartItemRepository cartItemRepository, BuildCartRepository buildCartRepository,
+                           ComponentRepository componentRepository, ComponentCatalog componentCatalog) {
         this.cartItemRepository = cartItemRepository;
-        this.buildCartService = buildCartService;
+        this.buildCartRepository = buildCartRepository;
+        this.componentRepository = componentRepository;
+        this.componentCatalog = componentCatalog;
     }
 
     /**
      * Gets all items in a specific build cart, ordered by creation date descending (newest first).
-     * This ensures consistent ordering across requests.
+     * This ensures consistent ordering across requests. Each item's component is fetched with it.
      */
     public List<CartItem> getItemsByCart(BuildCart buildCart) {
         return cartItemRepository.findByBuildCartOrderByCreatedAtDesc(buildCart);
@@ -43,81 +71,230 @@ public class CartItemService {
     }
 
     /**
-     * Saves a cart item and recalculates the cart's total price.
+     * Gets the last update timestamp of a cart item without loading it.
      */
-    @Transactional
-    public CartItem saveItem(CartItem cartItem) {
-        CartItem saved = cartItemRepository.save(cartItem);
-
-        BuildCart cart = saved.getBuildCart();
-        cart.recalculateTotalPrice();
-        buildCartService.saveCart(cart);
+    public Optional<LocalDateTime> getItemLastModified(Long id) {
+        return cartItemRepository.findUpdatedAtById(id);
+    }
 
-        return saved;
+    /**
+     * Gets the count and latest update timestamp of the items in a cart without loading them.
+     */
+    public DataVersion getCartItemsVersion(Long cartId) {
+        return cartItemRepository.findVersionByCartId(cartId);
     }
 
     /**
-     * Deletes a cart item and recalculates the cart's total price.
+     * Deletes a cart item and adjusts its cart's total price and power figures.
      */
     @Transactional
     public void deleteItem(Long id) {
-        Optional<CartItem> itemOpt = cartItemRepository.findById(id);
+        Optional<CartItem> itemOpt = cartItemRepository.findForUpdateById(id);
         if (itemOpt.isPresent()) {
-            Long cartId = itemOpt.get().getBuildCartId();
+            CartItem item = itemOpt.get();
+            Long cartId = item.getBuildCartId();
+            ItemUnit unit = unitOf(item);
+            int quantity = item.getQuantity();
 
             cartItemRepository.deleteById(id);
             cartItemRepository.flush();
 
             if (cartId != null) {
-                Optional<BuildCart> cartOpt = buildCartService.getCartById(cartId);
-                if (cartOpt.isPresent()) {
-                    BuildCart cart = cartOpt.get();
-                    cart.recalculateTotalPrice();
-                    buildCartService.saveCart(cart);
-                }
+                applyChange(cartId, unit, -quantity);
             }
         }
     }
 
     /**
-     * Removes all items from a cart and resets total to zero.
+     * Removes all items from a cart and resets its total and power figures to zero.
      */
     @Transactional
     public void deleteAllItemsInCart(Long cartId) {
-        Optional<BuildCart> cartOpt = buildCartService.getCartById(cartId);
-        if (cartOpt.isEmpty()) {
+        if (!buildCartRepository.existsById(cartId)) {
             throw new IllegalArgumentException("Cart with ID " + cartId + " not found");
         }
 
         cartItemRepository.deleteByBuildCartId(cartId);
         cartItemRepository.flush();
-
-        BuildCart cart = cartOpt.get();
-        cart.recalculateTotalPrice();
-        buildCartService.saveCart(cart);
+        buildCartRepository.resetTotals(cartId, LocalDateTime.now());
     }
 
     /**
-     * Updates the quantity of a cart item and recalculates cart total.
+     * Updates the quantity of a cart item and adjusts its cart's total price and power figures.
+     * The item's row is locked while its previous quantity is read, so concurrent updates apply their deltas in turn.
      */
     @Transactional
     public Optional<CartItem> updateQuantity(Long itemId, int newQuantity) {
-        return cartItemRepository.findById(itemId).map(item -> {
+        return cartItemRepository.findForUpdateById(itemId).map(item -> {
+            int previousQuantity = item.getQuantity();
             item.setQuantity(newQuantity);
             CartItem updated = cartItemRepository.save(item);
-
-            BuildCart cart = updated.getBuildCart();
-            cart.recalculateTotalPrice();
-            buildCartService.saveCart(cart);
-
+            applyChange(updated.getBuildCartId(), unitOf(updated), newQuantity - previousQuantity);
             return updated;
         });
     }
 
     /**
-     * Finds a cart item by cart and component ID (used to prevent duplicates).
+     * Adds a quantity of a component to a cart, inserting the item or adding to the quantity of the item already
+     * holding the component in a single upsert, and adjusts the cart's total price and power figures.
+     * Gives empty if the cart does not exist.
+     */
+    @Transactional
+    public Optional<CartItemUpsert> addItem(Long cartId, ComponentResponse component, int quantity) {
+        Optional<CartItemUpsert> upsert = cartItemRepository.upsertQuantity(
+                cartId, component.id(), quantity, LocalDateTime.now());
+        upsert.ifPresent(row -> applyChange(cartId, unitOf(component), quantity));
+        return upsert;
+    }
+
+    /**
+     * Applies a batch of item operations to a cart in one transaction, in order. The cart's items are loaded and locked
+     * once and changed in memory; the resulting inserts, updates and deletes are then flushed as JDBC batches, and the
+     * cart's totals are adjusted by the net change of the whole batch in a single update. Gives empty if the cart does
+     * not exist.
+     *
+     * @throws ResourceNotFoundException if an ADD names a component that does not exist
+     * @throws BadRequestException if an operation lacks its quantity, or sets or removes a component the cart lacks
+     */
+    @Transactional
+    public Optional<CartItemBatchResponse> applyBatch(Long cartId, List<CartItemOperation> operations) {
+        if (!buildCartRepository.existsById(cartId)) {
+            return Optional.empty();
+        }
+        BuildCart cart = buildCartRepository.getReferenceById(cartId);
+        CatalogSnapshot catalog = componentCatalog.current();
+
+        Map<Long, CartItem> items = new LinkedHashMap<>();
+        Map<Long, Integer> initialQuantities = new HashMap<>();
+        for (CartItem item : cartItemRepository.findForUpdateByBuildCart(cart)) {
+            items.put(item.getComponentId(), item);
+            initialQuantities.put(item.getComponentId(), item.getQuantity());
+        }
+        // Existing items removed so far; an ADD of the same component revives the row, since Hibernate flushes
+        // inserts before deletes and a new row would collide with the old one on unique_cart_component.
+        Map<Long, CartItem> removed = new HashMap<>();
+
+        for (CartItemOperation operation : operations) {
+            Long componentId = operation.componentId();
+            CartItem item = items.get(componentId);
+            switch (operation.action()) {
+                case ADD -> {
+                    int quantity = requireQuantity(operation);
+                    if (item != null) {
+                        item.setQuantity(item.getQuantity() + quantity);
+                    } else {
+                        item = removed.remove(componentId);
+                        if (item == null) {
+                            if (catalog.findById(componentId).isEmpty()) {
+                                throw new ResourceNotFoundException("Component with ID " + componentId + " not found");
+                            }
+                            item = new CartItem();
+                            item.setBuildCart(cart);
+                            item.setComponent(componentRepository.getReferenceById(componentId));
+                        }
+                        item.setQuantity(quantity);
+                        items.put(componentId, item);
+                    }
+                }
+                case SET -> {
+                    if (item == null) {
+                        throw new BadRequestException("Cart with ID " + cartId + " has no item for component " + componentId);
+                    }
+                    item.setQuantity(requireQuantity(operation));
+                }
+                case REMOVE -> {
+                    if (item == null) {
+                        throw new BadRequestException("Cart with ID " + cartId + " has no item for component " + componentId);
+                    }
+                    items.remove(componentId);
+                    if (item.getId() != null) {
+                        removed.put(componentId, item);
+                    }
+                }
+            }
+        }
+
+        List<CartItem> createdItems = new ArrayList<>();
+        int updated = 0;
+        BigDecimal priceDelta = BigDecimal.ZERO;
+        int drawDelta = 0;
+        int psuDelta = 0;
+        for (CartItem item : items.values()) {
+            int quantityDelta = item.getQuantity() - initialQuantities.getOrDefault(item.getComponentId(), 0);
+            if (item.getId() == null) {
+                createdItems.add(item);
+            } else if (quantityDelta != 0) {
+                updated++;
+            }
+            if (quantityDelta != 0) {
+                ItemUnit unit = unitOf(item);
+                priceDelta = priceDelta.add(unit.price().multiply(BigDecimal.valueOf(quantityDelta)));
+                drawDelta += unit.draw() * quantityDelta;
+                psuDelta += unit.psu() * quantityDelta;
+            }
+        }
+        for (CartItem item : removed.values()) {
+            ItemUnit unit = unitOf(item);
+            int quantity = initialQuantities.get(item.getComponentId());
+            priceDelta = priceDelta.subtract(unit.price().multiply(BigDecimal.valueOf(quantity)));
+            drawDelta -= unit.draw() * quantity;
+            psuDelta -= unit.psu() * quantity;
+        }
+
+        cartItemRepository.saveAll(createdItems);
+        cartItemRepository.deleteAll(removed.values());
+        cartItemRepository.flush();
+        if (!createdItems.isEmpty() || updated > 0 || !removed.isEmpty()) {
+            buildCartRepository.applyItemDelta(cartId, priceDelta, drawDelta, psuDelta, LocalDateTime.now());
+        }
+
+        List<CartItemResponse> responses = items.values().stream()
+                .sorted(Comparator.comparing(CartItem::getCreatedAt).thenComparing(CartItem::getId).reversed())
+                .map(item -> new CartItemResponse(
+                        item.getId(),
+                        cartId,
+                        item.getComponentId(),
+                        catalog.findById(item.getComponentId())
+                                .map(ComponentResponse::name)
+                                .orElseGet(item::getComponentName),
+                        item.getQuantity(),
+                        item.getCreatedAt(),
+                        item.getUpdatedAt()))
+                .toList();
+        return Optional.of(new CartItemBatchResponse(cartId, createdItems.size(), updated, removed.size(), responses));
+    }
+
+    /**
+     * Adds price times the change in quantity of one item, and likewise its power, to the cart's figures.
+     */
+    private void applyChange(Long cartId, ItemUnit unit, int quantityDelta) {
+        if (quantityDelta != 0) {
+            buildCartRepository.applyItemDelta(cartId, unit.price().multiply(BigDecimal.valueOf(quantityDelta)),
+                    unit.draw() * quantityDelta, unit.psu() * quantityDelta, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Gets the price, estimated draw and PSU output of one unit of an item's component. The component is read from
+     * the catalog snapshot, so its row is not loaded; a component the snapshot does not hold yet is read from the entity.
      */
-    public Optional<CartItem> findByCartAndComponent(BuildCart buildCart, Long componentId) {
-        return cartItemRepository.findByBuildCartAndComponent_Id(buildCart, componentId);
+    private ItemUnit unitOf(CartItem item) {
+        return unitOf(componentCatalog.current().findById(item.getComponentId())
+                .orElseGet(() -> ComponentResponse.fromEntity(item.getComponent())));
     }
-}
\ No newline at end of file
+
+    private static ItemUnit unitOf(ComponentResponse component) {
+        Integer draw = CompatibilityRules.unitDraw(component);
+        return new ItemUnit(component.price() != null ? component.price() : BigDecimal.ZERO,
+                draw != null ? draw : 0, CompatibilityRules.unitCapacity(component));
+    }
+
+    private static int requireQuantity(CartItemOperation operation) {
+        if (operation.quantity() == null) {
+            throw new BadRequestException("Quantity is required to " + operation.action() + " component " + operation.componentId());
+        }
+        return operation.quantity();
+    }
+
+    private record ItemUnit(BigDecimal price, int draw, int psu) {}
+}
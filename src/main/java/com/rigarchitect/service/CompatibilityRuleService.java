@@ -0,0 +1,171 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.service.catalog.CatalogListener;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.compatibility.CompiledRule;
+import com.rigarchitect.service.compatibility.RuleSet;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service holding the rule-language compatibility rules that apply on top of the built-in ones.
+ * Configured rules are read from the rules file, one per line with {@code #} comments, and can be reloaded at runtime;
+ * components add their own rules as a {@code rules} array in their extra compatibility data, compiled when the
+ * component is written. Every change publishes a new immutable {@link RuleSet}, so readers never see a half-built one.
+ */
+@Service
+public class CompatibilityRuleService implements CatalogListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompatibilityRuleService.class);
+
+    /** Key in a component's extra compatibility data holding the rules the component brings into a build. */
+    public static final String COMPONENT_RULES_KEY = "rules";
+
+    private final ComponentCatalog catalog;
+    private final ResourceLoader resourceLoader;
+    private final String rulesLocation;
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile RuleSet rules = RuleSet.EMPTY;
+    private volatile Instant publishedAt = Instant.EPOCH;
+    private List<CompiledRule> configured = List.of();
+    private final Map<Long, CompiledRule[]> componentRules = new HashMap<>();
+
+    /**
+     * Constructor with catalog dependency and the location of the rules file.
+     */
+    public CompatibilityRuleService(ComponentCatalog catalog, ResourceLoader resourceLoader,
+                                    @Value("${rigarchitect.compatibility.rules-location:classpath:compatibility.rules}") String rulesLocation) {
+        this.catalog = catalog;
+        this.resourceLoader = resourceLoader;
+        this.rulesLocation = rulesLocation;
+    }
+
+    @PostConstruct
+    void register() {
+        configured = read();
+        publish();
+        catalog.addListener(this);
+    }
+
+    /**
+     * Gets the current rules.
+     */
+    public RuleSet current() {
+        return rules;
+    }
+
+    /**
+     * Gets when the current rules were published.
+     */
+    public Instant publishedAt() {
+        return publishedAt;
+    }
+
+    /**
+     * Reads the rules file again and swaps in its rules. If any rule does not compile, the current rules are kept.
+     */
+    public synchronized RuleSet reload() {
+        try {
+            configured = read();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        publish();
+        logger.info("Reloaded {} compatibility rules from {}", configured.size(), rulesLocation);
+        return rules;
+    }
+
+    @Override
+    public synchronized void onCatalogLoaded(CatalogSnapshot snapshot) {
+        componentRules.clear();
+        for (ComponentResponse component : snapshot.all()) {
+            store(component);
+        }
+        publish();
+    }
+
+    @Override
+    public synchronized void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        boolean had = componentRules.remove(current.id()) != null;
+        if (store(current) || had) {
+            publish();
+        }
+    }
+
+    @Override
+    public synchronized void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous != null && componentRules.remove(previous.id()) != null) {
+            publish();
+        }
+    }
+
+    /**
+     * Compiles the rules a component carries; a rule that does not compile is logged and ignored.
+     */
+    private boolean store(ComponentResponse component) {
+        Object value = component.extraCompatibility() != null ? component.extraCompatibility().get(COMPONENT_RULES_KEY) : null;
+        if (value == null) {
+            return false;
+        }
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (Object source : value instanceof Collection<?> sources ? sources : List.of(value)) {
+            try {
+                compiled.add(CompiledRule.compile(source.toString()));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring rule of component {}: {}", component.id(), e.getMessage());
+            }
+        }
+        if (compiled.isEmpty()) {
+            return false;
+        }
+        componentRules.put(component.id(), compiled.toArray(new CompiledRule[0]));
+        return true;
+    }
+
+    private void publish() {
+        publishedAt = Instant.now();
+        rules = new RuleSet(versions.incrementAndGet(), configured, componentRules);
+    }
+
+    private List<CompiledRule> read() {
+        Resource resource = resourceLoader.getResource(rulesLocation);
+        if (!resource.exists()) {
+            logger.info("No compatibility rules file at {}", rulesLocation);
+            return List.of();
+        }
+        String text;
+        try {
+            text = resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read compatibility rules from " + rulesLocation, e);
+        }
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            String rule = line.strip();
+            if (!rule.isEmpty() && !rule.startsWith("#")) {
+                compiled.add(CompiledRule.compile(rule));
+            }
+        }
+        return List.copyOf(compiled);
+    }
+}
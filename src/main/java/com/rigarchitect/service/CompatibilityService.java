@@ -0,0 +1,192 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.common.PagedResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.repository.CartItemRepository;
+import com.rigarchitect.repository.CartLine;
+import com.rigarchitect.repository.ComponentSortKey;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ChipsetIndex;
+import com.rigarchitect.service.catalog.CompatibilityIndex;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.catalog.PairCompatibilityMatrix;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for compatibility queries over build carts.
+ * Cart contents are read as (component ID, quantity) lines and resolved against the in-memory catalog,
+ * and candidates come from the compatibility index rather than from per-request queries, then pass through
+ * the configured rule-language rules.
+ */
+@Service
+public class CompatibilityService {
+
+    private final BuildCartRepository buildCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ComponentCatalog componentCatalog;
+    private final CompatibilityIndex compatibilityIndex;
+    private final ChipsetIndex chipsetIndex;
+    private final PairCompatibilityMatrix pairMatrix;
+    private final CompatibilityRuleService compatibilityRuleService;
+
+    /**
+     * Constructor with repository and catalog dependencies.
+     */
+    public CompatibilityService(BuildCartRepository buildCartRepository,
+                                CartItemRepository cartItemRepository,
+                                ComponentCatalog componentCatalog,
+                                CompatibilityIndex compatibilityIndex,
+                                ChipsetIndex chipsetIndex,
+                                PairCompatibilityMatrix pairMatrix,
+                                CompatibilityRuleService compatibilityRuleService) {
+        this.buildCartRepository = buildCartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.componentCatalog = componentCatalog;
+        this.compatibilityIndex = compatibilityIndex;
+        this.chipsetIndex = chipsetIndex;
+        this.pairMatrix = pairMatrix;
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    /**
+     * Gets the parts of a cart resolved against the current catalog snapshot.
+     * Items whose component is no longer in the catalog are skipped.
+     */
+    public List<BuildPart> getCartParts(Long cartId) {
+        return toParts(cartItemRepository.findLinesByCartId(cartId));
+    }
+
+    /**
+     * Resolves cart lines against the current catalog snapshot, skipping components that are no longer in it.
+     */
+    public List<BuildPart> toParts(List<CartLine> lines) {
+        CatalogSnapshot snapshot = componentCatalog.current();
+        List<BuildPart> parts = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            snapshot.findById(line.componentId())
+                    .ifPresent(component -> parts.add(new BuildPart(component, line.quantity())));
+        }
+        return parts;
+    }
+
+    /**
+     * Gets a page of components of the given type that are compatible with everything already in the cart,
+     * or empty if the cart does not exist.
+     */
+    public Optional<PagedResponse<ComponentResponse>> getCompatibleComponents(Long cartId, ComponentType type,
+                                                                              boolean inStockOnly, int page, int size,
+                                                                              String sortBy, String sortDirection) {
+        if (!buildCartRepository.existsById(cartId)) {
+            return Optional.empty();
+        }
+
+        List<BuildPart> parts = getCartParts(cartId);
+        List<ComponentResponse> candidates = compatibilityIndex.compatibleWith(parts, type);
+        if (inStockOnly) {
+            candidates = candidates.stream()
+                    .filter(c -> c.stockQuantity() != null && c.stockQuantity() > 0)
+                    .toList();
+        }
+        RuleSet rules = compatibilityRuleService.current();
+        if (!rules.isEmpty()) {
+            candidates = candidates.stream()
+                    .filter(c -> rules.allows(parts, c))
+                    .toList();
+        }
+
+        List<ComponentResponse> ordered = new ArrayList<>(candidates);
+        ordered.sort(ComponentSortKey.fromParam(sortBy).comparator(parseDirection(sortDirection)));
+
+        int pageSize = Math.min(Math.max(1, size), 100);
+        int pageNumber = Math.max(0, page);
+        int from = (int) Math.min((long) pageNumber * pageSize, ordered.size());
+        int to = Math.min(from + pageSize, ordered.size());
+
+        PageImpl<ComponentResponse> result = new PageImpl<>(
+                ordered.subList(from, to), PageRequest.of(pageNumber, pageSize), ordered.size());
+        return Optional.of(PagedResponse.fromPage(result));
+    }
+
+    /**
+     * Gets the motherboards with the given chipset.
+     */
+    public List<ComponentResponse> getMotherboardsByChipset(String chipset) {
+        return chipsetIndex.motherboardsWithChipset(chipset);
+    }
+
+    /**
+     * Gets the motherboards whose chipset is listed as compatible by a CPU, or empty if there is no CPU with the ID.
+     */
+    public Optional<List<ComponentResponse>> getChipsetMotherboardsForCpu(Long cpuId) {
+        return componentCatalog.current().findById(cpuId)
+                .filter(component -> component.type() == ComponentType.CPU)
+                .map(cpu -> chipsetIndex.motherboardsForCpu(cpu.id()));
+    }
+
+    /**
+     * Gets the components of a type that pass the pair rules and the configured rules with a component, or empty if
+     * there is no component with the ID. Only the precomputed pairings can be queried.
+     */
+    public Optional<List<ComponentResponse>> getPairCompatibleComponents(Long componentId, ComponentType type) {
+        return componentCatalog.current().findById(componentId).map(component -> {
+            if (!PairCompatibilityMatrix.pairedTypes(component.type()).contains(type)) {
+                throw new BadRequestException("Compatibility between " + component.type() + " and " + type
+                        + " is not precomputed; paired types are " + PairCompatibilityMatrix.pairedTypes(component.type()));
+            }
+            return allowedWith(compatibilityRuleService.current(), component, type);
+        });
+    }
+
+    /**
+     * Counts the components of each paired type that pass the pair rules and the configured rules with a component,
+     * or empty if there is no component with the ID. Types no configured rule can constrain keep the matrix count.
+     */
+    public Optional<Map<ComponentType, Integer>> getPairCompatibleCounts(Long componentId) {
+        RuleSet rules = compatibilityRuleService.current();
+        return componentCatalog.current().findById(componentId).map(component -> {
+            Map<ComponentType, Integer> counts = pairMatrix.compatibleCounts(component);
+            for (Map.Entry<ComponentType, Integer> entry : counts.entrySet()) {
+                if (rules.constrains(component.type(), entry.getKey())) {
+                    entry.setValue(allowedWith(rules, component, entry.getKey()).size());
+                }
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Gets the components of the target type that pass the pair rules with the component and that the configured
+     * rules allow next to it.
+     */
+    private List<ComponentResponse> allowedWith(RuleSet rules, ComponentResponse component, ComponentType target) {
+        List<ComponentResponse> candidates = pairMatrix.compatibleWithAll(List.of(component), target);
+        if (!rules.constrains(component.type(), target)) {
+            return candidates;
+        }
+        List<BuildPart> build = List.of(new BuildPart(component, 1));
+        return candidates.stream()
+                .filter(candidate -> rules.allows(build, candidate))
+                .toList();
+    }
+
+    private Sort.Direction parseDirection(String sortDirection) {
+        try {
+            return Sort.Direction.fromString(sortDirection);
+        } catch (IllegalArgumentException e) {
+            return Sort.Direction.ASC;
+        }
+    }
+}
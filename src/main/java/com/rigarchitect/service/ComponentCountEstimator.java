@@ -0,0 +1,74 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.repository.ComponentFilter;
+import com.rigarchitect.repository.ComponentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service providing approximate component counts for paginated responses requested with totalMode=estimate.
+ * Counts are cached per filter for a configurable TTL; the unfiltered catalog uses planner statistics instead of COUNT(*).
+ */
+@Service
+public class ComponentCountEstimator {
+
+    private static final int MAX_CACHED_FILTERS = 1_000;
+
+    private final ComponentRepository componentRepository;
+    private final long ttlNanos;
+    private final Map<ComponentFilter, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with component repository dependency and cache TTL.
+     */
+    public ComponentCountEstimator(ComponentRepository componentRepository,
+                                   @Value("${rigarchitect.components.count-estimate-ttl-ms:60000}") long ttlMs) {
+        this.componentRepository = componentRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Gets an estimated number of components matching the filter.
+     */
+    public long estimate(ComponentFilter filter) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(filter);
+        if (cached != null && now - cached.computedAt() < ttlNanos) {
+            return cached.count();
+        }
+
+        long count = isUnfiltered(filter) ? plannerEstimate() : componentRepository.countFiltered(filter);
+        record(filter, count);
+        return count;
+    }
+
+    /**
+     * Stores a count that is already known exactly, e.g. because the last page was reached.
+     */
+    public void record(ComponentFilter filter, long count) {
+        if (counts.size() >= MAX_CACHED_FILTERS) {
+            counts.clear();
+        }
+        counts.put(filter, new CachedCount(count, System.nanoTime()));
+    }
+
+    /**
+     * Uses pg_class.reltuples for the whole table, falling back to an exact count if statistics are missing.
+     */
+    private long plannerEstimate() {
+        long estimate = componentRepository.estimateRowCount();
+        return estimate >= 0 ? estimate : componentRepository.count();
+    }
+
+    private boolean isUnfiltered(ComponentFilter filter) {
+        return filter.searchTerm() == null && filter.type() == null && filter.brand() == null
+                && filter.socket() == null && filter.compatibilityTag() == null
+                && filter.maxPrice() == null && filter.minStock() <= 0;
+    }
+
+    private record CachedCount(long count, long computedAt) {}
+}
@@ -1,85 +1,136 @@
 package com.rigarchitect.service;
 
 import com.rigarchitect.dto.common.PagedResponse;
+import com.rigarchitect.dto.common.TotalMode;
+import com.rigarchitect.dto.component.CatalogVersionResponse;
+import com.rigarchitect.dto.component.ComponentFacetsResponse;
 import com.rigarchitect.dto.component.ComponentRequest;
 import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.exception.BadRequestException;
 import com.rigarchitect.model.Component;
 import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.ComponentCursor;
+import com.rigarchitect.repository.ComponentField;
+import com.rigarchitect.repository.ComponentFilter;
 import com.rigarchitect.repository.ComponentRepository;
+import com.rigarchitect.repository.ComponentSortKey;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.catalog.ComponentChangedEvent;
+import com.rigarchitect.service.catalog.ComponentFacetIndex;
+import com.rigarchitect.service.catalog.ComponentFacetIndex.Facet;
+import com.rigarchitect.service.catalog.ValueFrontierIndex;
+import com.rigarchitect.service.catalog.FacetCounts;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing PC components including CRUD operations,
  * filtering, pagination, and search functionality.
+ * Non-paginated reads are served from the in-memory catalog snapshot; writes publish
+ * a ComponentChangedEvent so the snapshot is swapped once they commit.
  */
 @Service
 public class ComponentService {
 
+    /** Facets reported by the facet counts endpoint. */
+    private static final EnumSet<Facet> FACETS = EnumSet.of(Facet.TYPE, Facet.BRAND, Facet.SOCKET, Facet.RAM_TYPE, Facet.FORM_FACTOR);
+
+    /** Lower bounds of the price buckets in USD; the last bucket is open-ended. */
+    private static final List<BigDecimal> PRICE_BUCKET_BOUNDS = List.of(
+            new BigDecimal("0.00"), new BigDecimal("100.00"), new BigDecimal("250.00"),
+            new BigDecimal("500.00"), new BigDecimal("1000.00"), new BigDecimal("2000.00"));
+
+    /** Sort parameter value ranking searchTerm matches by relevance. */
+    private static final String RELEVANCE_SORT = "relevance";
+
     private final ComponentRepository componentRepository;
+    private final ComponentCatalog componentCatalog;
+    private final ComponentFacetIndex facetIndex;
+    private final ValueFrontierIndex valueFrontierIndex;
+    private final ComponentCountEstimator countEstimator;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Constructor with component repository dependency.
+     * Constructor with component repository and catalog dependencies.
      */
-    public ComponentService(ComponentRepository componentRepository) {
+    public ComponentService(ComponentRepository componentRepository,
+                            ComponentCatalog componentCatalog,
+                            ComponentFacetIndex facetIndex,
+                            ValueFrontierIndex valueFrontierIndex,
+                            ComponentCountEstimator countEstimator,
+                            ApplicationEventPublisher eventPublisher) {
         this.componentRepository = componentRepository;
+        this.componentCatalog = componentCatalog;
+        this.facetIndex = facetIndex;
+        this.valueFrontierIndex = valueFrontierIndex;
+        this.countEstimator = countEstimator;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Gets all components as response DTOs (non-paginated).
      */
     public List<ComponentResponse> getAllComponents() {
-        return componentRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return componentCatalog.current().all();
     }
 
     /**
      * Gets components filtered by type (non-paginated).
      */
     public List<ComponentResponse> getComponentsByType(ComponentType type) {
-        return componentRepository.findByType(type)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return componentCatalog.current().byType(type);
+    }
+
+    /**
+     * Gets the best value components of a type: its price/performance Pareto frontier, cheapest first.
+     */
+    public List<ComponentResponse> getBestValueComponents(ComponentType type) {
+        return valueFrontierIndex.frontier(type);
+    }
+
+    /**
+     * Gets the version and size of the current catalog snapshot.
+     */
+    public CatalogVersionResponse getCatalogVersion() {
+        CatalogSnapshot snapshot = componentCatalog.current();
+        return new CatalogVersionResponse(snapshot.version(), snapshot.size(), snapshot.builtAt());
+    }
+
+    /**
+     * Gets the catalog version tag, for validating responses that embed component data.
+     */
+    public String getCatalogVersionTag() {
+        return componentCatalog.versionTag();
     }
 
     /**
      * Gets all components with comprehensive filtering and pagination.
+     * When a cursor is given, the page is fetched in keyset mode and the page number is ignored.
+     * When fields are given, only those columns are read from the database.
      */
     public PagedResponse<ComponentResponse> getAllComponentsPaged(
             String searchTerm, String brand, String compatibilityTag, BigDecimal maxPrice, 
-            Integer minStock, Boolean inStockOnly, int page, int size, String sortBy, String sortDirection) {
-        
-        Sort.Direction direction;
-        try {
-            direction = Sort.Direction.fromString(sortDirection);
-        } catch (IllegalArgumentException e) {
-            direction = Sort.Direction.ASC;
-        }
-
-        Pageable pageable = PageRequest.of(
-                Math.max(0, page),
-                Math.min(Math.max(1, size), 100),
-                Sort.by(direction, sortBy)
-        );
+            Integer minStock, Boolean inStockOnly, int page, int size, String sortBy, String sortDirection,
+            String cursor, String totalMode, String fields) {
 
-        Page<Component> componentPage = componentRepository.findComponentsWithAllFilters(
-                searchTerm, null, brand, null, compatibilityTag, maxPrice, 
-                inStockOnly != null && inStockOnly ? 1 : (minStock != null ? minStock : 0), pageable
-        );
-
-        Page<ComponentResponse> responsePage = componentPage.map(this::toResponse);
-        return PagedResponse.fromPage(responsePage);
+        ComponentFilter filter = ComponentFilter.of(searchTerm, null, brand, null, compatibilityTag, maxPrice, minStock, inStockOnly);
+        return findFilteredPage(filter, page, size, sortBy, sortDirection, cursor, totalMode, fields);
     }
 
     /**
@@ -88,28 +139,10 @@ public class ComponentService {
     public PagedResponse<ComponentResponse> getComponentsByTypePaged(
             ComponentType type, String searchTerm, String brand, String compatibilityTag, 
             BigDecimal maxPrice, Integer minStock, Boolean inStockOnly, 
-            int page, int size, String sortBy, String sortDirection) {
-        
-        Sort.Direction direction;
-        try {
-            direction = Sort.Direction.fromString(sortDirection);
-        } catch (IllegalArgumentException e) {
-            direction = Sort.Direction.ASC;
-        }
-
-        Pageable pageable = PageRequest.of(
-                Math.max(0, page),
-                Math.min(Math.max(1, size), 100),
-                Sort.by(direction, sortBy)
-        );
-
-        Page<Component> componentPage = componentRepository.findComponentsWithAllFilters(
-                searchTerm, type != null ? type.name() : null, brand, null, compatibilityTag, maxPrice, 
-                inStockOnly != null && inStockOnly ? 1 : (minStock != null ? minStock : 0), pageable
-        );
+            int page, int size, String sortBy, String sortDirection, String totalMode, String fields) {
 
-        Page<ComponentResponse> responsePage = componentPage.map(this::toResponse);
-        return PagedResponse.fromPage(responsePage);
+        ComponentFilter filter = ComponentFilter.of(searchTerm, type, brand, null, compatibilityTag, maxPrice, minStock, inStockOnly);
+        return findFilteredPage(filter, page, size, sortBy, sortDirection, null, totalMode, fields);
     }
 
     public PagedResponse<ComponentResponse> getComponentsByBrandPaged(String brand, int page, int size, String sortBy, String sortDirection) {
@@ -122,11 +155,20 @@ public class ComponentService {
         return PagedResponse.fromPage(responsePage);
     }
 
+    /**
+     * Searches components with multiple filters and pagination.
+     * When a cursor is given, the page is fetched in keyset mode and the page number is ignored.
+     */
     public PagedResponse<ComponentResponse> searchComponentsPaged(
             String searchTerm, ComponentType type, String brand, String socket, String compatibilityTag,
             BigDecimal maxPrice, Integer minStock, Boolean inStockOnly,
-            int page, int size, String sortBy, String sortDirection) {
+            int page, int size, String sortBy, String sortDirection, String cursor, String totalMode, String fields) {
 
+        ComponentFilter filter = ComponentFilter.of(searchTerm, type, brand, socket, compatibilityTag, maxPrice, minStock, inStockOnly);
+        return findFilteredPage(filter, page, size, sortBy, sortDirection, cursor, totalMode, fields);
+    }
+
+    public PagedResponse<ComponentResponse> getComponentsInStockPaged(Integer minQuantity, int page, int size, String sortBy, String sortDirection) {
         Sort.Direction direction;
         try {
             direction = Sort.Direction.fromString(sortDirection);
@@ -140,43 +182,153 @@ public class ComponentService {
                 Sort.by(direction, sortBy)
         );
 
-        Page<Component> componentPage = componentRepository.findComponentsWithAllFilters(
-                searchTerm, type != null ? type.name() : null, brand, socket, compatibilityTag, maxPrice, 
-                inStockOnly != null && inStockOnly ? 1 : (minStock != null ? minStock : 0), pageable
+        Page<Component> componentPage = componentRepository.findByStockQuantityGreaterThan(
+                minQuantity != null ? minQuantity : 0, pageable
         );
 
         Page<ComponentResponse> responsePage = componentPage.map(this::toResponse);
         return PagedResponse.fromPage(responsePage);
     }
 
-    public PagedResponse<ComponentResponse> getComponentsInStockPaged(Integer minQuantity, int page, int size, String sortBy, String sortDirection) {
-        Sort.Direction direction;
+    /**
+     * Runs the filtered component query in offset mode, or in keyset mode when a cursor is given.
+     * Both modes order by the sort column and then ID, so a cursor taken from an offset page
+     * continues exactly where that page ended. The total is counted, estimated or skipped per totalMode,
+     * which defaults to exact for offset pages and none for keyset pages.
+     * Rows are read as projections of the requested fields rather than as managed entities.
+     * Sorting by relevance ranks searchTerm matches and is only available in offset mode.
+     */
+    private PagedResponse<ComponentResponse> findFilteredPage(ComponentFilter filter, int page, int size,
+                                                              String sortBy, String sortDirection, String cursor,
+                                                              String totalMode, String fields) {
+        ComponentSortKey sortKey = ComponentSortKey.fromParam(sortBy);
+        Sort.Direction direction = parseDirection(sortDirection);
+        int pageSize = Math.min(Math.max(1, size), 100);
+        Set<ComponentField> fieldSet = parseFields(fields);
+
+        if (RELEVANCE_SORT.equalsIgnoreCase(sortBy) && filter.searchTerm() != null) {
+            if (cursor != null && !cursor.isBlank()) {
+                throw new BadRequestException("Cursor pagination is not available when sorting by relevance");
+            }
+            TotalMode mode = TotalMode.fromParam(totalMode, TotalMode.EXACT);
+            Slice<ComponentResponse> slice = componentRepository.findRankedSlice(filter, pageNumber(page, pageSize), pageSize, fieldSet);
+            return PagedResponse.fromSlice(slice, resolveTotal(filter, mode, slice), mode, null);
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            return findKeysetPage(filter, sortKey, direction, pageSize, decodeCursor(cursor, sortKey, direction),
+                    TotalMode.fromParam(totalMode, TotalMode.NONE), fieldSet);
+        }
+
+        TotalMode mode = TotalMode.fromParam(totalMode, TotalMode.EXACT);
+        int pageNumber = pageNumber(page, pageSize);
+        Slice<ComponentResponse> slice = componentRepository.findSlice(filter, sortKey, direction, pageNumber, pageSize, fieldSet);
+
+        String nextCursor = slice.hasNext()
+                ? ComponentCursor.after(slice.getContent().get(slice.getNumberOfElements() - 1), sortKey, direction).encode()
+                : null;
+
+        Long total = resolveTotal(filter, mode, slice);
+        return PagedResponse.fromSlice(slice, total, mode, nextCursor);
+    }
+
+    /**
+     * Fetches one page past the cursor without OFFSET, reading one extra row to detect a next page.
+     */
+    private PagedResponse<ComponentResponse> findKeysetPage(ComponentFilter filter, ComponentSortKey sortKey,
+                                                            Sort.Direction direction, int pageSize, ComponentCursor after,
+                                                            TotalMode mode, Set<ComponentField> fields) {
+        List<ComponentResponse> rows = componentRepository.findPageAfter(filter, sortKey, direction, after, pageSize + 1, fields);
+        boolean hasNext = rows.size() > pageSize;
+        List<ComponentResponse> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasNext
+                ? ComponentCursor.after(pageRows.get(pageRows.size() - 1), sortKey, direction).encode()
+                : null;
+
+        Long total = switch (mode) {
+            case EXACT -> componentRepository.countFiltered(filter);
+            case ESTIMATE -> countEstimator.estimate(filter);
+            case NONE -> null;
+        };
+
+        return PagedResponse.fromKeyset(pageRows, pageSize, hasNext, true, nextCursor, total, mode);
+    }
+
+    /**
+     * Resolves the total for an offset page. When the page is the last one, the total follows from
+     * the offset and the page content, so neither a count nor an estimate is needed.
+     */
+    private Long resolveTotal(ComponentFilter filter, TotalMode mode, Slice<?> slice) {
+        if (mode == TotalMode.NONE) {
+            return null;
+        }
+
+        long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || slice.isFirst())) {
+            countEstimator.record(filter, seen);
+            return seen;
+        }
+
+        if (mode == TotalMode.EXACT) {
+            return componentRepository.countFiltered(filter);
+        }
+        long lowerBound = seen + (slice.hasNext() ? 1 : 0);
+        return Math.max(countEstimator.estimate(filter), lowerBound);
+    }
+
+    /**
+     * Gets the 0-based page number to read, rejecting pages whose row offset exceeds what a query can skip.
+     */
+    private static int pageNumber(int page, int pageSize) {
+        int pageNumber = Math.max(0, page);
+        if ((long) pageNumber * pageSize > Integer.MAX_VALUE) {
+            throw new BadRequestException("Page " + page + " is out of range for page size " + pageSize);
+        }
+        return pageNumber;
+    }
+
+    /**
+     * Decodes a cursor and checks it was issued for the same sort as the current request.
+     */
+    private ComponentCursor decodeCursor(String cursor, ComponentSortKey sortKey, Sort.Direction direction) {
+        ComponentCursor decoded;
         try {
-            direction = Sort.Direction.fromString(sortDirection);
+            decoded = ComponentCursor.decode(cursor);
         } catch (IllegalArgumentException e) {
-            direction = Sort.Direction.ASC;
+            throw new BadRequestException("Invalid cursor");
         }
 
-        Pageable pageable = PageRequest.of(
-                Math.max(0, page),
-                Math.min(Math.max(1, size), 100),
-                Sort.by(direction, sortBy)
-        );
+        if (decoded.sortKey() != sortKey || decoded.direction() != direction) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
 
-        Page<Component> componentPage = componentRepository.findByStockQuantityGreaterThan(
-                minQuantity != null ? minQuantity : 0, pageable
-        );
+    /**
+     * Parses a sparse fieldset, rejecting unknown field names.
+     */
+    private Set<ComponentField> parseFields(String fields) {
+        try {
+            return ComponentField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
 
-        Page<ComponentResponse> responsePage = componentPage.map(this::toResponse);
-        return PagedResponse.fromPage(responsePage);
+    private Sort.Direction parseDirection(String sortDirection) {
+        try {
+            return Sort.Direction.fromString(sortDirection);
+        } catch (IllegalArgumentException e) {
+            return Sort.Direction.ASC;
+        }
     }
 
     /**
      * Gets a component by ID as response DTO.
      */
     public Optional<ComponentResponse> getComponentById(Long id) {
-        return componentRepository.findById(id)
-                .map(this::toResponse);
+        return componentCatalog.current().findById(id);
     }
 
     /**
@@ -185,7 +337,9 @@ public class ComponentService {
     public ComponentResponse createComponent(ComponentRequest request) {
         Component component = toEntity(request);
         Component saved = componentRepository.save(component);
-        return toResponse(saved);
+        ComponentResponse response = toResponse(saved);
+        eventPublisher.publishEvent(ComponentChangedEvent.upserted(response));
+        return response;
     }
 
     /**
@@ -211,7 +365,9 @@ public class ComponentService {
                     existing.setExtraCompatibility(request.extraCompatibility());
                     existing.setMetadata(request.metadata());
                     Component updated = componentRepository.save(existing);
-                    return toResponse(updated);
+                    ComponentResponse response = toResponse(updated);
+                    eventPublisher.publishEvent(ComponentChangedEvent.upserted(response));
+                    return response;
                 });
     }
 
@@ -220,27 +376,15 @@ public class ComponentService {
      */
     public void deleteComponent(Long id) {
         componentRepository.deleteById(id);
-    }
-
-    /**
-     * Gets component entity by ID for internal service use.
-     */
-    public Optional<Component> findEntityById(Long id) {
-        return componentRepository.findById(id);
+        eventPublisher.publishEvent(ComponentChangedEvent.deleted(id));
     }
 
     public List<ComponentResponse> getComponentsByBrand(String brand) {
-        return componentRepository.findByBrand(brand)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return componentCatalog.current().byBrand(brand);
     }
 
     public List<ComponentResponse> getComponentsBySocket(String socket) {
-        return componentRepository.findBySocket(socket)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return componentCatalog.current().bySocket(socket);
     }
 
     public List<ComponentResponse> getComponentsByCompatibilityTag(String tag) {
@@ -251,50 +395,61 @@ public class ComponentService {
     }
 
     public List<ComponentResponse> searchComponents(ComponentType type, String brand, String socket, BigDecimal maxPrice, Integer minStock) {
-        List<Component> components = componentRepository.findAll();
-
-        return components.stream()
-                .filter(c -> type == null || c.getType().equals(type))
-                .filter(c -> brand == null || (c.getBrand() != null && c.getBrand().toLowerCase().contains(brand.toLowerCase())))
-                .filter(c -> socket == null || (c.getSocket() != null && c.getSocket().toLowerCase().contains(socket.toLowerCase())))
-                .filter(c -> maxPrice == null || c.getPrice().compareTo(maxPrice) <= 0)
-                .filter(c -> c.getStockQuantity() >= (minStock != null ? minStock : 0))
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return facetIndex.search(ComponentFilter.of(null, type, brand, socket, null, maxPrice, minStock, false));
+    }
+
+    /**
+     * Counts the components matching the search filters per type, brand, socket, RAM type, form factor
+     * and price bucket, all from one evaluation of the filters against the facet index.
+     */
+    public ComponentFacetsResponse getComponentFacets(String searchTerm, ComponentType type, String brand, String socket,
+                                                      String compatibilityTag, BigDecimal maxPrice,
+                                                      Integer minStock, Boolean inStockOnly) {
+        ComponentFilter filter = ComponentFilter.of(searchTerm, type, brand, socket, compatibilityTag, maxPrice, minStock, inStockOnly);
+        long[] boundsCents = new long[PRICE_BUCKET_BOUNDS.size()];
+        for (int i = 0; i < boundsCents.length; i++) {
+            boundsCents[i] = PRICE_BUCKET_BOUNDS.get(i).movePointRight(2).longValueExact();
+        }
+
+        FacetCounts counts = facetIndex.facetCounts(filter, FACETS, boundsCents);
+
+        List<ComponentFacetsResponse.PriceBucketCount> priceBuckets = new ArrayList<>();
+        for (int i = 0; i < boundsCents.length; i++) {
+            BigDecimal max = i + 1 < boundsCents.length ? PRICE_BUCKET_BOUNDS.get(i + 1) : null;
+            priceBuckets.add(new ComponentFacetsResponse.PriceBucketCount(PRICE_BUCKET_BOUNDS.get(i), max, counts.priceBuckets()[i]));
+        }
+
+        return new ComponentFacetsResponse(
+                counts.total(),
+                toFacetValueCounts(counts.values().get(Facet.TYPE)),
+                toFacetValueCounts(counts.values().get(Facet.BRAND)),
+                toFacetValueCounts(counts.values().get(Facet.SOCKET)),
+                toFacetValueCounts(counts.values().get(Facet.RAM_TYPE)),
+                toFacetValueCounts(counts.values().get(Facet.FORM_FACTOR)),
+                priceBuckets
+        );
     }
 
     public List<ComponentResponse> getComponentsInStock(Integer minQuantity) {
-        return componentRepository.findByStockQuantityGreaterThan(minQuantity != null ? minQuantity : 0)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return componentCatalog.current().inStock(minQuantity != null ? minQuantity : 0);
+    }
+
+    /**
+     * Orders facet values by descending count, then by value.
+     */
+    private static List<ComponentFacetsResponse.FacetValueCount> toFacetValueCounts(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(e -> new ComponentFacetsResponse.FacetValueCount(e.getKey(), e.getValue()))
+                .toList();
     }
 
     /**
      * Converts Component entity to ComponentResponse DTO.
      */
     private ComponentResponse toResponse(Component component) {
-        return new ComponentResponse(
-                component.getId(),
-                component.getName(),
-                component.getBrand(),
-                component.getType(),
-                component.getCompatibilityTag(),
-                component.getPrice(),
-                component.getStockQuantity(),
-                component.getSocket(),
-                component.getRamType(),
-                component.getWattage(),
-                component.getFormFactor(),
-                component.getGpuLengthMm(),
-                component.getCoolerHeightMm(),
-                component.getPsuFormFactor(),
-                component.getPciSlotsRequired(),
-                component.getExtraCompatibility(),
-                component.getMetadata(),
-                component.getCreatedAt(),
-                component.getUpdatedAt()
-        );
+        return ComponentResponse.fromEntity(component);
     }
 
     /**
@@ -4,6 +4,8 @@ import com.rigarchitect.model.GuestSession;
 import com.rigarchitect.repository.GuestBuildRepository;
 import com.rigarchitect.repository.GuestSessionRepository;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +19,8 @@ import java.util.Optional;
 @Service
 public class GuestSessionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GuestSessionService.class);
+
     private final GuestSessionRepository guestSessionRepository;
     private final GuestBuildRepository guestBuildRepository;
 
@@ -137,7 +141,7 @@ public class GuestSessionService {
         int deletedSessions = guestSessionRepository.deleteExpiredSessions(now);
         
         if (deletedBuilds > 0 || deletedSessions > 0) {
-            System.out.println("Cleaned up " + deletedBuilds + " expired guest builds and " + deletedSessions + " expired guest sessions");
+            logger.info("Cleaned up {} expired guest builds and {} expired guest sessions", deletedBuilds, deletedSessions);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.buildcart.UpgradeSuggestionResponse;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.service.build.ComponentScores;
+import com.rigarchitect.service.catalog.CompatibilityIndex;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Service suggesting single-component upgrades for a cart, ranked by performance score gained per extra dollar.
+ * For every cart line, the compatibility index walks the line's type from the best score down to the current
+ * component's score, keeping only components compatible with the rest of the cart; candidates are then checked
+ * against power, stock and the user's remaining budget, and the best ones across all lines are kept in a
+ * bounded heap.
+ */
+@Service
+public class UpgradeService {
+
+    /** Most suggestions returned for one request. */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    /**
+     * Replacements that cost nothing extra come first, by gain; the rest by gain per dollar, then by gain.
+     * Ratios are compared by cross-multiplying to stay exact.
+     */
+    private static final Comparator<Upgrade> BEST_FIRST = Comparator
+            .comparing((Upgrade u) -> u.extraCents > 0)
+            .thenComparing((a, b) -> a.extraCents <= 0 ? Long.compare(b.gain, a.gain)
+                    : Long.compare(b.gain * a.extraCents, a.gain * b.extraCents))
+            .thenComparing(Comparator.comparingLong(Upgrade::gain).reversed())
+            .thenComparing(u -> u.replacement.id());
+
+    private final BuildCartRepository buildCartRepository;
+    private final CompatibilityService compatibilityService;
+    private final CompatibilityIndex compatibilityIndex;
+    private final CompatibilityRuleService compatibilityRuleService;
+
+    /**
+     * Constructor with repository, compatibility service, index and rule dependencies.
+     */
+    public UpgradeService(BuildCartRepository buildCartRepository,
+                          CompatibilityService compatibilityService,
+                          CompatibilityIndex compatibilityIndex,
+                          CompatibilityRuleService compatibilityRuleService) {
+        this.buildCartRepository = buildCartRepository;
+        this.compatibilityService = compatibilityService;
+        this.compatibilityIndex = compatibilityIndex;
+        this.compatibilityRuleService = compatibilityRuleService;
+    }
+
+    /**
+     * Gets the best single-component upgrades for a cart, or empty if the cart does not exist.
+     */
+    public Optional<List<UpgradeSuggestionResponse>> getUpgrades(Long cartId, int limit) {
+        if (!buildCartRepository.existsById(cartId)) {
+            return Optional.empty();
+        }
+        int wanted = Math.min(Math.max(1, limit), MAX_SUGGESTIONS);
+        List<BuildPart> parts = compatibilityService.getCartParts(cartId);
+
+        long spent = parts.stream()
+                .mapToLong(part -> ComponentScores.cents(part.component().price()) * part.quantity())
+                .sum();
+        long allowance = buildCartRepository.findUserBudgetById(cartId)
+                .map(budget -> Math.max(0, ComponentScores.cents(budget) - spent))
+                .orElse(Long.MAX_VALUE);
+
+        // Worst suggestion on top, so it is the one dropped once the heap is full
+        PriorityQueue<Upgrade> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        RuleSet rules = compatibilityRuleService.current();
+        for (int i = 0; i < parts.size(); i++) {
+            BuildPart line = parts.get(i);
+            List<BuildPart> rest = new ArrayList<>(parts);
+            rest.remove(i);
+            collect(line, rest, rules, allowance, wanted, best);
+        }
+
+        List<Upgrade> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        return Optional.of(ranked.stream().map(Upgrade::toResponse).toList());
+    }
+
+    private void collect(BuildPart line, List<BuildPart> rest, RuleSet rules, long allowance, int wanted,
+                         PriorityQueue<Upgrade> best) {
+        ComponentResponse current = line.component();
+        int quantity = line.quantity();
+        long currentScore = ComponentScores.performanceScore(current);
+        long currentCents = ComponentScores.cents(current.price());
+
+        int restDraw = CompatibilityRules.estimatedDraw(rest);
+        Integer restCapacity = CompatibilityRules.psuCapacity(rest);
+
+        for (ComponentResponse candidate : compatibilityIndex.compatibleScoringAbove(rest, current.type(), currentScore)) {
+            long extra = (ComponentScores.cents(candidate.price()) - currentCents) * quantity;
+            if (extra > allowance || candidate.stockQuantity() == null || candidate.stockQuantity() < quantity
+                    || !powered(candidate, quantity, restDraw, restCapacity) || !rules.allows(rest, candidate)) {
+                continue;
+            }
+            Upgrade upgrade = new Upgrade(current, candidate, quantity,
+                    (ComponentScores.performanceScore(candidate) - currentScore) * quantity, extra);
+            if (best.size() < wanted) {
+                best.add(upgrade);
+            } else if (BEST_FIRST.compare(upgrade, best.peek()) < 0) {
+                best.poll();
+                best.add(upgrade);
+            }
+        }
+    }
+
+    /**
+     * Checks the power budget with every unit of the line swapped; the index only checks a single unit.
+     */
+    private static boolean powered(ComponentResponse candidate, int quantity, int restDraw, Integer restCapacity) {
+        Integer unitDraw = CompatibilityRules.unitDraw(candidate);
+        long draw = restDraw + (unitDraw != null ? (long) unitDraw * quantity : 0);
+        boolean rated = candidate.type() == ComponentType.PSU && candidate.wattage() != null;
+        if (restCapacity == null && !rated) {
+            return true;
+        }
+        long capacity = (restCapacity != null ? restCapacity : 0) + (long) CompatibilityRules.unitCapacity(candidate) * quantity;
+        return draw <= capacity;
+    }
+
+    private record Upgrade(ComponentResponse replaced, ComponentResponse replacement, int quantity,
+                           long gain, long extraCents) {
+
+        UpgradeSuggestionResponse toResponse() {
+            Double perDollar = extraCents > 0
+                    ? BigDecimal.valueOf(gain * 100).divide(BigDecimal.valueOf(extraCents), 2, RoundingMode.HALF_UP).doubleValue()
+                    : null;
+            return new UpgradeSuggestionResponse(replaced.id(), replaced.name(), replacement, quantity, gain,
+                    BigDecimal.valueOf(extraCents, 2), perDollar);
+        }
+    }
+}
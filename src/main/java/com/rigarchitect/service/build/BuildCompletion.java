@@ -0,0 +1,644 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.BuildViolation;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.PairSignature;
+import com.rigarchitect.service.compatibility.RuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Dynamic programming over component types for completing a partial build with one component per missing type:
+ * the cheapest compatible completion, and the number of compatible completions under a price cap.
+ * <p>
+ * Missing types are filled one stage at a time, most constraining types first, with the power supply early so the
+ * power balance is known as soon as possible. The state after a stage is all that later stages can still observe:
+ * the {@link PairSignature} of every chosen component that a rule relates to a type still to fill, and the power
+ * balance, i.e. power supply capacity minus estimated draw so far, capped at what the remaining stages can still draw.
+ * Partial builds that reach the same state are merged, so the work grows with the number of distinct states rather
+ * than with the number of combinations. Candidates are grouped by signature and power, so a state checks each group
+ * once. The rule-language rules can read any field, so at a stage a configured rule relates to another stage, or when
+ * any candidate carries rules of its own, each candidate is its own signature and is checked against the rules.
+ * <p>
+ * The cheapest completion is exact: a state is dropped only when another with the same signatures is no more
+ * expensive and has at least its balance, since every completion of the one also completes the other.
+ * <p>
+ * Counting keeps a histogram of partial builds by price per state, with prices rounded up to the bin width and
+ * draws rounded up to {@link #COUNT_WATT_STEP}, and only counts completions that fit with that rounding: the count
+ * never includes a build over the cap or over its power supply, but may miss builds within a bin of either limit, in
+ * which case the count is reported as rounded. Counts saturate at Long.MAX_VALUE. On catalogs large enough to exceed
+ * the state budget of a stage, further states are dropped and the count is reported as a lower bound.
+ */
+public final class BuildCompletion {
+
+    /** Types in the order they are filled; types not listed are filled last. */
+    private static final List<ComponentType> ORDER = List.of(ComponentType.Case, ComponentType.PSU,
+            ComponentType.Motherboard, ComponentType.CPU, ComponentType.RAM, ComponentType.Cooler, ComponentType.GPU,
+            ComponentType.SSD, ComponentType.HDD);
+
+    /** Upper bound on the price bins of a counting histogram; the bin width grows with the cap to stay under it. */
+    private static final int MAX_PRICE_BINS = 128;
+
+    /** Upper bound on the counting states kept after a stage, so that memory stays bounded on large catalogs. */
+    private static final int MAX_COUNT_STATES = 20_000;
+
+    /** Smallest price bin width in cents. */
+    private static final long MIN_BIN_CENTS = 100;
+
+    /** Watts per power step when counting. */
+    static final int COUNT_WATT_STEP = 10;
+
+    private static final Comparator<ComponentResponse> CHEAPEST = Comparator
+            .comparingLong((ComponentResponse c) -> ComponentScores.cents(c.price()))
+            .thenComparing(ComponentResponse::id);
+
+    private final List<BuildPart> fixed;
+    /** Whether the fixed parts are compatible with each other; if not, no completion exists. */
+    private final boolean fixedCompatible;
+    private final ComponentType[] stages;
+    private final List<List<ComponentResponse>> candidates;
+    private final RuleSet rules;
+    /** Whether any candidate carries rules of its own, which may relate it to any other stage. */
+    private final boolean carried;
+    /** Whether the candidates of a stage are told apart by ID rather than by pair signature, for the rules. */
+    private final boolean[] distinct;
+    /** Index of each distinct signature among the candidates of a stage. */
+    private final List<Map<Object, Integer>> signatureIds = new ArrayList<>();
+    /** A candidate with each indexed signature, by stage. */
+    private final List<List<ComponentResponse>> signatureHolders = new ArrayList<>();
+    /** Whether the component chosen at stage j still constrains a later stage after stage i: {@code open[i][j]}. */
+    private final boolean[][] open;
+    /** Whether a power supply stage comes after stage i, i.e. whether the build's capacity can still grow. */
+    private final boolean[] psuAfter;
+    /** Most the stages after stage i can draw together, in watts: {@code drawAfter[i]}. */
+    private final int[] drawAfter;
+    /** The same in counting power steps. */
+    private final int[] drawStepsAfter;
+
+    private BuildCompletion(List<BuildPart> fixed, ComponentType[] stages, List<List<ComponentResponse>> candidates,
+                            RuleSet rules) {
+        this.fixed = fixed;
+        this.stages = stages;
+        this.rules = rules;
+        boolean compatible = true;
+        for (int i = 0; i < fixed.size() && compatible; i++) {
+            for (int j = 0; j < i && compatible; j++) {
+                compatible = CompatibilityRules.compatible(fixed.get(i).component(), fixed.get(j).component());
+            }
+        }
+        List<BuildViolation> violations = new ArrayList<>();
+        rules.collectViolations(fixed, violations);
+        this.fixedCompatible = compatible && violations.isEmpty();
+        this.candidates = candidates;
+        int n = stages.length;
+        carried = candidates.stream().flatMap(List::stream).anyMatch(rules::carriesRules);
+        distinct = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < n && !distinct[i]; k++) {
+                distinct[i] = k != i && ruled(i, k);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            Map<Object, Integer> ids = new HashMap<>();
+            List<ComponentResponse> holders = new ArrayList<>();
+            for (ComponentResponse candidate : candidates.get(i)) {
+                if (ids.putIfAbsent(signatureOf(i, candidate), holders.size()) == null) {
+                    holders.add(candidate);
+                }
+            }
+            signatureIds.add(ids);
+            signatureHolders.add(holders);
+        }
+        open = new boolean[n][n];
+        psuAfter = new boolean[n];
+        drawAfter = new int[n];
+        drawStepsAfter = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                for (int k = i + 1; k < n && !open[i][j]; k++) {
+                    open[i][j] = related(j, k);
+                }
+            }
+            for (int k = i + 1; k < n; k++) {
+                psuAfter[i] |= stages[k] == ComponentType.PSU;
+                int most = 0;
+                for (ComponentResponse candidate : candidates.get(k)) {
+                    most = Math.max(most, drawOf(candidate));
+                }
+                drawAfter[i] += most;
+                drawStepsAfter[i] += ceilDiv(most, COUNT_WATT_STEP);
+            }
+        }
+    }
+
+    /**
+     * Prepares the completion of a partial build.
+     *
+     * @param fixed      the parts already in the build
+     * @param candidates the candidates of each missing type, already compatible with the fixed parts under both the
+     *                   built-in and the configured rules
+     * @param rules      the rule-language rules the completion must also pass
+     */
+    public static BuildCompletion of(List<BuildPart> fixed, Map<ComponentType, List<ComponentResponse>> candidates,
+                                     RuleSet rules) {
+        ComponentType[] stages = candidates.keySet().stream()
+                .sorted(Comparator.comparingInt(type -> ORDER.contains(type) ? ORDER.indexOf(type) : ORDER.size()))
+                .toArray(ComponentType[]::new);
+        List<List<ComponentResponse>> ordered = new ArrayList<>();
+        for (ComponentType type : stages) {
+            ordered.add(candidates.get(type));
+        }
+        return new BuildCompletion(List.copyOf(fixed), stages, ordered, rules);
+    }
+
+    /**
+     * Finds the cheapest compatible completion, exactly.
+     */
+    public Cheapest cheapest() {
+        if (!fixedCompatible) {
+            return new Cheapest(false, List.of(), 0, 0);
+        }
+        Tuples tuples = new Tuples();
+        Map<Key, Partial> states = new HashMap<>();
+        Integer capacity = CompatibilityRules.psuCapacity(fixed);
+        int balance = (capacity != null ? capacity : 0) - CompatibilityRules.estimatedDraw(fixed);
+        states.put(new Key(0, capacity != null, balance), new Partial(0, null));
+        int visited = 1;
+
+        for (int stage = 0; stage < stages.length; stage++) {
+            Map<Key, Partial> next = new LinkedHashMap<>();
+            List<Group> groups = groups(stage, 1, Long.MAX_VALUE, 1, true);
+            for (Map.Entry<Key, Partial> entry : states.entrySet()) {
+                Key key = entry.getKey();
+                Partial partial = entry.getValue();
+                for (Group group : groups) {
+                    Key reached = advance(tuples, key, stage, group, drawAfter);
+                    if (reached == null) {
+                        continue;
+                    }
+                    long price = partial.priceCents() + ComponentScores.cents(group.representative().price());
+                    Partial current = next.get(reached);
+                    if (current == null || price < current.priceCents()) {
+                        next.put(reached, new Partial(price, new Step(group.representative(), partial.path())));
+                    }
+                }
+            }
+            states = frontier(next);
+            visited += states.size();
+        }
+
+        Partial best = null;
+        for (Map.Entry<Key, Partial> entry : states.entrySet()) {
+            if (powered(entry.getKey()) && (best == null || entry.getValue().priceCents() < best.priceCents())) {
+                best = entry.getValue();
+            }
+        }
+        if (best == null) {
+            return new Cheapest(false, List.of(), 0, visited);
+        }
+        List<ComponentResponse> components = new ArrayList<>();
+        for (Step step = best.path(); step != null; step = step.previous()) {
+            components.add(0, step.component());
+        }
+        return new Cheapest(true, components, best.priceCents(), visited);
+    }
+
+    /**
+     * Counts the compatible completions whose price, added to the fixed parts, is at most the cap.
+     *
+     * @param capCents cap on the price of the whole build in cents, or null for no cap
+     */
+    public Count count(Long capCents) {
+        long fixedCents = 0;
+        for (BuildPart part : fixed) {
+            fixedCents += ComponentScores.cents(part.component().price()) * part.quantity();
+        }
+        long allowance = capCents != null ? capCents - fixedCents : Long.MAX_VALUE;
+        if (allowance < 0 || !fixedCompatible) {
+            return new Count(0, false, false, false, 0, 0);
+        }
+        long binCents = capCents != null ? Math.max(MIN_BIN_CENTS, ceilDiv(allowance, MAX_PRICE_BINS)) : Long.MAX_VALUE;
+        int bins = capCents != null ? (int) (allowance / binCents) + 1 : 1;
+        boolean binnedPrices = capCents != null && candidates.stream().flatMap(List::stream)
+                .anyMatch(candidate -> ComponentScores.cents(candidate.price()) % binCents != 0);
+        boolean rounded = false;
+
+        Tuples tuples = new Tuples();
+        Map<Key, long[]> states = new HashMap<>();
+        Integer capacity = CompatibilityRules.psuCapacity(fixed);
+        int balance = (capacity != null ? Math.floorDiv(capacity, COUNT_WATT_STEP) : 0)
+                - ceilDiv(CompatibilityRules.estimatedDraw(fixed), COUNT_WATT_STEP);
+        long[] start = new long[bins];
+        start[0] = 1;
+        states.put(new Key(0, capacity != null, balance), start);
+        int visited = 1;
+        boolean truncated = false;
+
+        for (int stage = 0; stage < stages.length; stage++) {
+            Map<Key, long[]> next = new LinkedHashMap<>();
+            List<Group> groups = groups(stage, COUNT_WATT_STEP, binCents, bins, false);
+            // Each member's price is rounded up by less than a bin, so a partial build left out past the cap
+            // may really fit if its bin is under the cap's by less than the number of members so far
+            int nearBins = bins + stage + 1;
+            long firstDroppedBin = candidates.get(stage).stream()
+                    .mapToLong(candidate -> binOf(candidate, binCents))
+                    .filter(bin -> bin >= bins)
+                    .min().orElse(Long.MAX_VALUE);
+            for (Map.Entry<Key, long[]> entry : states.entrySet()) {
+                Key key = entry.getKey();
+                long[] counts = entry.getValue();
+                int firstBin = firstNonZero(counts);
+                int lastBin = lastNonZero(counts);
+                rounded |= binnedPrices && firstBin + firstDroppedBin < nearBins;
+                // Groups leading to the same state are pooled, so the state's histogram is convolved once per state
+                Map<Key, long[]> pooled = new LinkedHashMap<>();
+                for (Group group : groups) {
+                    long lowestBin = firstBin + binOf(group.representative(), binCents);
+                    if (lowestBin >= bins) {
+                        rounded |= binnedPrices && lowestBin < nearBins;
+                        continue;
+                    }
+                    Key reached = advance(tuples, key, stage, group, drawStepsAfter);
+                    if (reached == null) {
+                        rounded |= nearPowerLimit(tuples, key, stage, group);
+                        continue;
+                    }
+                    long[] members = pooled.computeIfAbsent(reached, k -> new long[bins]);
+                    for (int bin : group.occupied()) {
+                        members[bin] += group.members()[bin];
+                    }
+                }
+                for (Map.Entry<Key, long[]> reached : pooled.entrySet()) {
+                    long[] target = next.get(reached.getKey());
+                    if (target == null) {
+                        if (next.size() >= MAX_COUNT_STATES) {
+                            truncated = true;
+                            continue;
+                        }
+                        target = new long[bins];
+                        next.put(reached.getKey(), target);
+                    }
+                    rounded |= convolve(counts, lastBin, reached.getValue(), target, nearBins) && binnedPrices;
+                }
+            }
+            states = next;
+            visited += states.size();
+        }
+
+        long total = 0;
+        for (Map.Entry<Key, long[]> entry : states.entrySet()) {
+            if (powered(entry.getKey())) {
+                for (long count : entry.getValue()) {
+                    total = saturatedAdd(total, count);
+                }
+            } else {
+                rounded |= entry.getKey().balance() >= -(stages.length + 2);
+            }
+        }
+        return new Count(total, total == Long.MAX_VALUE, truncated, rounded, capCents != null ? binCents : 0, visited);
+    }
+
+    /**
+     * Drops the states that another state with the same signatures beats on both price and power balance.
+     */
+    private static Map<Key, Partial> frontier(Map<Key, Partial> states) {
+        Map<Key, List<Map.Entry<Key, Partial>>> bySignatures = new LinkedHashMap<>();
+        for (Map.Entry<Key, Partial> entry : states.entrySet()) {
+            Key signatures = new Key(entry.getKey().open(), entry.getKey().rated(), 0);
+            bySignatures.computeIfAbsent(signatures, k -> new ArrayList<>()).add(entry);
+        }
+        Map<Key, Partial> kept = new LinkedHashMap<>();
+        for (List<Map.Entry<Key, Partial>> entries : bySignatures.values()) {
+            entries.sort((a, b) -> Integer.compare(b.getKey().balance(), a.getKey().balance()));
+            long cheapest = Long.MAX_VALUE;
+            for (Map.Entry<Key, Partial> entry : entries) {
+                if (entry.getValue().priceCents() < cheapest) {
+                    kept.put(entry.getKey(), entry.getValue());
+                    cheapest = entry.getValue().priceCents();
+                }
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Groups the candidates of a stage by signature and power at the given resolution. Each group keeps its
+     * cheapest member as representative and, for counting, how many members fall in each price bin; members that fall
+     * past the last bin are left out.
+     *
+     * @param dominantOnly whether to leave out groups that a cheaper group with the same signature beats on power
+     */
+    private List<Group> groups(int stage, int wattStep, long binCents, int bins, boolean dominantOnly) {
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        Map<GroupKey, Integer> bestPower = new HashMap<>();
+        List<ComponentResponse> sorted = new ArrayList<>(candidates.get(stage));
+        sorted.sort(CHEAPEST);
+        for (ComponentResponse candidate : sorted) {
+            long bin = binOf(candidate, binCents);
+            if (bin >= bins) {
+                break;
+            }
+            boolean rated = candidate.type() == ComponentType.PSU && candidate.wattage() != null;
+            int power = rated ? Math.floorDiv(CompatibilityRules.unitCapacity(candidate), wattStep)
+                    : -ceilDiv(drawOf(candidate), wattStep);
+            GroupKey key = new GroupKey(signatureOf(stage, candidate), power, rated);
+            if (dominantOnly) {
+                GroupKey signature = new GroupKey(key.signature(), 0, rated);
+                Integer best = bestPower.get(signature);
+                if (best != null && best >= power) {
+                    continue;
+                }
+                bestPower.put(signature, power);
+            }
+            int signature = signatureIds.get(stage).get(key.signature());
+            Group group = groups.computeIfAbsent(key,
+                    k -> new Group(candidate, signature, power, rated, new long[bins], null));
+            group.members()[(int) bin]++;
+        }
+        List<Group> packed = new ArrayList<>();
+        for (Group group : groups.values()) {
+            int[] occupied = IntStream.range(0, bins).filter(bin -> group.members()[bin] != 0).toArray();
+            packed.add(new Group(group.representative(), group.signature(), group.power(), group.rated(),
+                    group.members(), occupied));
+        }
+        return packed;
+    }
+
+    /**
+     * Gets the state after adding a group's component at a stage, or null if its power can no longer be covered.
+     *
+     * @param drawAfter most the stages after each stage can draw, at the resolution of the balance
+     */
+    private Key advance(Tuples tuples, Key key, int stage, Group group, int[] drawAfter) {
+        int tuple = tuples.next(key.open(), stage, group);
+        if (tuple < 0) {
+            return null;
+        }
+        boolean rated = key.rated() || group.rated();
+        int balance = key.balance() + group.power();
+        if (!psuAfter[stage]) {
+            if (rated && balance < 0) {
+                return null;
+            }
+            // Past the last power supply, balance beyond what is left to draw no longer matters,
+            // and without any power supply no balance does
+            balance = rated ? Math.min(balance, drawAfter[stage]) : 0;
+        }
+        return new Key(tuple, rated, balance);
+    }
+
+    /**
+     * Checks whether a group left out of a counting state for overdrawing its power supply may really fit. Capacity
+     * is rounded down and draws up by less than a power step each, once for the fixed parts and once per member.
+     */
+    private boolean nearPowerLimit(Tuples tuples, Key key, int stage, Group group) {
+        if (psuAfter[stage] || tuples.next(key.open(), stage, group) < 0) {
+            return false;
+        }
+        int balance = key.balance() + group.power();
+        return (key.rated() || group.rated()) && balance < 0 && balance >= -(stage + 3);
+    }
+
+    private static boolean powered(Key key) {
+        return !key.rated() || key.balance() >= 0;
+    }
+
+    /**
+     * Gets what tells a stage's candidates apart for the rules: the candidate's ID at a distinct stage,
+     * else its pair signature.
+     */
+    private Object signatureOf(int stage, ComponentResponse component) {
+        return distinct[stage] ? component.id() : PairSignature.of(component);
+    }
+
+    /**
+     * Checks whether a built-in or rule-language rule can relate the candidates of two stages.
+     */
+    private boolean related(int stage, int otherStage) {
+        return CompatibilityRules.related(stages[stage], stages[otherStage]) || ruled(stage, otherStage);
+    }
+
+    /**
+     * Checks whether a rule-language rule can relate the candidates of two stages.
+     */
+    private boolean ruled(int stage, int otherStage) {
+        return carried || rules.relates(stages[stage], stages[otherStage]);
+    }
+
+    private static int drawOf(ComponentResponse component) {
+        Integer draw = CompatibilityRules.unitDraw(component);
+        return draw != null ? draw : 0;
+    }
+
+    /**
+     * Adds every partial build in {@code counts} extended by every member of a group to {@code target}, by price bin.
+     *
+     * @return whether a partial build past the last bin was left out from a bin under {@code nearBins}
+     */
+    private static boolean convolve(long[] counts, int lastBin, long[] members, long[] target, int nearBins) {
+        boolean near = false;
+        for (int shift = 0; shift < members.length; shift++) {
+            if (members[shift] == 0) {
+                continue;
+            }
+            for (int bin = 0; bin <= lastBin && bin + shift < target.length; bin++) {
+                if (counts[bin] != 0) {
+                    int to = bin + shift;
+                    target[to] = saturatedAdd(target[to], saturatedMultiply(counts[bin], members[shift]));
+                }
+            }
+            for (int bin = Math.max(0, target.length - shift); bin <= lastBin && bin + shift < nearBins; bin++) {
+                near |= counts[bin] != 0;
+            }
+        }
+        return near;
+    }
+
+    private static long binOf(ComponentResponse component, long binCents) {
+        return binCents == Long.MAX_VALUE ? 0 : ceilDiv(ComponentScores.cents(component.price()), binCents);
+    }
+
+    private static int firstNonZero(long[] counts) {
+        int first = 0;
+        while (first < counts.length && counts[first] == 0) {
+            first++;
+        }
+        return first;
+    }
+
+    private static int lastNonZero(long[] counts) {
+        int last = counts.length - 1;
+        while (last >= 0 && counts[last] == 0) {
+            last--;
+        }
+        return last;
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        return high != 0 || product < 0 ? Long.MAX_VALUE : product;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Interns the tuples of open signatures, by stage with null where closed, reached in one run, and remembers which
+     * tuple adding a group's component leads to. States then hash as a few ints, each tuple checks each signature
+     * once, and each pair of signatures is checked for compatibility once.
+     */
+    private final class Tuples {
+
+        private static final int UNKNOWN = -2;
+
+        private final Map<List<Object>, Integer> ids = new HashMap<>();
+        private final List<List<Object>> tuples = new ArrayList<>();
+        /** Signature indexes chosen at each stage by the first partial build that reached each tuple. */
+        private final List<int[]> chosen = new ArrayList<>();
+        /** Tuple reached from each tuple by each signature index of its stage, -1 if none, UNKNOWN until checked. */
+        private final List<int[]> transitions = new ArrayList<>();
+        /** Whether two signatures are compatible, by pair of stages and then by pair of indexes. */
+        private final List<Map<Long, Boolean>> compatibility = new ArrayList<>();
+
+        Tuples() {
+            for (int pair = 0; pair < stages.length * stages.length; pair++) {
+                compatibility.add(new HashMap<>());
+            }
+            intern(List.of(), new int[0]);
+        }
+
+        /**
+         * Gets the tuple after adding a group's component at a stage, or -1 if it breaks a rule with a chosen one.
+         */
+        int next(int tuple, int stage, Group group) {
+            int[] known = transitions.get(tuple);
+            if (known.length <= group.signature()) {
+                int length = known.length;
+                known = Arrays.copyOf(known, Math.max(group.signature() + 1, length * 2));
+                Arrays.fill(known, length, known.length, UNKNOWN);
+                transitions.set(tuple, known);
+            }
+            if (known[group.signature()] == UNKNOWN) {
+                int[] signatures = chosen.get(tuple);
+                known[group.signature()] = fits(signatures, stage, group.signature())
+                        ? extend(tuple, signatures, stage, group) : -1;
+            }
+            return known[group.signature()];
+        }
+
+        /**
+         * Checks a signature against those chosen at the stages that have a rule with its stage; those are always
+         * open in the tuple, so every partial build reaching it would give the same answer.
+         */
+        private boolean fits(int[] signatures, int stage, int signature) {
+            for (int j = 0; j < stage; j++) {
+                if (related(j, stage) && !compatible(j, signatures[j], stage, signature)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean compatible(int stage, int signature, int laterStage, int laterSignature) {
+            long pair = (long) signature * signatureHolders.get(laterStage).size() + laterSignature;
+            return compatibility.get(stage * stages.length + laterStage).computeIfAbsent(pair, k -> {
+                ComponentResponse x = signatureHolders.get(stage).get(signature);
+                ComponentResponse y = signatureHolders.get(laterStage).get(laterSignature);
+                return CompatibilityRules.compatible(x, y) && rules.allows(x, y);
+            });
+        }
+
+        private int extend(int tuple, int[] chosenSignatures, int stage, Group group) {
+            Object[] signatures = new Object[stage + 1];
+            for (int j = 0; j < stage; j++) {
+                signatures[j] = open[stage][j] ? tuples.get(tuple).get(j) : null;
+            }
+            signatures[stage] = open[stage][stage] ? signatureOf(stage, group.representative()) : null;
+            int[] extended = Arrays.copyOf(chosenSignatures, stage + 1);
+            extended[stage] = group.signature();
+            return intern(Arrays.asList(signatures), extended);
+        }
+
+        private int intern(List<Object> tuple, int[] chosenSignatures) {
+            Integer id = ids.get(tuple);
+            if (id == null) {
+                id = tuples.size();
+                ids.put(tuple, id);
+                tuples.add(tuple);
+                chosen.add(chosenSignatures);
+                transitions.add(new int[0]);
+            }
+            return id;
+        }
+    }
+
+    /** DP state: the interned tuple of open signatures, whether any power supply is rated, and the balance. */
+    private record Key(int open, boolean rated, int balance) {
+
+        /**
+         * Mixes the fields; balances span far more than 31 values, so the default record hash collides across tuples.
+         */
+        @Override
+        public int hashCode() {
+            return (open * 0x9E3779B1) ^ (balance * 0x85EBCA77) ^ (rated ? 1 : 0);
+        }
+    }
+
+    private record GroupKey(Object signature, int power, boolean rated) {}
+
+    /**
+     * Candidates of a stage that are interchangeable for every rule, with the index of their signature among the
+     * stage's, their power contribution (capacity for rated power supplies, negative draw otherwise) and member count
+     * by price bin, with the bins that have any.
+     */
+    private record Group(ComponentResponse representative, int signature, int power, boolean rated,
+                         long[] members, int[] occupied) {}
+
+    /** Reverse linked list of the components chosen so far. */
+    private record Step(ComponentResponse component, Step previous) {}
+
+    /** Cheapest partial build reaching a state. */
+    private record Partial(long priceCents, Step path) {}
+
+    /**
+     * Cheapest completion; no components if none exists or the build is already complete.
+     *
+     * @param found  whether the build can be completed
+     * @param states number of DP states visited
+     */
+    public record Cheapest(boolean found, List<ComponentResponse> components, long priceCents, int states) {}
+
+    /**
+     * Number of completions under the cap.
+     *
+     * @param saturated whether the count reached Long.MAX_VALUE and stopped growing
+     * @param truncated whether states were dropped to stay within the state budget, making the count a lower bound
+     * @param rounded   whether builds within a bin of the cap or a power step of their power supply may have been left
+     *                  out, making the count a lower bound
+     * @param binCents  width of the price bins in cents, or 0 without a cap
+     * @param states    number of DP states visited
+     */
+    public record Count(long completions, boolean saturated, boolean truncated, boolean rounded, long binCents,
+                        int states) {}
+}
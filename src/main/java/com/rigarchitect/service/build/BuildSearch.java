@@ -0,0 +1,646 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.ComponentSpecs;
+import com.rigarchitect.service.compatibility.RuleSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Branch-and-bound search for the highest scoring compatible build that fits a budget.
+ * <p>
+ * Every open component type is a slot with a list of candidates. Before searching, candidates that do not fit
+ * the pinned components or the budget are dropped, and among candidates that differ at most in size only the
+ * Pareto-optimal ones on price, score, power and room left are kept: a build using a dominated candidate is
+ * matched or beaten by swapping in the candidate that dominates it. The rule-language rules can read any field, so
+ * candidates of a type they constrain are all kept, and pairs of candidates are checked against them one by one.
+ * <p>
+ * Slots are searched most constrained first, and candidates best score first. Choosing a candidate narrows the
+ * candidates of every later slot it has a rule with to the compatible ones, and a branch is cut as soon as a
+ * slot runs empty, its cheapest completion exceeds the budget, its best possible score cannot beat the best build
+ * found so far, or its power supply cannot carry the cheapest remaining draw.
+ * <p>
+ * The first levels fork one task per candidate on a ForkJoinPool; all tasks prune against the same best build.
+ * A search is single use and stops at its deadline, reporting the best build found until then as incomplete.
+ */
+public final class BuildSearch {
+
+    /** Levels at which every candidate becomes its own task; deeper levels run inside that task. */
+    private static final int FORK_DEPTH = 2;
+
+    /** Nodes a task visits between two deadline checks. */
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private static final Comparator<Candidate> BY_SCORE = Comparator.comparingLong(Candidate::score).reversed()
+            .thenComparingLong(Candidate::price)
+            .thenComparing(c -> c.component().id());
+
+    private static final Comparator<Candidate> BY_PRICE = Comparator.comparingLong(Candidate::price)
+            .thenComparing(Comparator.comparingLong(Candidate::score).reversed())
+            .thenComparingInt(Candidate::draw)
+            .thenComparing(Comparator.comparingLong(Candidate::effectiveCapacity).reversed())
+            .thenComparing(c -> c.component().id());
+
+    private final List<ComponentResponse> pinned;
+    private final Slot[] slots;
+    private final PairFit[][] fits;
+    private final long budget;
+    private final State root;
+    /** Whether a power supply slot is at or after each depth, i.e. whether the build's capacity can still grow. */
+    private final boolean[] psuAhead;
+
+    private final AtomicReference<Incumbent> best = new AtomicReference<>();
+    private final LongAdder nodes = new LongAdder();
+    private volatile boolean stopped;
+    private long deadline;
+
+    private BuildSearch(List<ComponentResponse> pinned, Slot[] slots, long budget, State root, RuleSet rules) {
+        this.pinned = pinned;
+        this.slots = slots;
+        this.budget = budget;
+        this.root = root;
+
+        fits = new PairFit[slots.length][slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            for (int j = i + 1; j < slots.length; j++) {
+                boolean related = CompatibilityRules.related(slots[i].type, slots[j].type);
+                boolean ruled = rules.constrains(slots[i].type, slots[j].type);
+                if (related || ruled) {
+                    fits[i][j] = new PairFit(slots[i], slots[j], related, ruled ? rules : null);
+                }
+            }
+        }
+        psuAhead = new boolean[slots.length + 1];
+        for (int i = slots.length - 1; i >= 0; i--) {
+            psuAhead[i] = psuAhead[i + 1] || slots[i].type == ComponentType.PSU;
+        }
+    }
+
+    /**
+     * Prepares a search filling one component of every type in {@code candidates} next to the pinned components.
+     *
+     * @param pinned      components the build must contain, in any number and of any type
+     * @param candidates  components to choose from per open type
+     * @param budgetCents the most the whole build may cost, pinned components included, in cents
+     * @param rules       the rule-language rules the build must also pass
+     */
+    public static BuildSearch of(List<ComponentResponse> pinned, Map<ComponentType, List<ComponentResponse>> candidates,
+                                 long budgetCents, RuleSet rules) {
+        State base = new State(new int[candidates.size()], null, null, null, 0, 0, 0, 0, false);
+        for (ComponentResponse component : pinned) {
+            Candidate c = Candidate.of(component);
+            base = base.with(-1, -1, c.price, c.score, c.draw, c.capacity, c.rated);
+        }
+
+        // A candidate can cost at most what is left once every other open type gets its cheapest component
+        Map<ComponentType, Long> cheapest = new HashMap<>();
+        long cheapestSum = 0;
+        for (Map.Entry<ComponentType, List<ComponentResponse>> entry : candidates.entrySet()) {
+            long min = entry.getValue().stream().mapToLong(c -> ComponentScores.cents(c.price())).min().orElse(0);
+            cheapest.put(entry.getKey(), min);
+            cheapestSum += min;
+        }
+
+        List<BuildPart> pinnedParts = pinned.stream().map(component -> new BuildPart(component, 1)).toList();
+        List<Slot> slots = new ArrayList<>(candidates.size());
+        for (Map.Entry<ComponentType, List<ComponentResponse>> entry : candidates.entrySet()) {
+            long maxPrice = budgetCents - base.price - (cheapestSum - cheapest.get(entry.getKey()));
+            List<Candidate> usable = new ArrayList<>();
+            for (ComponentResponse component : entry.getValue()) {
+                if (ComponentScores.cents(component.price()) <= maxPrice && fitsAll(component, pinned)
+                        && rules.allows(pinnedParts, component)) {
+                    usable.add(Candidate.of(component));
+                }
+            }
+            slots.add(Slot.of(entry.getKey(), usable, !rules.constrains(entry.getKey())));
+        }
+        slots.sort(Comparator.comparingLong(Slot::maxScore).reversed().thenComparingInt(slot -> slot.components.length));
+
+        int[][] domains = new int[slots.size()][];
+        long[] minPrices = new long[slots.size()];
+        int[] minDraws = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            int[] all = new int[slot.components.length];
+            long minPrice = Long.MAX_VALUE;
+            int minDraw = Integer.MAX_VALUE;
+            for (int c = 0; c < all.length; c++) {
+                all[c] = c;
+                minPrice = Math.min(minPrice, slot.prices[c]);
+                minDraw = Math.min(minDraw, slot.draws[c]);
+            }
+            domains[i] = all;
+            minPrices[i] = minPrice;
+            minDraws[i] = minDraw;
+        }
+        State root = new State(base.picks, domains, minPrices, minDraws,
+                base.price, base.score, base.draw, base.capacity, base.rated);
+        return new BuildSearch(List.copyOf(pinned), slots.toArray(Slot[]::new), budgetCents, root, rules);
+    }
+
+    /**
+     * Runs the search on the pool until it is exhausted or the deadline passes.
+     *
+     * @param deadline {@link System#nanoTime()} by which the search must have returned
+     */
+    public Result run(ForkJoinPool pool, long deadline) {
+        long started = System.nanoTime();
+        this.deadline = deadline;
+
+        if (Arrays.stream(slots).noneMatch(slot -> slot.components.length == 0)) {
+            ForkJoinTask<Void> task = pool.submit(new Branch(root, 0));
+            try {
+                task.get(Math.max(0, deadline - started), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                stopped = true;
+            } catch (InterruptedException e) {
+                stopped = true;
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                stopped = true;
+                throw new IllegalStateException("Build search failed", e.getCause());
+            }
+        }
+        return result(!stopped, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Result result(boolean complete, Duration elapsed) {
+        Incumbent incumbent = best.get();
+        if (incumbent == null) {
+            return new Result(List.of(), 0, 0, 0, null, complete, nodes.sum(), elapsed);
+        }
+        List<ComponentResponse> components = new ArrayList<>(pinned);
+        for (int i = 0; i < slots.length; i++) {
+            components.add(slots[i].components[incumbent.picks[i]]);
+        }
+        components.sort(Comparator.comparing(ComponentResponse::type).thenComparing(ComponentResponse::id));
+        List<BuildPart> parts = components.stream().map(c -> new BuildPart(c, 1)).toList();
+        return new Result(List.copyOf(components), incumbent.price, incumbent.score,
+                CompatibilityRules.estimatedDraw(parts), CompatibilityRules.psuCapacity(parts),
+                complete, nodes.sum(), elapsed);
+    }
+
+    private static boolean fitsAll(ComponentResponse component, List<ComponentResponse> pinned) {
+        for (ComponentResponse other : pinned) {
+            if (CompatibilityRules.related(component.type(), other.type()) && !CompatibilityRules.compatible(component, other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a branch whose score is at most {@code scoreBound} and whose price is at least
+     * {@code priceBound} can still match or beat the best build found so far.
+     */
+    private boolean canBeat(long scoreBound, long priceBound) {
+        Incumbent incumbent = best.get();
+        return incumbent == null || scoreBound > incumbent.score
+                || (scoreBound == incumbent.score && priceBound <= incumbent.price);
+    }
+
+    private void offer(State state) {
+        if (state.price > budget || (state.rated && state.draw > state.capacity)) {
+            return;
+        }
+        long[] ids = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ids[i] = slots[i].components[state.picks[i]].id();
+        }
+        Incumbent candidate = new Incumbent(state.score, state.price, state.picks.clone(), ids);
+        Incumbent current;
+        do {
+            current = best.get();
+            if (current != null && !candidate.beats(current)) {
+                return;
+            }
+        } while (!best.compareAndSet(current, candidate));
+    }
+
+    /**
+     * Gets the best score among the candidates costing at most {@code maxPrice}; the domain is ordered best score
+     * first and holds at least one candidate that cheap.
+     */
+    private static long bestScoreWithin(Slot slot, int[] domain, long maxPrice) {
+        for (int x : domain) {
+            if (slot.prices[x] <= maxPrice) {
+                return slot.scores[x];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A subtree of the search, rooted at the given state and depth.
+     */
+    private final class Branch extends RecursiveAction {
+
+        private final State state;
+        private final int depth;
+        private int visited;
+
+        Branch(State state, int depth) {
+            this.state = state;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            expand(state, depth);
+            nodes.add(visited);
+        }
+
+        private void expand(State state, int depth) {
+            if (depth == slots.length) {
+                offer(state);
+                return;
+            }
+            if (++visited % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                stopped = true;
+            }
+            if (stopped) {
+                return;
+            }
+
+            Slot slot = slots[depth];
+            long restMinPrice = 0;
+            long restMaxScore = 0;
+            for (int j = depth + 1; j < slots.length; j++) {
+                restMinPrice += state.minPrices[j];
+                restMaxScore += slots[j].scores[state.domains[j][0]];
+            }
+
+            List<Branch> forks = depth < FORK_DEPTH ? new ArrayList<>() : null;
+            for (int c : state.domains[depth]) {
+                if (stopped) {
+                    break;
+                }
+                long price = state.price + slot.prices[c];
+                long score = state.score + slot.scores[c];
+                if (price + restMinPrice > budget) {
+                    continue;
+                }
+                Incumbent incumbent = best.get();
+                if (incumbent != null && score + restMaxScore < incumbent.score) {
+                    break; // candidates come best score first, so no later one can catch up either
+                }
+                if (!canBeat(score + restMaxScore, price + restMinPrice)) {
+                    continue;
+                }
+
+                State child = narrow(state, depth, c, price, score);
+                if (child == null) {
+                    continue;
+                }
+                if (forks != null) {
+                    forks.add(new Branch(child, depth + 1));
+                } else {
+                    expand(child, depth + 1);
+                }
+            }
+            if (forks != null && !forks.isEmpty()) {
+                invokeAll(forks);
+            }
+        }
+
+        /**
+         * Chooses candidate {@code c} for the slot at {@code depth} and narrows the later slots to what fits it,
+         * or returns null if the resulting branch cannot hold a better build.
+         */
+        private State narrow(State state, int depth, int c, long price, long score) {
+            Slot slot = slots[depth];
+            State child = state.with(depth, c, price - state.price, score - state.score,
+                    slot.draws[c], slot.capacities[c], slot.rated[c]);
+            long remaining = budget - price;
+
+            long minPriceSum = 0;
+            int minDrawSum = 0;
+            for (int j = depth + 1; j < slots.length; j++) {
+                PairFit fit = fits[depth][j];
+                if (fit != null) {
+                    Slot other = slots[j];
+                    int[] domain = state.domains[j];
+                    int[] narrowed = new int[domain.length];
+                    int size = 0;
+                    long minPrice = Long.MAX_VALUE;
+                    int minDraw = Integer.MAX_VALUE;
+                    for (int x : domain) {
+                        if (other.prices[x] <= remaining && fit.test(c, x)) {
+                            narrowed[size++] = x;
+                            minPrice = Math.min(minPrice, other.prices[x]);
+                            minDraw = Math.min(minDraw, other.draws[x]);
+                        }
+                    }
+                    if (size == 0) {
+                        return null;
+                    }
+                    child.domains[j] = size == domain.length ? domain : Arrays.copyOf(narrowed, size);
+                    child.minPrices[j] = minPrice;
+                    child.minDraws[j] = minDraw;
+                }
+                minPriceSum += child.minPrices[j];
+                minDrawSum += child.minDraws[j];
+            }
+            long slack = budget - price - minPriceSum;
+            if (slack < 0) {
+                return null;
+            }
+
+            // Every later slot can spend at most its cheapest price plus whatever the others leave over
+            long maxScoreSum = 0;
+            for (int j = depth + 1; j < slots.length; j++) {
+                maxScoreSum += bestScoreWithin(slots[j], child.domains[j], child.minPrices[j] + slack);
+            }
+            if (!canBeat(score + maxScoreSum, price + minPriceSum)) {
+                return null;
+            }
+            if (!psuAhead[depth + 1] && child.rated && child.draw + minDrawSum > child.capacity) {
+                return null;
+            }
+            return child;
+        }
+    }
+
+    /**
+     * A partial build: the candidate picked per slot so far, the candidates left for later slots, and running totals.
+     * Domains are shared with the parent state until a choice narrows them.
+     */
+    private record State(int[] picks, int[][] domains, long[] minPrices, int[] minDraws,
+                         long price, long score, int draw, int capacity, boolean rated) {
+
+        State with(int slot, int candidate, long price, long score, int draw, int capacity, boolean rated) {
+            int[] nextPicks = picks;
+            if (slot >= 0) {
+                nextPicks = picks.clone();
+                nextPicks[slot] = candidate;
+            }
+            return new State(nextPicks,
+                    domains != null ? domains.clone() : null,
+                    minPrices != null ? minPrices.clone() : null,
+                    minDraws != null ? minDraws.clone() : null,
+                    this.price + price, this.score + score, this.draw + draw,
+                    this.capacity + capacity, this.rated || rated);
+        }
+    }
+
+    /**
+     * The best complete build found so far. Ties on score go to the cheaper build, then to the lower component IDs,
+     * so a search that runs to completion gives the same build however its tasks were scheduled.
+     */
+    private record Incumbent(long score, long price, int[] picks, long[] ids) {
+
+        boolean beats(Incumbent other) {
+            if (score != other.score) {
+                return score > other.score;
+            }
+            if (price != other.price) {
+                return price < other.price;
+            }
+            return Arrays.compare(ids, other.ids) < 0;
+        }
+    }
+
+    /**
+     * A component with the values the search works on: price in cents, score, unit draw, power supply output,
+     * and how much room it leaves on the two size rules. A power supply without a rated wattage is never checked
+     * for power, and a missing size never fails a rule, so both count as unlimited when comparing.
+     */
+    private record Candidate(ComponentResponse component, Fit fit, long price, long score, int draw, int capacity,
+                             boolean rated, long effectiveCapacity, long gpuRoom, long coolerRoom) {
+
+        static Candidate of(ComponentResponse component) {
+            Integer draw = CompatibilityRules.unitDraw(component);
+            boolean psu = component.type() == ComponentType.PSU;
+            boolean rated = psu && component.wattage() != null;
+            int capacity = CompatibilityRules.unitCapacity(component);
+            return new Candidate(component, Fit.of(component), ComponentScores.cents(component.price()),
+                    ComponentScores.performanceScore(component), draw != null ? draw : 0, capacity, rated,
+                    psu && !rated ? Long.MAX_VALUE : capacity,
+                    room(component, component.gpuLengthMm(), ComponentType.GPU),
+                    room(component, component.coolerHeightMm(), ComponentType.Cooler));
+        }
+
+        /**
+         * The part itself has a size, where smaller leaves more room; every other type has a clearance.
+         */
+        private static long room(ComponentResponse component, Integer millimetres, ComponentType sizedType) {
+            if (millimetres == null) {
+                return Long.MAX_VALUE;
+            }
+            return component.type() == sizedType ? -millimetres : millimetres;
+        }
+
+        /**
+         * Checks whether this candidate fits wherever the other does and is at least as good on every total.
+         * Both must have the same shape.
+         */
+        boolean dominates(Candidate other) {
+            return price <= other.price && score >= other.score && draw <= other.draw
+                    && effectiveCapacity >= other.effectiveCapacity
+                    && gpuRoom >= other.gpuRoom && coolerRoom >= other.coolerRoom;
+        }
+    }
+
+    /**
+     * The compatibility attributes the pair rules read. Components with the same fit are interchangeable
+     * as far as compatibility goes.
+     */
+    private record Fit(String socket, Set<String> ramTypes, String formFactor, Integer gpuLengthMm,
+                       Integer coolerHeightMm, String psuFormFactor) {
+
+        static Fit of(ComponentResponse component) {
+            return new Fit(ComponentSpecs.normalize(component.socket()), ComponentSpecs.ramTypes(component),
+                    ComponentSpecs.normalize(component.formFactor()), component.gpuLengthMm(),
+                    component.coolerHeightMm(), ComponentSpecs.normalize(component.psuFormFactor()));
+        }
+
+        /**
+         * Gets the fit without its sizes; candidates of the same shape only differ in how much room they leave.
+         */
+        Fit shape() {
+            return new Fit(socket, ramTypes, formFactor, null, null, psuFormFactor);
+        }
+    }
+
+    /**
+     * The candidates of one component type, best score first, with the group of identical fits each belongs to.
+     * Groups share their compatibility with any other component, so it is tested once per pair of groups.
+     */
+    private static final class Slot {
+
+        final ComponentType type;
+        final ComponentResponse[] components;
+        final long[] prices;
+        final long[] scores;
+        final int[] draws;
+        final int[] capacities;
+        final boolean[] rated;
+        final int[] groups;
+        final ComponentResponse[] representatives;
+
+        private Slot(ComponentType type, List<Candidate> candidates, int[] groups, ComponentResponse[] representatives) {
+            this.type = type;
+            this.groups = groups;
+            this.representatives = representatives;
+            int size = candidates.size();
+            components = new ComponentResponse[size];
+            prices = new long[size];
+            scores = new long[size];
+            draws = new int[size];
+            capacities = new int[size];
+            rated = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                Candidate candidate = candidates.get(i);
+                components[i] = candidate.component;
+                prices[i] = candidate.price;
+                scores[i] = candidate.score;
+                draws[i] = candidate.draw;
+                capacities[i] = candidate.capacity;
+                rated[i] = candidate.rated;
+            }
+        }
+
+        long maxScore() {
+            return scores.length > 0 ? scores[0] : 0;
+        }
+
+        /**
+         * Creates a slot from the usable candidates, keeping only the Pareto-optimal ones of each shape if
+         * {@code prune} is set.
+         */
+        static Slot of(ComponentType type, List<Candidate> usable, boolean prune) {
+            List<Candidate> kept = new ArrayList<>();
+            if (prune) {
+                Map<Fit, List<Candidate>> byShape = new LinkedHashMap<>();
+                for (Candidate candidate : usable) {
+                    byShape.computeIfAbsent(candidate.fit.shape(), shape -> new ArrayList<>()).add(candidate);
+                }
+                for (List<Candidate> group : byShape.values()) {
+                    kept.addAll(frontier(group));
+                }
+            } else {
+                kept.addAll(usable);
+            }
+            kept.sort(BY_SCORE);
+
+            Map<Fit, Integer> groupOf = new HashMap<>();
+            List<ComponentResponse> representatives = new ArrayList<>();
+            int[] groups = new int[kept.size()];
+            for (int i = 0; i < groups.length; i++) {
+                Candidate candidate = kept.get(i);
+                groups[i] = groupOf.computeIfAbsent(candidate.fit, fit -> {
+                    representatives.add(candidate.component);
+                    return representatives.size() - 1;
+                });
+            }
+            return new Slot(type, kept, groups, representatives.toArray(ComponentResponse[]::new));
+        }
+
+        /**
+         * Keeps the candidates no other candidate of the same shape dominates; of equal candidates, the lowest ID.
+         */
+        private static List<Candidate> frontier(List<Candidate> group) {
+            List<Candidate> sorted = new ArrayList<>(group);
+            sorted.sort(BY_PRICE);
+            List<Candidate> frontier = new ArrayList<>();
+            for (Candidate candidate : sorted) {
+                boolean dominated = false;
+                for (int i = frontier.size() - 1; i >= 0 && !dominated; i--) {
+                    dominated = frontier.get(i).dominates(candidate);
+                }
+                if (!dominated) {
+                    frontier.add(candidate);
+                }
+            }
+            return frontier;
+        }
+    }
+
+    /**
+     * Compatibility between the candidates of two slots: the pair rules, memoized between fit groups, and the
+     * rule-language rules, checked per pair of candidates. Tasks may fill the same memo entry concurrently,
+     * which is harmless since they all write the same value.
+     */
+    private static final class PairFit {
+
+        private static final byte UNKNOWN = 0;
+        private static final byte COMPATIBLE = 1;
+        private static final byte INCOMPATIBLE = 2;
+
+        private final Slot left;
+        private final Slot right;
+        private final boolean related;
+        private final RuleSet rules;
+        private final byte[] memo;
+
+        /**
+         * @param related whether the pair rules relate the two slots' types
+         * @param rules   the rule-language rules, or null if none constrains the two types
+         */
+        PairFit(Slot left, Slot right, boolean related, RuleSet rules) {
+            this.left = left;
+            this.right = right;
+            this.related = related;
+            this.rules = rules;
+            this.memo = related ? new byte[left.representatives.length * right.representatives.length] : null;
+        }
+
+        boolean test(int a, int b) {
+            return (!related || pairRulesHold(a, b))
+                    && (rules == null || rules.allows(left.components[a], right.components[b]));
+        }
+
+        private boolean pairRulesHold(int a, int b) {
+            int groupA = left.groups[a];
+            int groupB = right.groups[b];
+            int key = groupA * right.representatives.length + groupB;
+            byte known = memo[key];
+            if (known == UNKNOWN) {
+                known = CompatibilityRules.compatible(left.representatives[groupA], right.representatives[groupB])
+                        ? COMPATIBLE : INCOMPATIBLE;
+                memo[key] = known;
+            }
+            return known == COMPATIBLE;
+        }
+    }
+
+    /**
+     * Outcome of a search.
+     *
+     * @param components         the build, pinned components included, ordered by type; empty if none was found
+     * @param priceCents         total price of the build in cents
+     * @param score              summed performance score of the build
+     * @param estimatedDrawWatts estimated draw of the build, scaled by power tier
+     * @param psuCapacityWatts   summed output of the build's power supplies, if any has a rated wattage
+     * @param complete           whether the search was exhausted, so the build is the best there is,
+     *                           rather than the best found before the deadline
+     * @param nodesVisited       partial builds the search expanded
+     * @param elapsed            time the search took
+     */
+    public record Result(List<ComponentResponse> components, long priceCents, long score, int estimatedDrawWatts,
+                         Integer psuCapacityWatts, boolean complete, long nodesVisited, Duration elapsed) {
+
+        public boolean found() {
+            return !components.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the build planning metadata of a component: {@code metadata.performance_score} and {@code metadata.use_cases}.
+ */
+public final class ComponentScores {
+
+    private ComponentScores() {
+    }
+
+    /**
+     * Gets the performance score of a component, or 0 if it has none.
+     */
+    public static long performanceScore(ComponentResponse component) {
+        Map<String, Object> metadata = component.metadata();
+        Object value = metadata != null ? metadata.get("performance_score") : null;
+        if (value instanceof Number number) {
+            return Math.max(0, number.longValue());
+        }
+        if (value != null) {
+            try {
+                return Math.max(0, Long.parseLong(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks whether the component lists the use case in {@code metadata.use_cases}, ignoring case.
+     */
+    public static boolean suits(ComponentResponse component, String useCase) {
+        Map<String, Object> metadata = component.metadata();
+        Object value = metadata != null ? metadata.get("use_cases") : null;
+        if (value instanceof Collection<?> useCases) {
+            String wanted = useCase.trim().toLowerCase(Locale.ROOT);
+            for (Object listed : useCases) {
+                if (listed != null && listed.toString().trim().toLowerCase(Locale.ROOT).equals(wanted)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a price to whole cents, treating a missing price as free.
+     */
+    public static long cents(BigDecimal price) {
+        return price != null ? price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+
+/**
+ * Callback for in-memory indexes derived from the component catalog.
+ * Listeners are invoked by ComponentCatalog, one change at a time, with the new snapshot before it is published:
+ * readers never see a catalog version whose changes the indexes have not taken in yet.
+ */
+public interface CatalogListener {
+
+    /**
+     * Called after the full catalog was (re)loaded. Listeners rebuild their state from the snapshot.
+     */
+    void onCatalogLoaded(CatalogSnapshot snapshot);
+
+    /**
+     * Called after a component was created or updated.
+     *
+     * @param snapshot the snapshot containing the change
+     * @param previous the component before the change, or null if it was created
+     * @param current  the component after the change
+     */
+    void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current);
+
+    /**
+     * Called after a component was deleted.
+     *
+     * @param snapshot the snapshot without the component
+     * @param previous the deleted component, or null if it was not in the catalog
+     */
+    void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous);
+}
@@ -0,0 +1,145 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.common.RawJsonObject;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory copy of the component catalog with secondary indexes by type, brand and socket.
+ * A new snapshot is built for every catalog change; readers never observe a partially updated catalog.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final Map<Long, ComponentResponse> byId;
+    private final List<ComponentResponse> components;
+    private final Map<ComponentType, List<ComponentResponse>> byType;
+    private final Map<String, List<ComponentResponse>> byBrand;
+    private final Map<String, List<ComponentResponse>> bySocket;
+
+    private CatalogSnapshot(long version, TreeMap<Long, ComponentResponse> byId) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+        this.byId = Collections.unmodifiableMap(byId);
+        this.components = List.copyOf(byId.values());
+        this.byType = Collections.unmodifiableMap(groupBy(components, ComponentResponse::type, new EnumMap<>(ComponentType.class)));
+        this.byBrand = Collections.unmodifiableMap(groupBy(components, ComponentResponse::brand, new HashMap<>()));
+        this.bySocket = Collections.unmodifiableMap(groupBy(components, ComponentResponse::socket, new HashMap<>()));
+    }
+
+    /**
+     * Builds a snapshot from a full catalog load.
+     */
+    public static CatalogSnapshot of(long version, Collection<ComponentResponse> components) {
+        TreeMap<Long, ComponentResponse> byId = new TreeMap<>();
+        for (ComponentResponse component : components) {
+            byId.put(component.id(), freeze(component));
+        }
+        return new CatalogSnapshot(version, byId);
+    }
+
+    /**
+     * Returns a new snapshot with the given component added or replaced.
+     */
+    public CatalogSnapshot withComponent(long newVersion, ComponentResponse component) {
+        TreeMap<Long, ComponentResponse> copy = new TreeMap<>(byId);
+        copy.put(component.id(), freeze(component));
+        return new CatalogSnapshot(newVersion, copy);
+    }
+
+    /**
+     * Returns a new snapshot without the component with the given ID.
+     */
+    public CatalogSnapshot withoutComponent(long newVersion, Long componentId) {
+        TreeMap<Long, ComponentResponse> copy = new TreeMap<>(byId);
+        copy.remove(componentId);
+        return new CatalogSnapshot(newVersion, copy);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return components.size();
+    }
+
+    /**
+     * Gets all components ordered by ID.
+     */
+    public List<ComponentResponse> all() {
+        return components;
+    }
+
+    public Optional<ComponentResponse> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<ComponentResponse> byType(ComponentType type) {
+        return byType.getOrDefault(type, List.of());
+    }
+
+    public List<ComponentResponse> byBrand(String brand) {
+        return byBrand.getOrDefault(brand, List.of());
+    }
+
+    public List<ComponentResponse> bySocket(String socket) {
+        return bySocket.getOrDefault(socket, List.of());
+    }
+
+    /**
+     * Gets components with a stock quantity strictly greater than the given minimum.
+     */
+    public List<ComponentResponse> inStock(int minQuantity) {
+        return components.stream()
+                .filter(c -> c.stockQuantity() != null && c.stockQuantity() > minQuantity)
+                .toList();
+    }
+
+    private static <K> Map<K, List<ComponentResponse>> groupBy(List<ComponentResponse> components,
+                                                            Function<ComponentResponse, K> key,
+                                                            Map<K, List<ComponentResponse>> target) {
+        Map<K, List<ComponentResponse>> groups = new LinkedHashMap<>();
+        for (ComponentResponse component : components) {
+            K value = key.apply(component);
+            if (value != null) {
+                groups.computeIfAbsent(value, k -> new ArrayList<>()).add(component);
+            }
+        }
+        groups.forEach((k, list) -> target.put(k, List.copyOf(list)));
+        return target;
+    }
+
+    /**
+     * Copies the jsonb maps so snapshot entries cannot be modified through the entity they were built from.
+     * They are serialized once here, so responses copy the JSON text instead of walking the maps every time.
+     */
+    private static ComponentResponse freeze(ComponentResponse c) {
+        return new ComponentResponse(
+                c.id(), c.name(), c.brand(), c.type(), c.compatibilityTag(), c.price(), c.stockQuantity(),
+                c.socket(), c.ramType(), c.wattage(), c.formFactor(), c.gpuLengthMm(), c.coolerHeightMm(),
+                c.psuFormFactor(), c.pciSlotsRequired(),
+                RawJsonObject.from(c.extraCompatibility()),
+                RawJsonObject.from(c.metadata()),
+                c.createdAt(), c.updatedAt()
+        );
+    }
+}
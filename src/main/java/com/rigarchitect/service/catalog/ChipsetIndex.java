@@ -0,0 +1,155 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.compatibility.ComponentSpecs;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index between CPUs and motherboards by chipset.
+ * Motherboards are posted under the chipset in their {@code chipset} JSON attribute and CPUs keep the set of
+ * chipsets in their {@code chipset_compatible} one, both read once when a component is written, so matching a CPU
+ * to boards is a few hash lookups instead of parsing JSON per row. Chipsets are normalized like every other
+ * compatibility value, so "B650E" and "b650e" are the same key. The index follows ComponentCatalog incrementally.
+ */
+@Service
+public class ChipsetIndex implements CatalogListener {
+
+    private final ComponentCatalog catalog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Motherboards per normalized chipset, by ID. */
+    private final Map<String, Map<Long, ComponentResponse>> boardsByChipset = new HashMap<>();
+    /** Normalized chipset of each indexed motherboard, to unpost it when the board changes. */
+    private final Map<Long, String> chipsetByBoard = new HashMap<>();
+    /** Normalized chipsets each CPU supports. */
+    private final Map<Long, Set<String>> chipsetsByCpu = new HashMap<>();
+
+    /**
+     * Constructor with component catalog dependency.
+     */
+    public ChipsetIndex(ComponentCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @PostConstruct
+    void register() {
+        catalog.addListener(this);
+    }
+
+    /**
+     * Gets the motherboards with the given chipset, by ID.
+     */
+    public List<ComponentResponse> motherboardsWithChipset(String chipset) {
+        catalog.current();
+        String key = ComponentSpecs.normalize(chipset);
+        lock.readLock().lock();
+        try {
+            Map<Long, ComponentResponse> boards = key != null ? boardsByChipset.get(key) : null;
+            return boards != null ? List.copyOf(boards.values()) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the motherboards whose chipset the CPU supports, by ID.
+     */
+    public List<ComponentResponse> motherboardsForCpu(Long cpuId) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            List<ComponentResponse> boards = new ArrayList<>();
+            for (String chipset : chipsetsByCpu.getOrDefault(cpuId, Set.of())) {
+                Map<Long, ComponentResponse> posted = boardsByChipset.get(chipset);
+                if (posted != null) {
+                    boards.addAll(posted.values());
+                }
+            }
+            boards.sort(Comparator.comparing(ComponentResponse::id));
+            return boards;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            boardsByChipset.clear();
+            chipsetByBoard.clear();
+            chipsetsByCpu.clear();
+            add(snapshot.byType(ComponentType.Motherboard));
+            add(snapshot.byType(ComponentType.CPU));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(previous.id());
+            }
+            add(List.of(current));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(previous.id());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(Collection<ComponentResponse> components) {
+        for (ComponentResponse component : components) {
+            if (component.type() == ComponentType.Motherboard) {
+                String chipset = ComponentSpecs.chipset(component);
+                if (chipset != null) {
+                    boardsByChipset.computeIfAbsent(chipset, key -> new TreeMap<>()).put(component.id(), component);
+                    chipsetByBoard.put(component.id(), chipset);
+                }
+            } else if (component.type() == ComponentType.CPU) {
+                Set<String> chipsets = ComponentSpecs.compatibleChipsets(component);
+                if (!chipsets.isEmpty()) {
+                    chipsetsByCpu.put(component.id(), Set.copyOf(chipsets));
+                }
+            }
+        }
+    }
+
+    private void remove(Long id) {
+        chipsetsByCpu.remove(id);
+        String chipset = chipsetByBoard.remove(id);
+        if (chipset != null) {
+            Map<Long, ComponentResponse> boards = boardsByChipset.get(chipset);
+            boards.remove(id);
+            if (boards.isEmpty()) {
+                boardsByChipset.remove(chipset);
+            }
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.build.ComponentScores;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.ComponentSpecs;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Index answering which components of a type are compatible with everything in a build.
+ * Categorical attributes (sockets, memory type, form factors) are kept as one bitmap of ordinals per value and
+ * dimensions (lengths, heights, clearances, wattage) as sorted arrays, so a query costs a few bitmap operations
+ * per build component instead of a pass over the catalog. The rules match {@link CompatibilityRules}: a component
+ * missing an attribute is never excluded by it. Like ComponentFacetIndex, the index follows ComponentCatalog
+ * incrementally and leaves deleted ordinals as holes until the next full reload.
+ */
+@Service
+public class CompatibilityIndex implements CatalogListener {
+
+    /**
+     * Categorical attributes, each read only from the component types it is meaningful for.
+     */
+    enum Attribute {
+        SOCKET(c -> is(c, ComponentType.CPU, ComponentType.Motherboard) ? single(c.socket()) : Set.of()),
+        COOLER_SOCKET(c -> is(c, ComponentType.Cooler) ? ComponentSpecs.coolerSockets(c) : Set.of()),
+        RAM_TYPE(c -> is(c, ComponentType.CPU, ComponentType.Motherboard, ComponentType.RAM) ? ComponentSpecs.ramTypes(c) : Set.of()),
+        BOARD_FORM_FACTOR(c -> is(c, ComponentType.Motherboard) ? single(c.formFactor()) : Set.of()),
+        CASE_FORM_FACTOR(c -> is(c, ComponentType.Case) ? ComponentSpecs.caseBoardFormFactors(c) : Set.of()),
+        PSU_FORM_FACTOR(c -> is(c, ComponentType.PSU, ComponentType.Case) ? single(c.psuFormFactor()) : Set.of());
+
+        private final Function<ComponentResponse, Set<String>> extractor;
+
+        Attribute(Function<ComponentResponse, Set<String>> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    /**
+     * Numeric attributes, each read only from the component types it is meaningful for.
+     */
+    enum Dimension {
+        GPU_LENGTH(c -> is(c, ComponentType.GPU) ? c.gpuLengthMm() : null),
+        GPU_CLEARANCE(c -> is(c, ComponentType.Case, ComponentType.Motherboard) ? c.gpuLengthMm() : null),
+        COOLER_HEIGHT(c -> is(c, ComponentType.Cooler) ? c.coolerHeightMm() : null),
+        COOLER_CLEARANCE(c -> is(c, ComponentType.Case) ? c.coolerHeightMm() : null),
+        WATTAGE(c -> is(c, ComponentType.PSU) ? c.wattage() : CompatibilityRules.unitDraw(c));
+
+        private final Function<ComponentResponse, Integer> extractor;
+
+        Dimension(Function<ComponentResponse, Integer> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final ComponentCatalog catalog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<ComponentType, RoaringBitmap> byType = new EnumMap<>(ComponentType.class);
+    private final Map<Attribute, Map<String, RoaringBitmap>> postings = new EnumMap<>(Attribute.class);
+    private final Map<Attribute, RoaringBitmap> withAttribute = new EnumMap<>(Attribute.class);
+    private final Map<Dimension, long[]> values = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, SortedValueIndex> sorted = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, RoaringBitmap> withDimension = new EnumMap<>(Dimension.class);
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    /** Ordinals of each type, best performance score first; re-sorted for a type whenever one of its components changes. */
+    private final Map<ComponentType, int[]> byScore = new EnumMap<>(ComponentType.class);
+    private ComponentResponse[] components = new ComponentResponse[0];
+    private long[] scores = new long[0];
+    private int ordinalCount;
+
+    /**
+     * Constructor with component catalog dependency.
+     */
+    public CompatibilityIndex(ComponentCatalog catalog) {
+        this.catalog = catalog;
+        for (ComponentType type : ComponentType.values()) {
+            byType.put(type, new RoaringBitmap());
+            byScore.put(type, new int[0]);
+        }
+        for (Attribute attribute : Attribute.values()) {
+            postings.put(attribute, new HashMap<>());
+            withAttribute.put(attribute, new RoaringBitmap());
+        }
+        for (Dimension dimension : Dimension.values()) {
+            values.put(dimension, new long[0]);
+            sorted.put(dimension, SortedValueIndex.build(new long[0], 0, NO_VALUE));
+            withDimension.put(dimension, new RoaringBitmap());
+        }
+    }
+
+    @PostConstruct
+    void register() {
+        catalog.addListener(this);
+    }
+
+    /**
+     * Finds all components of the given type that are compatible with every part of the build, in catalog order.
+     * Power is checked for the build with one unit of the candidate added: a power supply must cover what the
+     * build's power supplies leave of the estimated draw, and any other part must still fit under them.
+     */
+    public List<ComponentResponse> compatibleWith(Collection<BuildPart> build, ComponentType type) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = query(build, type);
+            List<ComponentResponse> result = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int ordinal) -> result.add(components[ordinal]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the components of the given type that are compatible with every part of the build, as
+     * {@link #compatibleWith} does, and score higher than {@code minScore}, best score first. Only the top of the
+     * type's score order is walked, down to the threshold.
+     */
+    public List<ComponentResponse> compatibleScoringAbove(Collection<BuildPart> build, ComponentType type, long minScore) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = query(build, type);
+            List<ComponentResponse> result = new ArrayList<>();
+            for (int ordinal : byScore.get(type)) {
+                if (scores[ordinal] <= minScore) {
+                    break;
+                }
+                if (matches.contains(ordinal)) {
+                    result.add(components[ordinal]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            List<ComponentResponse> all = snapshot.all();
+            int capacity = all.size();
+            byType.values().forEach(RoaringBitmap::clear);
+            postings.values().forEach(Map::clear);
+            withAttribute.values().forEach(RoaringBitmap::clear);
+            withDimension.values().forEach(RoaringBitmap::clear);
+            ordinalById.clear();
+            components = new ComponentResponse[capacity];
+            scores = new long[capacity];
+            for (Dimension dimension : Dimension.values()) {
+                values.put(dimension, new long[capacity]);
+            }
+            ordinalCount = 0;
+
+            for (ComponentResponse component : all) {
+                int ordinal = ordinalCount++;
+                ordinalById.put(component.id(), ordinal);
+                store(ordinal, component);
+                addPostings(ordinal, component);
+                storeDimensions(ordinal, component);
+            }
+            for (Dimension dimension : Dimension.values()) {
+                sorted.put(dimension, SortedValueIndex.build(values.get(dimension), ordinalCount, NO_VALUE));
+            }
+            for (ComponentType type : ComponentType.values()) {
+                sortByScore(type);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(current.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                removePostings(ordinal, components[ordinal]);
+                removeDimensions(ordinal);
+            } else {
+                ordinal = ordinalCount++;
+                ensureCapacity(ordinalCount);
+                ordinalById.put(current.id(), ordinal);
+            }
+            store(ordinal, current);
+            addPostings(ordinal, current);
+            storeDimensions(ordinal, current);
+            addDimensions(ordinal);
+            if (previous != null && previous.type() != current.type()) {
+                sortByScore(previous.type());
+            }
+            sortByScore(current.type());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(previous.id());
+            if (ordinal == null) {
+                return;
+            }
+            ComponentType type = components[ordinal].type();
+            removePostings(ordinal, components[ordinal]);
+            removeDimensions(ordinal);
+            components[ordinal] = null;
+            sortByScore(type);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the build's constraints on the given type to a bitmap of ordinals. Callers must hold the read lock.
+     */
+    RoaringBitmap query(Collection<BuildPart> build, ComponentType type) {
+        RoaringBitmap result = byType.get(type).clone();
+        for (BuildPart part : build) {
+            if (result.isEmpty()) {
+                return result;
+            }
+            constrain(result, type, part.component());
+        }
+
+        int draw = CompatibilityRules.estimatedDraw(build);
+        Integer capacity = CompatibilityRules.psuCapacity(build);
+        if (type == ComponentType.PSU) {
+            long missing = (long) draw - (capacity != null ? capacity : 0);
+            if (missing > 0) {
+                applyRange(result, Dimension.WATTAGE, missing, Long.MAX_VALUE);
+            }
+        } else if (type != ComponentType.PSU && capacity != null) {
+            long remaining = (long) capacity - draw;
+            if (remaining < 0) {
+                result.clear();
+            } else {
+                applyRange(result, Dimension.WATTAGE, Long.MIN_VALUE + 1, remaining);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Narrows candidates of the given type to those compatible with one component of the build.
+     */
+    private void constrain(RoaringBitmap result, ComponentType type, ComponentResponse part) {
+        ComponentType partType = part.type();
+        switch (type) {
+            case CPU -> {
+                if (partType == ComponentType.Motherboard) {
+                    retain(result, Attribute.SOCKET, single(part.socket()));
+                    retain(result, Attribute.RAM_TYPE, ComponentSpecs.ramTypes(part));
+                } else if (partType == ComponentType.Cooler) {
+                    retain(result, Attribute.SOCKET, ComponentSpecs.coolerSockets(part));
+                } else if (partType == ComponentType.RAM) {
+                    retain(result, Attribute.RAM_TYPE, ComponentSpecs.ramTypes(part));
+                }
+            }
+            case Motherboard -> {
+                if (partType == ComponentType.CPU) {
+                    retain(result, Attribute.SOCKET, single(part.socket()));
+                    retain(result, Attribute.RAM_TYPE, ComponentSpecs.ramTypes(part));
+                } else if (partType == ComponentType.Cooler) {
+                    retain(result, Attribute.SOCKET, ComponentSpecs.coolerSockets(part));
+                } else if (partType == ComponentType.RAM) {
+                    retain(result, Attribute.RAM_TYPE, ComponentSpecs.ramTypes(part));
+                } else if (partType == ComponentType.Case) {
+                    retain(result, Attribute.BOARD_FORM_FACTOR, ComponentSpecs.caseBoardFormFactors(part));
+                } else if (partType == ComponentType.GPU) {
+                    atLeast(result, Dimension.GPU_CLEARANCE, part.gpuLengthMm());
+                }
+            }
+            case Cooler -> {
+                if (partType == ComponentType.CPU || partType == ComponentType.Motherboard) {
+                    retain(result, Attribute.COOLER_SOCKET, single(part.socket()));
+                } else if (partType == ComponentType.Case) {
+                    atMost(result, Dimension.COOLER_HEIGHT, part.coolerHeightMm());
+                }
+            }
+            case RAM -> {
+                if (partType == ComponentType.CPU || partType == ComponentType.Motherboard) {
+                    retain(result, Attribute.RAM_TYPE, ComponentSpecs.ramTypes(part));
+                }
+            }
+            case Case -> {
+                if (partType == ComponentType.Motherboard) {
+                    retain(result, Attribute.CASE_FORM_FACTOR, single(part.formFactor()));
+                } else if (partType == ComponentType.GPU) {
+                    atLeast(result, Dimension.GPU_CLEARANCE, part.gpuLengthMm());
+                } else if (partType == ComponentType.Cooler) {
+                    atLeast(result, Dimension.COOLER_CLEARANCE, part.coolerHeightMm());
+                } else if (partType == ComponentType.PSU) {
+                    retain(result, Attribute.PSU_FORM_FACTOR, single(part.psuFormFactor()));
+                }
+            }
+            case GPU -> {
+                if (partType == ComponentType.Case || partType == ComponentType.Motherboard) {
+                    atMost(result, Dimension.GPU_LENGTH, part.gpuLengthMm());
+                }
+            }
+            case PSU -> {
+                if (partType == ComponentType.Case) {
+                    retain(result, Attribute.PSU_FORM_FACTOR, single(part.psuFormFactor()));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Drops candidates whose attribute is known and matches none of the accepted values.
+     * An empty accepted set means the build component does not constrain the attribute.
+     */
+    private void retain(RoaringBitmap result, Attribute attribute, Set<String> accepted) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+        Map<String, RoaringBitmap> byValue = postings.get(attribute);
+        RoaringBitmap excluded = withAttribute.get(attribute).clone();
+        for (String value : accepted) {
+            RoaringBitmap ordinals = byValue.get(value);
+            if (ordinals != null) {
+                excluded.andNot(ordinals);
+            }
+        }
+        result.andNot(excluded);
+    }
+
+    private void atLeast(RoaringBitmap result, Dimension dimension, Integer min) {
+        if (min != null) {
+            applyRange(result, dimension, min, Long.MAX_VALUE);
+        }
+    }
+
+    private void atMost(RoaringBitmap result, Dimension dimension, Integer max) {
+        if (max != null) {
+            applyRange(result, dimension, Long.MIN_VALUE + 1, max);
+        }
+    }
+
+    /**
+     * Drops candidates whose value is known and outside [min, max], checking the candidates one by one when
+     * there are fewer of them than values in range, like ComponentFacetIndex does for price and stock.
+     */
+    private void applyRange(RoaringBitmap result, Dimension dimension, long min, long max) {
+        if (result.isEmpty()) {
+            return;
+        }
+        SortedValueIndex index = sorted.get(dimension);
+        if (result.getCardinality() <= index.count(min, max)) {
+            long[] valueByOrdinal = values.get(dimension);
+            RoaringBitmap outside = new RoaringBitmap();
+            result.forEach((int ordinal) -> {
+                long value = valueByOrdinal[ordinal];
+                if (value != NO_VALUE && (value < min || value > max)) {
+                    outside.add(ordinal);
+                }
+            });
+            result.andNot(outside);
+        } else {
+            RoaringBitmap outside = withDimension.get(dimension).clone();
+            outside.andNot(index.between(min, max));
+            result.andNot(outside);
+        }
+    }
+
+    private void addPostings(int ordinal, ComponentResponse component) {
+        if (component.type() != null) {
+            byType.get(component.type()).add(ordinal);
+        }
+        for (Attribute attribute : Attribute.values()) {
+            Set<String> attributeValues = attribute.extractor.apply(component);
+            if (attributeValues.isEmpty()) {
+                continue;
+            }
+            withAttribute.get(attribute).add(ordinal);
+            Map<String, RoaringBitmap> byValue = postings.get(attribute);
+            for (String value : attributeValues) {
+                byValue.computeIfAbsent(value, v -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+    }
+
+    private void removePostings(int ordinal, ComponentResponse component) {
+        if (component.type() != null) {
+            byType.get(component.type()).remove(ordinal);
+        }
+        for (Attribute attribute : Attribute.values()) {
+            withAttribute.get(attribute).remove(ordinal);
+            Map<String, RoaringBitmap> byValue = postings.get(attribute);
+            for (String value : attribute.extractor.apply(component)) {
+                RoaringBitmap ordinals = byValue.get(value);
+                if (ordinals != null) {
+                    ordinals.remove(ordinal);
+                    if (ordinals.isEmpty()) {
+                        byValue.remove(value);
+                    }
+                }
+            }
+        }
+    }
+
+    private void store(int ordinal, ComponentResponse component) {
+        components[ordinal] = component;
+        scores[ordinal] = ComponentScores.performanceScore(component);
+    }
+
+    /**
+     * Re-sorts the live ordinals of a type by descending score, then ascending price and ID.
+     */
+    private void sortByScore(ComponentType type) {
+        byScore.put(type, byType.get(type).stream().boxed()
+                .sorted(Comparator.<Integer>comparingLong(ordinal -> -scores[ordinal])
+                        .thenComparing(ordinal -> components[ordinal].price(), Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ordinal -> components[ordinal].id()))
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    private void storeDimensions(int ordinal, ComponentResponse component) {
+        for (Dimension dimension : Dimension.values()) {
+            Integer value = dimension.extractor.apply(component);
+            values.get(dimension)[ordinal] = value != null ? value : NO_VALUE;
+            if (value != null) {
+                withDimension.get(dimension).add(ordinal);
+            }
+        }
+    }
+
+    private void addDimensions(int ordinal) {
+        for (Dimension dimension : Dimension.values()) {
+            long value = values.get(dimension)[ordinal];
+            if (value != NO_VALUE) {
+                sorted.get(dimension).insert(value, ordinal);
+            }
+        }
+    }
+
+    private void removeDimensions(int ordinal) {
+        for (Dimension dimension : Dimension.values()) {
+            long value = values.get(dimension)[ordinal];
+            if (value != NO_VALUE) {
+                sorted.get(dimension).remove(value, ordinal);
+            }
+            withDimension.get(dimension).remove(ordinal);
+            values.get(dimension)[ordinal] = NO_VALUE;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= components.length) {
+            return;
+        }
+        int capacity = Math.max(16, Math.max(required, components.length + (components.length >> 1)));
+        components = Arrays.copyOf(components, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        for (Dimension dimension : Dimension.values()) {
+            values.put(dimension, Arrays.copyOf(values.get(dimension), capacity));
+        }
+    }
+
+    private static boolean is(ComponentResponse component, ComponentType... types) {
+        for (ComponentType type : types) {
+            if (component.type() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> single(String value) {
+        String normalized = ComponentSpecs.normalize(value);
+        return normalized != null ? Set.of(normalized) : Set.of();
+    }
+}
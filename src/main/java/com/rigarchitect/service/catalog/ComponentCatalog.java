@@ -0,0 +1,140 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.repository.ComponentRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current catalog snapshot and swaps it atomically when components are written.
+ * The snapshot is loaded lazily on first read and then kept in sync through ComponentChangedEvent,
+ * which is only applied once the writing transaction has committed.
+ * Derived indexes register as CatalogListener and are updated under the same lock, in change order, before the
+ * new snapshot and its version are published.
+ */
+@Service
+public class ComponentCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentCatalog.class);
+
+    private final ComponentRepository componentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLong versions = new AtomicLong();
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile CatalogSnapshot snapshot;
+
+    /**
+     * Constructor with component repository, entity manager and transaction manager dependencies.
+     */
+    public ComponentCatalog(ComponentRepository componentRepository, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager) {
+        this.componentRepository = componentRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // A separate persistence context, so detaching rows never touches entities of a caller's transaction
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Gets the current snapshot, loading it from the database on first use.
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current : loadIfAbsent();
+    }
+
+    /**
+     * Gets the version of the current snapshot. Versions increase by one with every catalog change.
+     */
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Gets a token identifying the current catalog state, usable as an HTTP validator.
+     * It includes the start time of this instance since versions restart from 1 after a restart.
+     */
+    public String versionTag() {
+        return instanceId + "-" + version();
+    }
+
+    /**
+     * Registers a listener. If the catalog is already loaded, the listener is initialized from the current snapshot.
+     */
+    public synchronized void addListener(CatalogListener listener) {
+        listeners.add(listener);
+        if (snapshot != null) {
+            listener.onCatalogLoaded(snapshot);
+        }
+    }
+
+    /**
+     * Discards the current snapshot and rebuilds it from the database.
+     * Rows are streamed with a JDBC fetch size and detached one by one, so the load never holds the full
+     * entity list or a persistence context the size of the catalog next to the snapshot being built.
+     */
+    public synchronized CatalogSnapshot reload() {
+        List<ComponentResponse> components = readOnlyTransaction.execute(status -> {
+            List<ComponentResponse> loaded = new ArrayList<>();
+            try (Stream<Component> rows = componentRepository.streamAllOrderById()) {
+                rows.forEach(component -> {
+                    loaded.add(ComponentResponse.fromEntity(component));
+                    entityManager.detach(component);
+                });
+            }
+            return loaded;
+        });
+
+        CatalogSnapshot loaded = CatalogSnapshot.of(versions.incrementAndGet(), components);
+        listeners.forEach(listener -> listener.onCatalogLoaded(loaded));
+        snapshot = loaded;
+        logger.info("Loaded component catalog snapshot v{} with {} components", loaded.version(), loaded.size());
+        return loaded;
+    }
+
+    /**
+     * Applies a committed component change to the snapshot.
+     * Changes arriving before the first load are ignored since the load will read them from the database.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComponentChanged(ComponentChangedEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        ComponentResponse previous = current.findById(event.componentId()).orElse(null);
+        CatalogSnapshot updated;
+        if (event.isDeletion()) {
+            updated = current.withoutComponent(versions.incrementAndGet(), event.componentId());
+            listeners.forEach(listener -> listener.onComponentRemoved(updated, previous));
+        } else {
+            updated = current.withComponent(versions.incrementAndGet(), event.component());
+            ComponentResponse stored = updated.findById(event.componentId()).orElseThrow();
+            listeners.forEach(listener -> listener.onComponentUpserted(updated, previous, stored));
+        }
+        // Published only once every index has taken the change in, so a new version never serves old index state
+        snapshot = updated;
+    }
+
+    private synchronized CatalogSnapshot loadIfAbsent() {
+        return snapshot != null ? snapshot : reload();
+    }
+}
@@ -0,0 +1,31 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+
+/**
+ * Application event published by ComponentService after a component is created, updated or deleted.
+ * A null component means the component with the given ID was removed from the catalog.
+ */
+public record ComponentChangedEvent(Long componentId, ComponentResponse component) {
+
+    /**
+     * Creates an event for a component that was created or updated.
+     */
+    public static ComponentChangedEvent upserted(ComponentResponse component) {
+        return new ComponentChangedEvent(component.id(), component);
+    }
+
+    /**
+     * Creates an event for a component that was deleted.
+     */
+    public static ComponentChangedEvent deleted(Long componentId) {
+        return new ComponentChangedEvent(componentId, null);
+    }
+
+    /**
+     * Checks whether this event describes a deletion.
+     */
+    public boolean isDeletion() {
+        return component == null;
+    }
+}
@@ -0,0 +1,426 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.repository.ComponentFilter;
+import com.rigarchitect.repository.ComponentSearchTerms;
+import jakarta.annotation.PostConstruct;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Bitmap index over the component catalog for filtered searches.
+ * Every component gets a dense ordinal; each facet keeps one compressed bitmap of ordinals per distinct value,
+ * and price and stock are kept in sorted arrays for range predicates. A query intersects bitmaps instead of
+ * scanning the catalog. The index follows ComponentCatalog incrementally; deleted ordinals are left as holes
+ * until the next full reload.
+ */
+@Service
+public class ComponentFacetIndex implements CatalogListener {
+
+    /**
+     * Indexed attributes with one bitmap per distinct value.
+     */
+    public enum Facet {
+        TYPE(c -> c.type() != null ? c.type().name() : null),
+        BRAND(ComponentResponse::brand),
+        SOCKET(ComponentResponse::socket),
+        RAM_TYPE(ComponentResponse::ramType),
+        FORM_FACTOR(ComponentResponse::formFactor),
+        PSU_FORM_FACTOR(ComponentResponse::psuFormFactor),
+        COMPATIBILITY_TAG(ComponentResponse::compatibilityTag);
+
+        private final Function<ComponentResponse, String> extractor;
+
+        Facet(Function<ComponentResponse, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        String valueOf(ComponentResponse component) {
+            return extractor.apply(component);
+        }
+    }
+
+    /**
+     * Ordinals of all components with one facet value, plus the lowercased value for substring matching.
+     */
+    private record Posting(String lowerValue, RoaringBitmap ordinals) {
+    }
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(NO_VALUE + 1, 2);
+    private static final BigDecimal ONE_CENT = BigDecimal.valueOf(1, 2);
+
+    private final ComponentCatalog catalog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Facet, Map<String, Posting>> postings = new EnumMap<>(Facet.class);
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private ComponentResponse[] components = new ComponentResponse[0];
+    private String[] lowerNames = new String[0];
+    private String[] searchWords = new String[0];
+    private long[] priceCents = new long[0];
+    private long[] stock = new long[0];
+    private int ordinalCount;
+    private SortedValueIndex priceIndex = SortedValueIndex.build(priceCents, 0, NO_VALUE);
+    private SortedValueIndex stockIndex = SortedValueIndex.build(stock, 0, NO_VALUE);
+
+    /**
+     * Constructor with component catalog dependency.
+     */
+    public ComponentFacetIndex(ComponentCatalog catalog) {
+        this.catalog = catalog;
+        for (Facet facet : Facet.values()) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    @PostConstruct
+    void register() {
+        catalog.addListener(this);
+    }
+
+    /**
+     * Finds all components matching the filter, ordered by ID.
+     */
+    public List<ComponentResponse> search(ComponentFilter filter) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = query(filter);
+            List<ComponentResponse> result = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int ordinal) -> result.add(components[ordinal]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the components matching the filter.
+     */
+    public int count(ComponentFilter filter) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            return query(filter).getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the components matching the filter per value of the given facets and per price bucket,
+     * intersecting the result once with each facet value's bitmap.
+     *
+     * @param priceBoundsCents ascending lower bounds of the price buckets in cents; the last bucket is open-ended
+     */
+    public FacetCounts facetCounts(ComponentFilter filter, Set<Facet> facets, long[] priceBoundsCents) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = query(filter);
+
+            Map<Facet, Map<String, Integer>> values = new EnumMap<>(Facet.class);
+            for (Facet facet : facets) {
+                Map<String, Integer> counts = new HashMap<>();
+                postings.get(facet).forEach((value, posting) -> {
+                    int count = RoaringBitmap.andCardinality(matches, posting.ordinals());
+                    if (count > 0) {
+                        counts.put(value, count);
+                    }
+                });
+                values.put(facet, counts);
+            }
+
+            int[] buckets = new int[priceBoundsCents.length];
+            matches.forEach((int ordinal) -> {
+                long cents = priceCents[ordinal];
+                if (cents == NO_VALUE) {
+                    return;
+                }
+                int bucket = Arrays.binarySearch(priceBoundsCents, cents);
+                bucket = bucket >= 0 ? bucket : -bucket - 2;
+                if (bucket >= 0) {
+                    buckets[bucket]++;
+                }
+            });
+            return new FacetCounts(matches.getCardinality(), values, buckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            List<ComponentResponse> all = snapshot.all();
+            int capacity = all.size();
+            postings.values().forEach(Map::clear);
+            ordinalById.clear();
+            live.clear();
+            components = new ComponentResponse[capacity];
+            lowerNames = new String[capacity];
+            searchWords = new String[capacity];
+            priceCents = new long[capacity];
+            stock = new long[capacity];
+            ordinalCount = 0;
+
+            for (ComponentResponse component : all) {
+                int ordinal = ordinalCount++;
+                ordinalById.put(component.id(), ordinal);
+                store(ordinal, component);
+                addPostings(ordinal, component);
+            }
+            live.add(0L, ordinalCount);
+            priceIndex = SortedValueIndex.build(priceCents, ordinalCount, NO_VALUE);
+            stockIndex = SortedValueIndex.build(stock, ordinalCount, NO_VALUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(current.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                removePostings(ordinal, components[ordinal]);
+                removeRanges(ordinal);
+            } else {
+                ordinal = ordinalCount++;
+                ensureCapacity(ordinalCount);
+                ordinalById.put(current.id(), ordinal);
+                live.add(ordinal);
+            }
+            store(ordinal, current);
+            addPostings(ordinal, current);
+            addRanges(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(previous.id());
+            if (ordinal == null) {
+                return;
+            }
+            removePostings(ordinal, components[ordinal]);
+            removeRanges(ordinal);
+            live.remove(ordinal);
+            components[ordinal] = null;
+            lowerNames[ordinal] = null;
+            searchWords[ordinal] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates the filter to a bitmap of matching ordinals. Callers must hold the read lock.
+     * Equality facets are intersected first; range predicates are then applied either by checking the
+     * per-ordinal values of the few remaining candidates or by intersecting with a range from the sorted arrays.
+     */
+    RoaringBitmap query(ComponentFilter filter) {
+        RoaringBitmap result = live.clone();
+
+        if (filter.type() != null) {
+            Posting posting = postings.get(Facet.TYPE).get(filter.type().name());
+            result.and(posting != null ? posting.ordinals() : new RoaringBitmap());
+        }
+        andContaining(result, Facet.BRAND, filter.brand());
+        andContaining(result, Facet.SOCKET, filter.socket());
+        andContaining(result, Facet.COMPATIBILITY_TAG, filter.compatibilityTag());
+
+        if (filter.maxPrice() != null && !result.isEmpty()) {
+            long maxCents = toCents(filter.maxPrice());
+            applyRange(result, priceIndex, priceCents, Long.MIN_VALUE + 1, maxCents);
+        }
+        if (filter.minStock() > 0 && !result.isEmpty()) {
+            applyRange(result, stockIndex, stock, filter.minStock(), Long.MAX_VALUE);
+        }
+
+        if (filter.searchTerm() != null && !result.isEmpty()) {
+            String term = filter.searchTerm().toLowerCase(Locale.ROOT);
+            List<String> prefixes = ComponentSearchTerms.words(term).stream().map(word -> " " + word).toList();
+            RoaringBitmap termMatches = containing(Facet.BRAND, term);
+            termMatches.or(containing(Facet.COMPATIBILITY_TAG, term));
+            RoaringBitmap byText = new RoaringBitmap();
+            result.forEach((int ordinal) -> {
+                if ((lowerNames[ordinal] != null && lowerNames[ordinal].contains(term))
+                        || (!prefixes.isEmpty() && containsAll(searchWords[ordinal], prefixes))) {
+                    byText.add(ordinal);
+                }
+            });
+            termMatches.or(byText);
+            result.and(termMatches);
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String words, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (!words.contains(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void andContaining(RoaringBitmap result, Facet facet, String value) {
+        if (value != null) {
+            result.and(containing(facet, value.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Unions the bitmaps of all facet values containing the lowercased term, matching the ILIKE semantics of
+     * the paginated queries. Facets have few distinct values, so this stays far cheaper than a catalog scan.
+     */
+    private RoaringBitmap containing(Facet facet, String lowerTerm) {
+        List<RoaringBitmap> matching = new ArrayList<>();
+        for (Posting posting : postings.get(facet).values()) {
+            if (posting.lowerValue().contains(lowerTerm)) {
+                matching.add(posting.ordinals());
+            }
+        }
+        return RoaringBitmap.or(matching.iterator());
+    }
+
+    private static void applyRange(RoaringBitmap result, SortedValueIndex index, long[] valueByOrdinal,
+                                   long min, long max) {
+        int candidates = result.getCardinality();
+        if (candidates <= index.count(min, max)) {
+            RoaringBitmap outside = new RoaringBitmap();
+            result.forEach((int ordinal) -> {
+                long value = valueByOrdinal[ordinal];
+                if (value == NO_VALUE || value < min || value > max) {
+                    outside.add(ordinal);
+                }
+            });
+            result.andNot(outside);
+        } else {
+            result.and(index.between(min, max));
+        }
+    }
+
+    private void store(int ordinal, ComponentResponse component) {
+        components[ordinal] = component;
+        lowerNames[ordinal] = component.name() != null ? component.name().toLowerCase(Locale.ROOT) : null;
+        searchWords[ordinal] = searchWords(component);
+        priceCents[ordinal] = component.price() != null ? toCents(component.price()) : NO_VALUE;
+        stock[ordinal] = component.stockQuantity() != null ? component.stockQuantity() : 0;
+    }
+
+    private void addPostings(int ordinal, ComponentResponse component) {
+        for (Facet facet : Facet.values()) {
+            String value = facet.valueOf(component);
+            if (value != null) {
+                postings.get(facet)
+                        .computeIfAbsent(value, v -> new Posting(v.toLowerCase(Locale.ROOT), new RoaringBitmap()))
+                        .ordinals()
+                        .add(ordinal);
+            }
+        }
+    }
+
+    private void removePostings(int ordinal, ComponentResponse component) {
+        for (Facet facet : Facet.values()) {
+            String value = facet.valueOf(component);
+            if (value == null) {
+                continue;
+            }
+            Map<String, Posting> values = postings.get(facet);
+            Posting posting = values.get(value);
+            if (posting != null) {
+                posting.ordinals().remove(ordinal);
+                if (posting.ordinals().isEmpty()) {
+                    values.remove(value);
+                }
+            }
+        }
+    }
+
+    private void addRanges(int ordinal) {
+        if (priceCents[ordinal] != NO_VALUE) {
+            priceIndex.insert(priceCents[ordinal], ordinal);
+        }
+        stockIndex.insert(stock[ordinal], ordinal);
+    }
+
+    private void removeRanges(int ordinal) {
+        if (priceCents[ordinal] != NO_VALUE) {
+            priceIndex.remove(priceCents[ordinal], ordinal);
+        }
+        stockIndex.remove(stock[ordinal], ordinal);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= components.length) {
+            return;
+        }
+        int capacity = Math.max(16, Math.max(required, components.length + (components.length >> 1)));
+        components = Arrays.copyOf(components, capacity);
+        lowerNames = Arrays.copyOf(lowerNames, capacity);
+        searchWords = Arrays.copyOf(searchWords, capacity);
+        priceCents = Arrays.copyOf(priceCents, capacity);
+        stock = Arrays.copyOf(stock, capacity);
+    }
+
+    /**
+     * Joins the words of name, brand and compatibility tag, each preceded by a space, so that a word prefix
+     * matches as {@code contains(" " + prefix)}. This mirrors the full-text branch of the database search.
+     */
+    private static String searchWords(ComponentResponse component) {
+        StringBuilder words = new StringBuilder();
+        for (String text : new String[]{component.name(), component.brand(), component.compatibilityTag()}) {
+            for (String word : ComponentSearchTerms.words(text)) {
+                words.append(' ').append(word);
+            }
+        }
+        return words.toString();
+    }
+
+    /**
+     * Converts a price to whole cents, rounding down so that price &lt;= maxPrice holds in cents as well.
+     * Prices beyond the range of cents saturate to its ends, which no stored price can lie outside of; they are
+     * compared before rescaling so that a huge or tiny exponent is never expanded.
+     */
+    static long toCents(BigDecimal price) {
+        if (price.compareTo(MAX_PRICE) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (price.compareTo(MIN_PRICE) <= 0) {
+            return NO_VALUE + 1;
+        }
+        if (price.abs().compareTo(ONE_CENT) < 0) {
+            return price.signum() < 0 ? -1 : 0;
+        }
+        return price.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+}
@@ -0,0 +1,13 @@
+package com.rigarchitect.service.catalog;
+
+import java.util.Map;
+
+/**
+ * Counts of a filtered result set, broken down by facet value and by price bucket.
+ *
+ * @param total        number of matching components
+ * @param values       per facet, the number of matching components for each value
+ * @param priceBuckets matching components per price bucket, aligned with the bucket bounds passed to the query
+ */
+public record FacetCounts(int total, Map<ComponentFacetIndex.Facet, Map<String, Integer>> values, int[] priceBuckets) {
+}
@@ -0,0 +1,465 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.PairSignature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Precomputed pairwise compatibility for the pairings that dominate compatibility lookups: CPU x motherboard,
+ * motherboard x RAM and case x GPU, cooler and power supply.
+ * <p>
+ * Components of each paired type get dense ordinals, and every pairing keeps, for each component on either side,
+ * a packed bitset of the compatible components on the other side (a row and its transpose). Narrowing candidates
+ * to those compatible with several components is a word-wise AND of their rows, and counting them is a popcount.
+ * When a component is written, only its own row is recomputed and its bit flipped in each row on the other side.
+ * Rows are filled per distinct combination of the attributes {@link CompatibilityRules} reads, so a full load
+ * checks each distinct pair of attribute combinations once rather than each pair of components.
+ * <p>
+ * Only the built-in rules are precomputed; the rule-language rules can read any field, so CompatibilityService
+ * applies them to the matrix's answers.
+ * <p>
+ * Like CompatibilityIndex, deleted ordinals stay as cleared holes until the next full reload.
+ */
+@Service
+public class PairCompatibilityMatrix implements CatalogListener {
+
+    /**
+     * The precomputed pairings, as (left, right) component types.
+     */
+    enum Pairing {
+        CPU_MOTHERBOARD(ComponentType.CPU, ComponentType.Motherboard),
+        MOTHERBOARD_RAM(ComponentType.Motherboard, ComponentType.RAM),
+        CASE_GPU(ComponentType.Case, ComponentType.GPU),
+        CASE_COOLER(ComponentType.Case, ComponentType.Cooler),
+        CASE_PSU(ComponentType.Case, ComponentType.PSU);
+
+        private final ComponentType left;
+        private final ComponentType right;
+
+        Pairing(ComponentType left, ComponentType right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Dense ordinals of the components of one type, with the members of each signature as a bitset.
+     */
+    private static final class Slots {
+        final Map<Long, Integer> ordinalById = new HashMap<>();
+        final Map<PairSignature, long[]> membersBySignature = new HashMap<>();
+        ComponentResponse[] components = new ComponentResponse[0];
+        PairSignature[] signatures = new PairSignature[0];
+        long[] live = new long[0];
+        int count;
+
+        int add(ComponentResponse component) {
+            int ordinal = count++;
+            if (ordinal == components.length) {
+                components = Arrays.copyOf(components, Math.max(16, ordinal * 2));
+                signatures = Arrays.copyOf(signatures, components.length);
+            }
+            ordinalById.put(component.id(), ordinal);
+            place(ordinal, component);
+            return ordinal;
+        }
+
+        void place(int ordinal, ComponentResponse component) {
+            PairSignature signature = PairSignature.of(component);
+            components[ordinal] = component;
+            signatures[ordinal] = signature;
+            live = Bits.set(live, ordinal);
+            membersBySignature.merge(signature, Bits.set(new long[0], ordinal), (members, added) -> Bits.set(members, ordinal));
+        }
+
+        void unplace(int ordinal) {
+            long[] members = membersBySignature.get(signatures[ordinal]);
+            Bits.clear(members, ordinal);
+            if (Bits.isEmpty(members)) {
+                membersBySignature.remove(signatures[ordinal]);
+            }
+        }
+
+        void clear(int ordinal) {
+            unplace(ordinal);
+            Bits.clear(live, ordinal);
+            components[ordinal] = null;
+            signatures[ordinal] = null;
+        }
+
+        ComponentResponse representative(long[] members) {
+            return components[Bits.first(members)];
+        }
+    }
+
+    /**
+     * Compatibility of one pairing: each left component's row of compatible right components, and its transpose.
+     */
+    private static final class Matrix {
+        long[][] rows = new long[0][];
+        long[][] columns = new long[0][];
+
+        long[] row(int ordinal) {
+            return ordinal < rows.length && rows[ordinal] != null ? rows[ordinal] : Bits.EMPTY;
+        }
+
+        long[] column(int ordinal) {
+            return ordinal < columns.length && columns[ordinal] != null ? columns[ordinal] : Bits.EMPTY;
+        }
+    }
+
+    private final ComponentCatalog catalog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ComponentType, Slots> slots = new EnumMap<>(ComponentType.class);
+    private final Map<Pairing, Matrix> matrices = new EnumMap<>(Pairing.class);
+
+    /**
+     * Constructor with component catalog dependency.
+     */
+    public PairCompatibilityMatrix(ComponentCatalog catalog) {
+        this.catalog = catalog;
+        reset();
+    }
+
+    @PostConstruct
+    void register() {
+        catalog.addListener(this);
+    }
+
+    /**
+     * Gets the types whose compatibility with the given type is precomputed.
+     */
+    public static Set<ComponentType> pairedTypes(ComponentType type) {
+        Set<ComponentType> paired = EnumSet.noneOf(ComponentType.class);
+        for (Pairing pairing : Pairing.values()) {
+            if (pairing.left == type) {
+                paired.add(pairing.right);
+            } else if (pairing.right == type) {
+                paired.add(pairing.left);
+            }
+        }
+        return paired;
+    }
+
+    /**
+     * Finds the components of the target type compatible with every anchor, by ID. Anchors whose type is not
+     * paired with the target do not constrain it; the target must be a paired type.
+     */
+    public List<ComponentResponse> compatibleWithAll(Collection<ComponentResponse> anchors, ComponentType target) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            long[] bits = intersect(anchors, target);
+            ComponentResponse[] components = slots.get(target).components;
+            List<ComponentResponse> result = new ArrayList<>(Bits.count(bits));
+            for (int ordinal = Bits.next(bits, 0); ordinal >= 0; ordinal = Bits.next(bits, ordinal + 1)) {
+                result.add(components[ordinal]);
+            }
+            result.sort((a, b) -> a.id().compareTo(b.id()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the components of each paired type that are compatible with the component.
+     */
+    public Map<ComponentType, Integer> compatibleCounts(ComponentResponse component) {
+        catalog.current();
+        lock.readLock().lock();
+        try {
+            Map<ComponentType, Integer> counts = new EnumMap<>(ComponentType.class);
+            for (ComponentType target : pairedTypes(component.type())) {
+                counts.put(target, Bits.count(intersect(List.of(component), target)));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            reset();
+            for (Map.Entry<ComponentType, Slots> entry : slots.entrySet()) {
+                for (ComponentResponse component : snapshot.byType(entry.getKey())) {
+                    entry.getValue().add(component);
+                }
+            }
+            for (Pairing pairing : Pairing.values()) {
+                Matrix matrix = matrices.get(pairing);
+                matrix.rows = fill(slots.get(pairing.left), slots.get(pairing.right));
+                matrix.columns = fill(slots.get(pairing.right), slots.get(pairing.left));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null && previous.type() != current.type()) {
+                remove(previous);
+            }
+            Slots own = slots.get(current.type());
+            if (own == null) {
+                return;
+            }
+            Integer existing = own.ordinalById.get(current.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                own.unplace(ordinal);
+                own.place(ordinal, current);
+            } else {
+                ordinal = own.add(current);
+            }
+            for (Pairing pairing : Pairing.values()) {
+                if (pairing.left == current.type()) {
+                    Matrix matrix = matrices.get(pairing);
+                    matrix.rows = ensure(matrix.rows, own.count);
+                    matrix.rows[ordinal] = row(current, slots.get(pairing.right));
+                    matrix.columns = transpose(matrix.columns, matrix.rows[ordinal], slots.get(pairing.right), ordinal);
+                } else if (pairing.right == current.type()) {
+                    Matrix matrix = matrices.get(pairing);
+                    matrix.columns = ensure(matrix.columns, own.count);
+                    matrix.columns[ordinal] = row(current, slots.get(pairing.left));
+                    matrix.rows = transpose(matrix.rows, matrix.columns[ordinal], slots.get(pairing.left), ordinal);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reset() {
+        slots.clear();
+        for (Pairing pairing : Pairing.values()) {
+            slots.putIfAbsent(pairing.left, new Slots());
+            slots.putIfAbsent(pairing.right, new Slots());
+            matrices.put(pairing, new Matrix());
+        }
+    }
+
+    /**
+     * Intersects the live components of the target type with the row of each anchor paired with it.
+     * Callers must hold the read lock.
+     */
+    private long[] intersect(Collection<ComponentResponse> anchors, ComponentType target) {
+        Slots targetSlots = slots.get(target);
+        if (targetSlots == null) {
+            throw new IllegalArgumentException("Compatibility with " + target + " is not precomputed");
+        }
+        long[] bits = targetSlots.live.clone();
+        for (ComponentResponse anchor : anchors) {
+            Slots anchorSlots = slots.get(anchor.type());
+            Integer ordinal = anchorSlots != null ? anchorSlots.ordinalById.get(anchor.id()) : null;
+            if (ordinal == null) {
+                continue;
+            }
+            for (Pairing pairing : Pairing.values()) {
+                if (pairing.left == anchor.type() && pairing.right == target) {
+                    Bits.and(bits, matrices.get(pairing).row(ordinal));
+                } else if (pairing.right == anchor.type() && pairing.left == target) {
+                    Bits.and(bits, matrices.get(pairing).column(ordinal));
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Computes the rows of every component of one side against the other, once per distinct signature.
+     */
+    private static long[][] fill(Slots own, Slots other) {
+        long[][] rows = new long[own.count][];
+        Map<PairSignature, long[]> bySignature = new HashMap<>();
+        for (int ordinal = 0; ordinal < own.count; ordinal++) {
+            ComponentResponse component = own.components[ordinal];
+            if (component != null) {
+                rows[ordinal] = bySignature.computeIfAbsent(own.signatures[ordinal], s -> row(component, other)).clone();
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Computes the bitset of the components on the other side compatible with the component,
+     * checking one representative per signature.
+     */
+    private static long[] row(ComponentResponse component, Slots other) {
+        long[] row = new long[Bits.words(other.count)];
+        for (long[] members : other.membersBySignature.values()) {
+            if (CompatibilityRules.compatible(component, other.representative(members))) {
+                Bits.or(row, members);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Sets or clears the component's bit in each row on the other side to match its own row.
+     */
+    private static long[][] transpose(long[][] others, long[] row, Slots other, int ordinal) {
+        long[][] result = ensure(others, other.count);
+        for (int index = Bits.next(other.live, 0); index >= 0; index = Bits.next(other.live, index + 1)) {
+            long[] current = result[index] != null ? result[index] : Bits.EMPTY;
+            result[index] = Bits.get(row, index) ? Bits.set(current, ordinal) : Bits.clear(current, ordinal);
+        }
+        return result;
+    }
+
+    /**
+     * Clears a component's row and its bit in every row on the other side, leaving its ordinal as a hole.
+     */
+    private void remove(ComponentResponse component) {
+        Slots own = slots.get(component.type());
+        Integer ordinal = own != null ? own.ordinalById.remove(component.id()) : null;
+        if (ordinal == null) {
+            return;
+        }
+        own.clear(ordinal);
+        for (Pairing pairing : Pairing.values()) {
+            Matrix matrix = matrices.get(pairing);
+            if (pairing.left == component.type()) {
+                clearAll(matrix.columns, matrix.row(ordinal), ordinal);
+                if (ordinal < matrix.rows.length) {
+                    matrix.rows[ordinal] = null;
+                }
+            } else if (pairing.right == component.type()) {
+                clearAll(matrix.rows, matrix.column(ordinal), ordinal);
+                if (ordinal < matrix.columns.length) {
+                    matrix.columns[ordinal] = null;
+                }
+            }
+        }
+    }
+
+    private static void clearAll(long[][] others, long[] row, int ordinal) {
+        for (int index = Bits.next(row, 0); index >= 0; index = Bits.next(row, index + 1)) {
+            if (index < others.length && others[index] != null) {
+                Bits.clear(others[index], ordinal);
+            }
+        }
+    }
+
+    private static long[][] ensure(long[][] rows, int size) {
+        return rows.length >= size ? rows : Arrays.copyOf(rows, Math.max(size, rows.length * 2));
+    }
+
+    /**
+     * Packed bitset helpers over long[] words; reads past the end of an array see zeros.
+     */
+    private static final class Bits {
+        static final long[] EMPTY = new long[0];
+
+        static int words(int bits) {
+            return (bits + 63) >>> 6;
+        }
+
+        static boolean get(long[] bits, int index) {
+            int word = index >>> 6;
+            return word < bits.length && (bits[word] & (1L << index)) != 0;
+        }
+
+        static long[] set(long[] bits, int index) {
+            int word = index >>> 6;
+            long[] result = word < bits.length ? bits : Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+            result[word] |= 1L << index;
+            return result;
+        }
+
+        static long[] clear(long[] bits, int index) {
+            int word = index >>> 6;
+            if (word < bits.length) {
+                bits[word] &= ~(1L << index);
+            }
+            return bits;
+        }
+
+        static void and(long[] bits, long[] other) {
+            for (int word = 0; word < bits.length; word++) {
+                bits[word] &= word < other.length ? other[word] : 0;
+            }
+        }
+
+        static void or(long[] bits, long[] other) {
+            for (int word = 0; word < Math.min(bits.length, other.length); word++) {
+                bits[word] |= other[word];
+            }
+        }
+
+        static int count(long[] bits) {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        static boolean isEmpty(long[] bits) {
+            for (long word : bits) {
+                if (word != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static int first(long[] bits) {
+            return next(bits, 0);
+        }
+
+        /**
+         * Gets the index of the first set bit at or after {@code from}, or -1 if there is none.
+         */
+        static int next(long[] bits, int from) {
+            int word = from >>> 6;
+            if (word >= bits.length) {
+                return -1;
+            }
+            long current = bits[word] & (-1L << from);
+            while (true) {
+                if (current != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(current);
+                }
+                if (++word == bits.length) {
+                    return -1;
+                }
+                current = bits[word];
+            }
+        }
+    }
+}
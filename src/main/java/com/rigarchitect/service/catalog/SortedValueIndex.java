@@ -0,0 +1,138 @@
+package com.rigarchitect.service.catalog;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Component ordinals sorted by a numeric attribute, for range predicates such as price, stock or clearances.
+ * Lookups are binary searches; incremental changes shift the arrays, which is cheap next to how rarely
+ * the catalog is written. Not thread-safe, the owning index guards it with its own lock.
+ */
+final class SortedValueIndex {
+
+    private long[] values;
+    private int[] ordinals;
+    private int size;
+
+    private SortedValueIndex(long[] values, int[] ordinals) {
+        this.values = values;
+        this.ordinals = ordinals;
+        this.size = values.length;
+    }
+
+    /**
+     * Builds the index from per-ordinal values. Ordinals whose value is the given absent marker are skipped.
+     */
+    static SortedValueIndex build(long[] valueByOrdinal, int ordinalCount, long absent) {
+        int[] present = IntStream.range(0, ordinalCount).filter(o -> valueByOrdinal[o] != absent).toArray();
+
+        long max = Arrays.stream(present).mapToLong(o -> valueByOrdinal[o]).max().orElse(0);
+        long min = Arrays.stream(present).mapToLong(o -> valueByOrdinal[o]).min().orElse(0);
+        if (min >= 0 && max <= Integer.MAX_VALUE) {
+            // Pack value and ordinal into one long so the sort stays primitive
+            long[] packed = new long[present.length];
+            for (int i = 0; i < present.length; i++) {
+                packed[i] = (valueByOrdinal[present[i]] << 32) | present[i];
+            }
+            Arrays.sort(packed);
+            long[] values = new long[packed.length];
+            int[] ordinals = new int[packed.length];
+            for (int i = 0; i < packed.length; i++) {
+                values[i] = packed[i] >>> 32;
+                ordinals[i] = (int) packed[i];
+            }
+            return new SortedValueIndex(values, ordinals);
+        }
+
+        int[] sorted = Arrays.stream(present).boxed()
+                .sorted(Comparator.comparingLong(o -> valueByOrdinal[o]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long[] values = Arrays.stream(sorted).mapToLong(o -> valueByOrdinal[o]).toArray();
+        return new SortedValueIndex(values, sorted);
+    }
+
+    void insert(long value, int ordinal) {
+        if (size == values.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            values = Arrays.copyOf(values, capacity);
+            ordinals = Arrays.copyOf(ordinals, capacity);
+        }
+        int at = upperBound(value);
+        System.arraycopy(values, at, values, at + 1, size - at);
+        System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+        values[at] = value;
+        ordinals[at] = ordinal;
+        size++;
+    }
+
+    void remove(long value, int ordinal) {
+        for (int i = lowerBound(value); i < size && values[i] == value; i++) {
+            if (ordinals[i] == ordinal) {
+                System.arraycopy(values, i + 1, values, i, size - i - 1);
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counts entries with min &lt;= value &lt;= max without materializing them.
+     */
+    int count(long min, long max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    /**
+     * Gets the ordinals of entries with min &lt;= value &lt;= max.
+     */
+    RoaringBitmap between(long min, long max) {
+        int from = lowerBound(min);
+        int to = upperBound(max);
+        RoaringBitmap result = new RoaringBitmap();
+        if (from < to) {
+            int[] slice = Arrays.copyOfRange(ordinals, from, to);
+            Arrays.sort(slice);
+            result.addN(slice, 0, slice.length);
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** First index whose value is &gt;= the given value. */
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First index whose value is &gt; the given value. */
+    private int upperBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,132 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.build.ComponentScores;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Price/performance Pareto frontier per component type, for "best value" views.
+ * A type's frontier holds its in-stock components with a performance score that no other in-stock component
+ * of the type beats on both counts: nothing else is cheaper with at least the same score, or scores higher
+ * for at most the same price. Frontiers are kept ordered by price, which also orders them by score.
+ * <p>
+ * A type's frontier is recomputed from the snapshot only when one of its components changes price, stock
+ * status or score, or joins or leaves the type; removing a component that is not on the frontier changes nothing.
+ * Readers get an immutable map that is swapped as a whole.
+ */
+@Service
+public class ValueFrontierIndex implements CatalogListener {
+
+    private static final Comparator<ComponentResponse> BY_PRICE =
+            Comparator.comparing(ComponentResponse::price)
+                    .thenComparing(Comparator.comparingLong(ComponentScores::performanceScore).reversed())
+                    .thenComparing(ComponentResponse::id);
+
+    private final ComponentCatalog catalog;
+    private volatile Map<ComponentType, List<ComponentResponse>> frontiers = Map.of();
+
+    /**
+     * Constructor with component catalog dependency.
+     */
+    public ValueFrontierIndex(ComponentCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @PostConstruct
+    void register() {
+        catalog.addListener(this);
+    }
+
+    /**
+     * Gets the frontier of a type, cheapest first.
+     */
+    public List<ComponentResponse> frontier(ComponentType type) {
+        catalog.current();
+        return frontiers.getOrDefault(type, List.of());
+    }
+
+    @Override
+    public synchronized void onCatalogLoaded(CatalogSnapshot snapshot) {
+        Map<ComponentType, List<ComponentResponse>> computed = new EnumMap<>(ComponentType.class);
+        for (ComponentType type : ComponentType.values()) {
+            computed.put(type, compute(snapshot.byType(type)));
+        }
+        frontiers = Collections.unmodifiableMap(computed);
+    }
+
+    @Override
+    public synchronized void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+        if (previous == null || previous.type() != current.type()) {
+            if (previous != null && onFrontier(previous)) {
+                recompute(snapshot, previous.type());
+            }
+            if (eligible(current)) {
+                recompute(snapshot, current.type());
+            }
+        } else if (eligible(previous) != eligible(current)
+                || (eligible(current) && (previous.price().compareTo(current.price()) != 0
+                || ComponentScores.performanceScore(previous) != ComponentScores.performanceScore(current)))) {
+            recompute(snapshot, current.type());
+        }
+    }
+
+    @Override
+    public synchronized void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+        if (previous != null && onFrontier(previous)) {
+            recompute(snapshot, previous.type());
+        }
+    }
+
+    private boolean onFrontier(ComponentResponse component) {
+        return frontiers.getOrDefault(component.type(), List.of()).stream()
+                .anyMatch(member -> member.id().equals(component.id()));
+    }
+
+    private void recompute(CatalogSnapshot snapshot, ComponentType type) {
+        Map<ComponentType, List<ComponentResponse>> updated = new EnumMap<>(ComponentType.class);
+        updated.putAll(frontiers);
+        updated.put(type, compute(snapshot.byType(type)));
+        frontiers = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Sweeps the eligible components by ascending price, keeping each one that scores higher than every cheaper one.
+     */
+    private static List<ComponentResponse> compute(List<ComponentResponse> components) {
+        List<ComponentResponse> eligible = new ArrayList<>();
+        for (ComponentResponse component : components) {
+            if (eligible(component)) {
+                eligible.add(component);
+            }
+        }
+        eligible.sort(BY_PRICE);
+
+        List<ComponentResponse> frontier = new ArrayList<>();
+        long bestScore = 0;
+        for (ComponentResponse component : eligible) {
+            long score = ComponentScores.performanceScore(component);
+            if (score > bestScore) {
+                frontier.add(component);
+                bestScore = score;
+            }
+        }
+        return List.copyOf(frontier);
+    }
+
+    /**
+     * Only in-stock components with a price and a positive performance score can be on a frontier.
+     */
+    private static boolean eligible(ComponentResponse component) {
+        return component.price() != null && component.stockQuantity() != null && component.stockQuantity() > 0
+                && ComponentScores.performanceScore(component) > 0;
+    }
+}
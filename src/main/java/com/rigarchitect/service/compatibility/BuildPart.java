@@ -0,0 +1,9 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+
+/**
+ * A component in a build together with how many of it the build contains.
+ */
+public record BuildPart(ComponentResponse component, int quantity) {
+}
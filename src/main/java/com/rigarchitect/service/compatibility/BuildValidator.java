@@ -0,0 +1,58 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates a whole build against every {@link CompatibilityRule}, including configured rule-language rules.
+ * Parts are visited once, each checked against the parts before it, and the power draw is accumulated along the way.
+ */
+public final class BuildValidator {
+
+    private BuildValidator() {
+    }
+
+    /**
+     * Validates the build and collects every violation; an empty or partial build is valid as long as its parts fit.
+     */
+    public static BuildVerdict validate(List<BuildPart> parts) {
+        return validate(parts, RuleSet.EMPTY);
+    }
+
+    /**
+     * Validates the build against the built-in rules and the given rule-language rules.
+     */
+    public static BuildVerdict validate(List<BuildPart> parts, RuleSet rules) {
+        List<BuildViolation> violations = new ArrayList<>();
+        List<Long> psuIds = new ArrayList<>();
+
+        for (int i = 0; i < parts.size(); i++) {
+            ComponentResponse component = parts.get(i).component();
+            if (component.type() == ComponentType.PSU) {
+                psuIds.add(component.id());
+            }
+            for (int j = 0; j < i; j++) {
+                ComponentResponse other = parts.get(j).component();
+                for (CompatibilityRule rule : CompatibilityRules.violations(other, component)) {
+                    violations.add(new BuildViolation(rule,
+                            String.format("%s: %s and %s", rule.description(), other.name(), component.name()),
+                            List.of(other.id(), component.id())));
+                }
+            }
+        }
+
+        rules.collectViolations(parts, violations);
+
+        int draw = CompatibilityRules.estimatedDraw(parts);
+        Integer capacity = CompatibilityRules.psuCapacity(parts);
+        if (capacity != null && draw > capacity) {
+            violations.add(new BuildViolation(CompatibilityRule.POWER,
+                    String.format("%s: estimated draw %dW exceeds %dW", CompatibilityRule.POWER.description(), draw, capacity),
+                    psuIds));
+        }
+        return new BuildVerdict(violations, draw, capacity);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rigarchitect.service.compatibility;
+
+import java.util.List;
+
+/**
+ * Outcome of validating a whole build.
+ *
+ * @param psuCapacityWatts summed output of the power supplies in the build, or null if it has none
+ */
+public record BuildVerdict(List<BuildViolation> violations, int estimatedDrawWatts, Integer psuCapacityWatts) {
+
+    public BuildVerdict {
+        violations = List.copyOf(violations);
+    }
+
+    public boolean valid() {
+        return violations.isEmpty();
+    }
+}
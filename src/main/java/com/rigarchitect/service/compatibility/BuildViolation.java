@@ -0,0 +1,9 @@
+package com.rigarchitect.service.compatibility;
+
+import java.util.List;
+
+/**
+ * One broken compatibility rule in a build, with the components involved.
+ */
+public record BuildViolation(CompatibilityRule rule, String message, List<Long> componentIds) {
+}
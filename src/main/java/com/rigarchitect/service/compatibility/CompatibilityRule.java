@@ -0,0 +1,25 @@
+package com.rigarchitect.service.compatibility;
+
+/**
+ * Physical and electrical compatibility rules between the components of a build.
+ */
+public enum CompatibilityRule {
+    SOCKET("CPU, motherboard and cooler sockets must match"),
+    RAM_TYPE("Memory type must be supported by the CPU and motherboard"),
+    FORM_FACTOR("Motherboard form factor must fit the case"),
+    GPU_CLEARANCE("Graphics card must fit the case and motherboard clearance"),
+    COOLER_CLEARANCE("CPU cooler must fit the case height clearance"),
+    PSU_FORM_FACTOR("Power supply form factor must fit the case"),
+    POWER("Power supply must cover the estimated system draw"),
+    CONFIGURED("Configured compatibility rule must hold");
+
+    private final String description;
+
+    CompatibilityRule(String description) {
+        this.description = description;
+    }
+
+    public String description() {
+        return description;
+    }
+}
@@ -0,0 +1,179 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Pairwise and whole-build compatibility checks over catalog components.
+ * A rule only fails on known values: a missing attribute on either side never makes components incompatible.
+ */
+public final class CompatibilityRules {
+
+    private CompatibilityRules() {
+    }
+
+    /**
+     * Gets the rules two components break when used in the same build; empty if they are compatible or unrelated.
+     */
+    public static Set<CompatibilityRule> violations(ComponentResponse a, ComponentResponse b) {
+        Set<CompatibilityRule> broken = EnumSet.noneOf(CompatibilityRule.class);
+        check(broken, a, b);
+        check(broken, b, a);
+        return broken;
+    }
+
+    /**
+     * Checks whether two components can be used in the same build.
+     */
+    public static boolean compatible(ComponentResponse a, ComponentResponse b) {
+        return violations(a, b).isEmpty();
+    }
+
+    /**
+     * Checks whether any pair rule applies between components of the two types.
+     * Components of unrelated types are always compatible, so searches can skip checking them.
+     */
+    public static boolean related(ComponentType a, ComponentType b) {
+        return constrains(a, b) || constrains(b, a);
+    }
+
+    /**
+     * Estimates the draw of one unit of a component in watts: its wattage scaled by its power tier.
+     * Power supplies draw nothing; components without a wattage give null.
+     */
+    public static Integer unitDraw(ComponentResponse component) {
+        if (component.type() == ComponentType.PSU) {
+            return 0;
+        }
+        return component.wattage() != null ? PowerTier.of(component.metadata()).estimate(component.wattage()) : null;
+    }
+
+    /**
+     * Gets the output of one unit of a power supply in watts, or 0 for any other component.
+     */
+    public static int unitCapacity(ComponentResponse component) {
+        return component.type() == ComponentType.PSU && component.wattage() != null ? component.wattage() : 0;
+    }
+
+    /**
+     * Estimates the system draw in watts as the summed unit draw of every part except power supplies.
+     */
+    public static int estimatedDraw(Collection<BuildPart> parts) {
+        int draw = 0;
+        for (BuildPart part : parts) {
+            Integer unit = unitDraw(part.component());
+            if (unit != null) {
+                draw += unit * part.quantity();
+            }
+        }
+        return draw;
+    }
+
+    /**
+     * Gets the summed output of the power supplies in the build, or null if it has none with a known wattage.
+     */
+    public static Integer psuCapacity(Collection<BuildPart> parts) {
+        Integer capacity = null;
+        for (BuildPart part : parts) {
+            ComponentResponse component = part.component();
+            if (component.type() == ComponentType.PSU && component.wattage() != null) {
+                capacity = (capacity != null ? capacity : 0) + unitCapacity(component) * part.quantity();
+            }
+        }
+        return capacity;
+    }
+
+    /**
+     * Checks the one directional half of each pair rule, with {@code x} as the dependent component.
+     */
+    private static void check(Set<CompatibilityRule> broken, ComponentResponse x, ComponentResponse y) {
+        ComponentType target = y.type();
+        switch (x.type()) {
+            case CPU -> {
+                if (target == ComponentType.Motherboard) {
+                    if (differ(x.socket(), y.socket())) {
+                        broken.add(CompatibilityRule.SOCKET);
+                    }
+                    if (disjoint(ComponentSpecs.ramTypes(x), ComponentSpecs.ramTypes(y))) {
+                        broken.add(CompatibilityRule.RAM_TYPE);
+                    }
+                }
+            }
+            case Cooler -> {
+                if ((target == ComponentType.CPU || target == ComponentType.Motherboard)
+                        && excluded(ComponentSpecs.coolerSockets(x), y.socket())) {
+                    broken.add(CompatibilityRule.SOCKET);
+                }
+                if (target == ComponentType.Case && exceeds(x.coolerHeightMm(), y.coolerHeightMm())) {
+                    broken.add(CompatibilityRule.COOLER_CLEARANCE);
+                }
+            }
+            case RAM -> {
+                if ((target == ComponentType.CPU || target == ComponentType.Motherboard)
+                        && disjoint(ComponentSpecs.ramTypes(x), ComponentSpecs.ramTypes(y))) {
+                    broken.add(CompatibilityRule.RAM_TYPE);
+                }
+            }
+            case Motherboard -> {
+                if (target == ComponentType.Case && excluded(ComponentSpecs.caseBoardFormFactors(y), x.formFactor())) {
+                    broken.add(CompatibilityRule.FORM_FACTOR);
+                }
+            }
+            case GPU -> {
+                if ((target == ComponentType.Case || target == ComponentType.Motherboard)
+                        && exceeds(x.gpuLengthMm(), y.gpuLengthMm())) {
+                    broken.add(CompatibilityRule.GPU_CLEARANCE);
+                }
+            }
+            case PSU -> {
+                if (target == ComponentType.Case && differ(x.psuFormFactor(), y.psuFormFactor())) {
+                    broken.add(CompatibilityRule.PSU_FORM_FACTOR);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Mirrors the type pairs handled by {@link #check}, with {@code x} as the dependent type.
+     */
+    private static boolean constrains(ComponentType x, ComponentType target) {
+        return switch (x) {
+            case CPU -> target == ComponentType.Motherboard;
+            case Cooler -> target == ComponentType.CPU || target == ComponentType.Motherboard || target == ComponentType.Case;
+            case RAM -> target == ComponentType.CPU || target == ComponentType.Motherboard;
+            case Motherboard -> target == ComponentType.Case;
+            case GPU -> target == ComponentType.Case || target == ComponentType.Motherboard;
+            case PSU -> target == ComponentType.Case;
+            default -> false;
+        };
+    }
+
+    private static boolean differ(String a, String b) {
+        String left = ComponentSpecs.normalize(a);
+        String right = ComponentSpecs.normalize(b);
+        return left != null && right != null && !left.equals(right);
+    }
+
+    /**
+     * Checks whether two known sets of values have nothing in common; an empty set is unknown and never conflicts.
+     */
+    private static boolean disjoint(Set<String> a, Set<String> b) {
+        return !a.isEmpty() && !b.isEmpty() && Collections.disjoint(a, b);
+    }
+
+    private static boolean excluded(Set<String> accepted, String value) {
+        String normalized = ComponentSpecs.normalize(value);
+        return normalized != null && !accepted.isEmpty() && !accepted.contains(normalized);
+    }
+
+    private static boolean exceeds(Integer size, Integer clearance) {
+        return size != null && clearance != null && size > clearance;
+    }
+}
@@ -0,0 +1,461 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A compatibility rule written in the rule language and compiled into a predicate tree.
+ * <p>
+ * A rule is an optional {@code name:} followed by a condition over one or two component types, e.g.
+ * {@code gpu-fits-case: case.gpuLengthMm >= gpu.gpuLengthMm}. Operands are typed component fields
+ * ({@code type.field}), JSON keys ({@code type.extra.key} for extra compatibility data, {@code type.metadata.key}),
+ * numbers, quoted strings and {@code true}/{@code false}; conditions combine comparisons
+ * ({@code == != < <= > >=}) with {@code && || !} and parentheses. As with the built-in rules, a comparison with a
+ * missing value on either side holds, and text is compared ignoring case, spaces, dashes and underscores.
+ * <p>
+ * Parsing and type checking happen once; evaluating the tree reads fields and map entries in place and allocates nothing.
+ */
+public final class CompiledRule {
+
+    /**
+     * Typed component fields a rule can reference, by their record accessor names.
+     */
+    private enum Field {
+        name(ComponentResponse::name, false),
+        brand(ComponentResponse::brand, false),
+        compatibilityTag(ComponentResponse::compatibilityTag, false),
+        price(ComponentResponse::price, true),
+        stockQuantity(ComponentResponse::stockQuantity, true),
+        socket(ComponentResponse::socket, false),
+        ramType(ComponentResponse::ramType, false),
+        wattage(ComponentResponse::wattage, true),
+        formFactor(ComponentResponse::formFactor, false),
+        gpuLengthMm(ComponentResponse::gpuLengthMm, true),
+        coolerHeightMm(ComponentResponse::coolerHeightMm, true),
+        psuFormFactor(ComponentResponse::psuFormFactor, false),
+        pciSlotsRequired(ComponentResponse::pciSlotsRequired, true);
+
+        private final Function<ComponentResponse, Object> accessor;
+        private final boolean numeric;
+
+        Field(Function<ComponentResponse, Object> accessor, boolean numeric) {
+            this.accessor = accessor;
+            this.numeric = numeric;
+        }
+    }
+
+    private final String name;
+    private final String source;
+    private final ComponentType first;
+    private final ComponentType second;
+    private final Node root;
+
+    private CompiledRule(String name, String source, ComponentType first, ComponentType second, Node root) {
+        this.name = name;
+        this.source = source;
+        this.first = first;
+        this.second = second;
+        this.root = root;
+    }
+
+    /**
+     * Parses and compiles a rule.
+     *
+     * @throws IllegalArgumentException if the rule is not valid, with the position of the problem
+     */
+    public static CompiledRule compile(String text) {
+        String source = text.strip();
+        String name = null;
+        String condition = source;
+        int colon = source.indexOf(':');
+        if (colon > 0 && source.substring(0, colon).strip().matches("[A-Za-z0-9_.-]+")) {
+            name = source.substring(0, colon).strip();
+            condition = source.substring(colon + 1);
+        }
+        Parser parser = new Parser(condition);
+        Node root = parser.parse();
+        if (parser.types.isEmpty()) {
+            throw new IllegalArgumentException("Rule does not reference any component: " + source);
+        }
+        ComponentType first = parser.types.get(0);
+        ComponentType second = parser.types.size() > 1 ? parser.types.get(1) : null;
+        return new CompiledRule(name != null ? name : source, source, first, second, root);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public ComponentType first() {
+        return first;
+    }
+
+    /**
+     * Gets the second component type the rule relates, or null if it constrains components of one type on their own.
+     */
+    public ComponentType second() {
+        return second;
+    }
+
+    /**
+     * Checks whether the rule constrains a component of type {@code x} paired with one of type {@code y}, in either order.
+     */
+    public boolean relates(ComponentType x, ComponentType y) {
+        return second != null && ((first == x && second == y) || (first == y && second == x));
+    }
+
+    /**
+     * Evaluates a single-type rule on a component; rules for other types, and pair rules, hold.
+     */
+    public boolean holds(ComponentResponse component) {
+        return second != null || component.type() != first || root.test(component, null);
+    }
+
+    /**
+     * Evaluates a pair rule on two components given in either order; rules that do not relate their types hold.
+     */
+    public boolean holds(ComponentResponse x, ComponentResponse y) {
+        if (second == null) {
+            return true;
+        }
+        if (x.type() == first && y.type() == second) {
+            return root.test(x, y);
+        }
+        if (y.type() == first && x.type() == second) {
+            return root.test(y, x);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ---- Predicate tree -------------------------------------------------------------------------------------------
+
+    private interface Node {
+        boolean test(ComponentResponse a, ComponentResponse b);
+    }
+
+    private interface Operand {
+        Object value(ComponentResponse a, ComponentResponse b);
+    }
+
+    private record And(Node left, Node right) implements Node {
+        public boolean test(ComponentResponse a, ComponentResponse b) {
+            return left.test(a, b) && right.test(a, b);
+        }
+    }
+
+    private record Or(Node left, Node right) implements Node {
+        public boolean test(ComponentResponse a, ComponentResponse b) {
+            return left.test(a, b) || right.test(a, b);
+        }
+    }
+
+    private record Not(Node inner) implements Node {
+        public boolean test(ComponentResponse a, ComponentResponse b) {
+            return !inner.test(a, b);
+        }
+    }
+
+    private record Literal(Object value) implements Operand {
+        public Object value(ComponentResponse a, ComponentResponse b) {
+            return value;
+        }
+    }
+
+    private record FieldRef(boolean secondSlot, Field field) implements Operand {
+        public Object value(ComponentResponse a, ComponentResponse b) {
+            return field.accessor.apply(secondSlot ? b : a);
+        }
+    }
+
+    private record JsonRef(boolean secondSlot, boolean extra, String key) implements Operand {
+        public Object value(ComponentResponse a, ComponentResponse b) {
+            ComponentResponse component = secondSlot ? b : a;
+            Map<String, Object> json = extra ? component.extraCompatibility() : component.metadata();
+            return json != null ? json.get(key) : null;
+        }
+    }
+
+    private enum Operator {
+        EQ, NE, LT, LE, GT, GE;
+
+        boolean ordering() {
+            return this != EQ && this != NE;
+        }
+
+        boolean accepts(int comparison) {
+            return switch (this) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case LT -> comparison < 0;
+                case LE -> comparison <= 0;
+                case GT -> comparison > 0;
+                case GE -> comparison >= 0;
+            };
+        }
+    }
+
+    /**
+     * Compares two operands by their runtime values: numbers numerically, text and booleans for equality only.
+     * Missing or mismatched values make the comparison hold.
+     */
+    private record Comparison(Operand left, Operator operator, Operand right) implements Node {
+        public boolean test(ComponentResponse a, ComponentResponse b) {
+            Object l = left.value(a, b);
+            Object r = right.value(a, b);
+            if (l instanceof Number x && r instanceof Number y) {
+                return operator.accepts(Double.compare(x.doubleValue(), y.doubleValue()));
+            }
+            if (operator.ordering()) {
+                return true;
+            }
+            if (l instanceof String x && r instanceof String y) {
+                return operator.accepts(sameText(x, y) ? 0 : 1);
+            }
+            if (l instanceof Boolean x && r instanceof Boolean y) {
+                return operator.accepts(x.equals(y) ? 0 : 1);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Compares text ignoring case, whitespace, dashes and underscores without building normalized copies.
+     */
+    static boolean sameText(String x, String y) {
+        int i = 0;
+        int j = 0;
+        while (true) {
+            while (i < x.length() && ignored(x.charAt(i))) {
+                i++;
+            }
+            while (j < y.length() && ignored(y.charAt(j))) {
+                j++;
+            }
+            if (i == x.length() || j == y.length()) {
+                return i == x.length() && j == y.length();
+            }
+            if (Character.toLowerCase(x.charAt(i)) != Character.toLowerCase(y.charAt(j))) {
+                return false;
+            }
+            i++;
+            j++;
+        }
+    }
+
+    private static boolean ignored(char c) {
+        return Character.isWhitespace(c) || c == '-' || c == '_';
+    }
+
+    // ---- Parser ---------------------------------------------------------------------------------------------------
+
+    /**
+     * Recursive descent parser: {@code or := and ('||' and)*}, {@code and := unary ('&&' unary)*},
+     * {@code unary := '!' unary | '(' or ')' | operand op operand}.
+     */
+    private static final class Parser {
+
+        private final String text;
+        private final List<ComponentType> types = new ArrayList<>(2);
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Node parse() {
+            Node node = or();
+            skipSpace();
+            if (pos < text.length()) {
+                throw error("unexpected '" + text.charAt(pos) + "'");
+            }
+            return node;
+        }
+
+        private Node or() {
+            Node node = and();
+            while (accept("||")) {
+                node = new Or(node, and());
+            }
+            return node;
+        }
+
+        private Node and() {
+            Node node = unary();
+            while (accept("&&")) {
+                node = new And(node, unary());
+            }
+            return node;
+        }
+
+        private Node unary() {
+            if (accept("!")) {
+                return new Not(unary());
+            }
+            if (accept("(")) {
+                Node node = or();
+                expect(")");
+                return node;
+            }
+            Operand left = operand();
+            Operator operator = operator();
+            Operand right = operand();
+            if (left instanceof Literal && right instanceof Literal) {
+                throw error("a comparison must reference a component");
+            }
+            if (operator.ordering() && (isText(left) || isText(right))) {
+                throw error("text can only be compared with == or !=");
+            }
+            return new Comparison(left, operator, right);
+        }
+
+        private Operator operator() {
+            if (accept("==")) {
+                return Operator.EQ;
+            }
+            if (accept("!=")) {
+                return Operator.NE;
+            }
+            if (accept("<=")) {
+                return Operator.LE;
+            }
+            if (accept(">=")) {
+                return Operator.GE;
+            }
+            if (accept("<")) {
+                return Operator.LT;
+            }
+            if (accept(">")) {
+                return Operator.GT;
+            }
+            throw error("expected a comparison operator");
+        }
+
+        private Operand operand() {
+            skipSpace();
+            if (pos >= text.length()) {
+                throw error("expected a value");
+            }
+            char c = text.charAt(pos);
+            if (c == '\'' || c == '"') {
+                int end = text.indexOf(c, pos + 1);
+                if (end < 0) {
+                    throw error("unterminated string");
+                }
+                String value = text.substring(pos + 1, end);
+                pos = end + 1;
+                return new Literal(value);
+            }
+            if (c == '-' || Character.isDigit(c)) {
+                int start = pos++;
+                while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                    pos++;
+                }
+                try {
+                    return new Literal(Double.valueOf(text.substring(start, pos)));
+                } catch (NumberFormatException e) {
+                    pos = start;
+                    throw error("invalid number");
+                }
+            }
+            String word = identifier();
+            if (word.equals("true") || word.equals("false")) {
+                return new Literal(Boolean.valueOf(word));
+            }
+            boolean secondSlot = slot(word);
+            expect(".");
+            String member = identifier();
+            if (member.equals("extra") || member.equals("metadata")) {
+                expect(".");
+                return new JsonRef(secondSlot, member.equals("extra"), identifier());
+            }
+            for (Field field : Field.values()) {
+                if (field.name().equals(member)) {
+                    return new FieldRef(secondSlot, field);
+                }
+            }
+            throw error("unknown field '" + member + "'");
+        }
+
+        /**
+         * Resolves a component type name, binding the first type mentioned to the first slot and the second to the other.
+         */
+        private boolean slot(String typeName) {
+            ComponentType type = null;
+            for (ComponentType candidate : ComponentType.values()) {
+                if (candidate.name().equalsIgnoreCase(typeName)) {
+                    type = candidate;
+                }
+            }
+            if (type == null) {
+                throw error("unknown component type '" + typeName + "'");
+            }
+            int index = types.indexOf(type);
+            if (index < 0) {
+                if (types.size() == 2) {
+                    throw error("a rule can relate at most two component types");
+                }
+                types.add(type);
+                index = types.size() - 1;
+            }
+            return index == 1;
+        }
+
+        private static boolean isText(Operand operand) {
+            return (operand instanceof Literal literal && literal.value() instanceof String)
+                    || (operand instanceof FieldRef ref && !ref.field().numeric);
+        }
+
+        private String identifier() {
+            skipSpace();
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("expected a name");
+            }
+            return text.substring(start, pos);
+        }
+
+        private boolean accept(String token) {
+            skipSpace();
+            if (text.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("expected '" + token + "'");
+            }
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String problem) {
+            return new IllegalArgumentException(String.format(Locale.ROOT, "Invalid rule \"%s\" at %d: %s",
+                    text.strip(), pos, problem));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the compatibility attributes of a component the way the catalog stores them.
+ * List-valued columns (supported cooler sockets, supported case form factors) are comma-separated, and
+ * values are compared case-insensitively with spaces and dashes ignored, so "Micro-ATX" equals "micro atx".
+ */
+public final class ComponentSpecs {
+
+    /** Motherboard form factors from smallest to largest; a case fits every board up to its largest listed size. */
+    private static final List<String> BOARD_SIZES = List.of("miniitx", "microatx", "atx", "eatx");
+
+    private static final Pattern IGNORED = Pattern.compile("[\\s_-]+");
+
+    /** Extra compatibility or metadata flags declaring a supported memory type, such as {@code ddr5_support}. */
+    private static final Pattern RAM_SUPPORT_FLAG = Pattern.compile("(ddr\\d+)_support");
+
+    private static final Map<String, String> ALIASES = Map.of("matx", "microatx", "mitx", "miniitx", "uatx", "microatx");
+
+    private ComponentSpecs() {
+    }
+
+    /**
+     * Normalizes a value for comparison, or returns null for a missing or blank value.
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String key = IGNORED.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+        return ALIASES.getOrDefault(key, key);
+    }
+
+    /**
+     * Gets the normalized entries of a comma-separated column.
+     */
+    public static Set<String> split(String values) {
+        Set<String> result = new LinkedHashSet<>();
+        if (values != null) {
+            for (String value : values.split(",")) {
+                String normalized = normalize(value);
+                if (normalized != null) {
+                    result.add(normalized);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the normalized chipset of a motherboard from {@code chipset} in its metadata or extra compatibility data,
+     * or null if it has none.
+     */
+    public static String chipset(ComponentResponse board) {
+        Set<String> chipsets = jsonValues(board, "chipset");
+        return chipsets.isEmpty() ? null : chipsets.iterator().next();
+    }
+
+    /**
+     * Gets the normalized chipsets a CPU supports from {@code chipset_compatible} in its metadata or extra
+     * compatibility data, given either as a JSON array or as a comma-separated string.
+     */
+    public static Set<String> compatibleChipsets(ComponentResponse cpu) {
+        return jsonValues(cpu, "chipset_compatible");
+    }
+
+    /**
+     * Gets the normalized memory types a component works with. For a CPU these are the types its
+     * {@code ddrN_support} flags in extra compatibility data or metadata set to true, as CPUs often support more
+     * than the one type in their ram_type; ram_type is used only for a CPU with no such flags. Any other component
+     * has just its ram_type. Empty when unknown.
+     */
+    public static Set<String> ramTypes(ComponentResponse component) {
+        Set<String> types = new LinkedHashSet<>();
+        if (component.type() == ComponentType.CPU
+                && (addSupportedRamTypes(types, component.extraCompatibility())
+                | addSupportedRamTypes(types, component.metadata()))) {
+            return types;
+        }
+        String listed = normalize(component.ramType());
+        if (listed != null) {
+            types.add(listed);
+        }
+        return types;
+    }
+
+    /**
+     * Gets the normalized sockets a cooler supports.
+     */
+    public static Set<String> coolerSockets(ComponentResponse cooler) {
+        return split(cooler.socket());
+    }
+
+    /**
+     * Gets the normalized motherboard form factors a case accepts: every listed size plus all smaller standard sizes.
+     */
+    public static Set<String> caseBoardFormFactors(ComponentResponse pcCase) {
+        Set<String> accepted = new LinkedHashSet<>();
+        for (String listed : split(pcCase.formFactor())) {
+            accepted.add(listed);
+            int size = BOARD_SIZES.indexOf(listed);
+            if (size >= 0) {
+                accepted.addAll(BOARD_SIZES.subList(0, size));
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Adds the memory types flagged as supported, and tells whether the data declares any flag, true or false.
+     */
+    private static boolean addSupportedRamTypes(Set<String> types, Map<String, Object> json) {
+        boolean declared = false;
+        if (json != null) {
+            for (Map.Entry<String, Object> entry : json.entrySet()) {
+                Matcher flag = RAM_SUPPORT_FLAG.matcher(entry.getKey().toLowerCase(Locale.ROOT));
+                if (flag.matches()) {
+                    declared = true;
+                    if ("true".equalsIgnoreCase(String.valueOf(entry.getValue()))) {
+                        types.add(flag.group(1));
+                    }
+                }
+            }
+        }
+        return declared;
+    }
+
+    /**
+     * Reads a key from the metadata, falling back to the extra compatibility data.
+     */
+    private static Set<String> jsonValues(ComponentResponse component, String key) {
+        Object value = component.metadata() != null ? component.metadata().get(key) : null;
+        if (value == null && component.extraCompatibility() != null) {
+            value = component.extraCompatibility().get(key);
+        }
+        if (value instanceof Collection<?> values) {
+            Set<String> result = new LinkedHashSet<>();
+            for (Object listed : values) {
+                String normalized = listed != null ? normalize(listed.toString()) : null;
+                if (normalized != null) {
+                    result.add(normalized);
+                }
+            }
+            return result;
+        }
+        return value != null ? split(value.toString()) : Set.of();
+    }
+}
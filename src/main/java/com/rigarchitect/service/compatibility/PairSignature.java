@@ -0,0 +1,31 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.Set;
+
+/**
+ * The attributes the pair rules of {@link CompatibilityRules} read from a component of its type.
+ * Two components of a type with equal signatures are compatible with exactly the same components,
+ * so pairwise work can be done once per signature instead of once per component.
+ */
+public record PairSignature(ComponentType type, String socket, Set<String> ramTypes, String formFactor,
+                            Integer gpuLengthMm, Integer coolerHeightMm, String psuFormFactor) {
+
+    /**
+     * Gets the signature of a component, leaving out the attributes no rule reads for its type.
+     */
+    public static PairSignature of(ComponentResponse c) {
+        ComponentType type = c.type();
+        boolean board = type == ComponentType.Motherboard;
+        boolean pcCase = type == ComponentType.Case;
+        return new PairSignature(type,
+                board || type == ComponentType.CPU || type == ComponentType.Cooler ? c.socket() : null,
+                board || type == ComponentType.CPU || type == ComponentType.RAM ? ComponentSpecs.ramTypes(c) : null,
+                board || pcCase ? c.formFactor() : null,
+                board || pcCase || type == ComponentType.GPU ? c.gpuLengthMm() : null,
+                pcCase || type == ComponentType.Cooler ? c.coolerHeightMm() : null,
+                pcCase || type == ComponentType.PSU ? c.psuFormFactor() : null);
+    }
+}
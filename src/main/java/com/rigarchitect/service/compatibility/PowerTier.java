@@ -0,0 +1,43 @@
+package com.rigarchitect.service.compatibility;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Power tier from a component's {@code metadata.power_tier}, scaling its rated wattage into an estimated draw.
+ * Components without a known tier are estimated at their rated wattage.
+ */
+public enum PowerTier {
+    LOW(100),
+    MODERATE(110),
+    HIGH(120),
+    EXTREME(130);
+
+    private final int percent;
+
+    PowerTier(int percent) {
+        this.percent = percent;
+    }
+
+    /**
+     * Reads the tier from component metadata, defaulting to LOW for a missing or unknown value.
+     */
+    public static PowerTier of(Map<String, Object> metadata) {
+        Object value = metadata != null ? metadata.get("power_tier") : null;
+        if (value != null) {
+            try {
+                return valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return LOW;
+            }
+        }
+        return LOW;
+    }
+
+    /**
+     * Scales a rated wattage by this tier, rounding up to whole watts.
+     */
+    public int estimate(int watts) {
+        return (watts * percent + 99) / 100;
+    }
+}
@@ -0,0 +1,224 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of compiled rule-language rules: configured rules that apply to every build, and rules
+ * that components carry in their extra compatibility data, which apply only to builds containing that component
+ * and so are checked against every other part of such a build, including rules about a single other type.
+ * Configured rules are bucketed by the type pair they relate, so checking a pair walks one small array.
+ */
+public final class RuleSet {
+
+    private static final int TYPES = ComponentType.values().length;
+    private static final CompiledRule[] NONE = new CompiledRule[0];
+
+    public static final RuleSet EMPTY = new RuleSet(0, List.of(), Map.of());
+
+    private final long version;
+    private final List<CompiledRule> rules;
+    private final Map<Long, CompiledRule[]> componentRules;
+    private final CompiledRule[][] byTypePair;
+    private final CompiledRule[][] byType;
+
+    /**
+     * Creates a rule set.
+     *
+     * @param version        changes whenever the rules do, so results derived from a rule set can be cached by it
+     * @param rules          rules that apply to every build
+     * @param componentRules rules that apply to builds containing the component with the given ID
+     */
+    public RuleSet(long version, List<CompiledRule> rules, Map<Long, CompiledRule[]> componentRules) {
+        this.version = version;
+        this.rules = List.copyOf(rules);
+        this.componentRules = Map.copyOf(componentRules);
+        this.byTypePair = new CompiledRule[TYPES * TYPES][];
+        this.byType = new CompiledRule[TYPES][];
+        for (ComponentType x : ComponentType.values()) {
+            List<CompiledRule> single = new ArrayList<>();
+            for (CompiledRule rule : this.rules) {
+                if (rule.second() == null && rule.first() == x) {
+                    single.add(rule);
+                }
+            }
+            byType[x.ordinal()] = single.toArray(NONE);
+            for (ComponentType y : ComponentType.values()) {
+                List<CompiledRule> pair = new ArrayList<>();
+                for (CompiledRule rule : this.rules) {
+                    if (rule.relates(x, y)) {
+                        pair.add(rule);
+                    }
+                }
+                byTypePair[x.ordinal() * TYPES + y.ordinal()] = pair.toArray(NONE);
+            }
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<CompiledRule> rules() {
+        return rules;
+    }
+
+    public Map<Long, CompiledRule[]> componentRules() {
+        return componentRules;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty() && componentRules.isEmpty();
+    }
+
+    /**
+     * Checks whether any rule could refuse a candidate of the target type paired with a component of the anchor type:
+     * a pair rule relating the two types, a rule on the target type alone, or a rule carried by some component.
+     */
+    public boolean constrains(ComponentType anchor, ComponentType target) {
+        return byTypePair[anchor.ordinal() * TYPES + target.ordinal()].length > 0
+                || byType[target.ordinal()].length > 0
+                || !componentRules.isEmpty();
+    }
+
+    /**
+     * Checks whether a configured rule relates components of the two types.
+     */
+    public boolean relates(ComponentType x, ComponentType y) {
+        return byTypePair[x.ordinal() * TYPES + y.ordinal()].length > 0;
+    }
+
+    /**
+     * Checks whether the component carries rules of its own.
+     */
+    public boolean carriesRules(ComponentResponse component) {
+        return componentRules.containsKey(component.id());
+    }
+
+    /**
+     * Checks whether any rule could refuse a component of the type, alone or next to any other component.
+     */
+    public boolean constrains(ComponentType type) {
+        if (byType[type.ordinal()].length > 0 || !componentRules.isEmpty()) {
+            return true;
+        }
+        for (ComponentType other : ComponentType.values()) {
+            if (byTypePair[type.ordinal() * TYPES + other.ordinal()].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether two components break no pair rule together, nor any rule either carries about the other.
+     */
+    public boolean allows(ComponentResponse x, ComponentResponse y) {
+        return isEmpty() || firstBroken(x, y) == null;
+    }
+
+    /**
+     * Checks whether a candidate breaks no rule on its own or together with any part of the build.
+     */
+    public boolean allows(List<BuildPart> build, ComponentResponse candidate) {
+        if (isEmpty()) {
+            return true;
+        }
+        if (firstBroken(candidate) != null) {
+            return false;
+        }
+        for (int i = 0; i < build.size(); i++) {
+            if (firstBroken(build.get(i).component(), candidate) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects a violation for every rule the parts break on their own or pairwise.
+     */
+    public void collectViolations(List<BuildPart> parts, List<BuildViolation> violations) {
+        if (isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < parts.size(); i++) {
+            ComponentResponse component = parts.get(i).component();
+            for (CompiledRule rule : applicable(component)) {
+                if (!rule.holds(component)) {
+                    violations.add(violation(rule, component.name(), List.of(component.id())));
+                }
+            }
+            for (int j = 0; j < i; j++) {
+                ComponentResponse other = parts.get(j).component();
+                for (CompiledRule rule : byTypePair[other.type().ordinal() * TYPES + component.type().ordinal()]) {
+                    if (!rule.holds(other, component)) {
+                        violations.add(pairViolation(rule, other, component));
+                    }
+                }
+                for (CompiledRule rule : componentRules.getOrDefault(other.id(), NONE)) {
+                    if (!rule.holds(other, component) || !rule.holds(component)) {
+                        violations.add(pairViolation(rule, other, component));
+                    }
+                }
+                for (CompiledRule rule : componentRules.getOrDefault(component.id(), NONE)) {
+                    if (!rule.holds(other, component) || !rule.holds(other)) {
+                        violations.add(pairViolation(rule, other, component));
+                    }
+                }
+            }
+        }
+    }
+
+    private CompiledRule firstBroken(ComponentResponse component) {
+        for (CompiledRule rule : byType[component.type().ordinal()]) {
+            if (!rule.holds(component)) {
+                return rule;
+            }
+        }
+        for (CompiledRule rule : componentRules.getOrDefault(component.id(), NONE)) {
+            if (!rule.holds(component)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private CompiledRule firstBroken(ComponentResponse x, ComponentResponse y) {
+        for (CompiledRule rule : byTypePair[x.type().ordinal() * TYPES + y.type().ordinal()]) {
+            if (!rule.holds(x, y)) {
+                return rule;
+            }
+        }
+        for (CompiledRule rule : componentRules.getOrDefault(x.id(), NONE)) {
+            if (!rule.holds(x, y) || !rule.holds(y)) {
+                return rule;
+            }
+        }
+        for (CompiledRule rule : componentRules.getOrDefault(y.id(), NONE)) {
+            if (!rule.holds(x, y) || !rule.holds(x)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private List<CompiledRule> applicable(ComponentResponse component) {
+        List<CompiledRule> applicable = new ArrayList<>(List.of(byType[component.type().ordinal()]));
+        applicable.addAll(List.of(componentRules.getOrDefault(component.id(), NONE)));
+        return applicable;
+    }
+
+    private static BuildViolation pairViolation(CompiledRule rule, ComponentResponse x, ComponentResponse y) {
+        return violation(rule, x.name() + " and " + y.name(), List.of(x.id(), y.id()));
+    }
+
+    private static BuildViolation violation(CompiledRule rule, String subject, List<Long> componentIds) {
+        return new BuildViolation(CompatibilityRule.CONFIGURED,
+                String.format("%s: %s", rule.name(), subject), componentIds);
+    }
+}
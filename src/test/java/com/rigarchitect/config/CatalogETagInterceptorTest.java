@@ -0,0 +1,71 @@
+package com.rigarchitect.config;
+
+import com.rigarchitect.service.CompatibilityRuleService;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the component validators change whenever the answers behind them can.
+ */
+class CatalogETagInterceptorTest {
+
+    private static final String PAIR_PATH = "/api/v1/components/1/compatible/Motherboard";
+
+    @TempDir
+    Path rulesDirectory;
+
+    /**
+     * A client revalidating with the tag it got before a rules reload gets the full response, and the new tag is
+     * served from then on.
+     */
+    @Test
+    void rulesReloadInvalidatesTheTag() throws IOException {
+        Path rulesFile = rulesDirectory.resolve("compatibility.rules");
+        Files.writeString(rulesFile, "# no rules yet\n");
+        ComponentCatalog catalog = RandomCatalog.catalogOf(RandomCatalog.entities(1, 18));
+        CompatibilityRuleService ruleService = new CompatibilityRuleService(catalog, new DefaultResourceLoader(),
+                rulesFile.toUri().toString());
+        catalog.addListener(ruleService);
+        ruleService.reload();
+        CatalogETagInterceptor interceptor = new CatalogETagInterceptor(catalog, ruleService);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(null), first, null)).isTrue();
+        String oldTag = first.getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse unchanged = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(oldTag), unchanged, null)).isFalse();
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+
+        Files.writeString(rulesFile, "board-cpu-brand: cpu.brand == motherboard.brand\n");
+        ruleService.reload();
+
+        MockHttpServletResponse afterReload = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(oldTag), afterReload, null)).isTrue();
+        assertThat(afterReload.getStatus()).isEqualTo(200);
+        String newTag = afterReload.getHeader(HttpHeaders.ETAG);
+        assertThat(newTag).isNotEqualTo(oldTag);
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(get(newTag), revalidated, null)).isFalse();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PAIR_PATH);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,77 @@
+package com.rigarchitect.config;
+
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.repository.GuestBuildRepository;
+import com.rigarchitect.repository.GuestSessionRepository;
+import com.rigarchitect.repository.UserRepository;
+import com.rigarchitect.service.BuildCartService;
+import com.rigarchitect.service.BuildValidationService;
+import com.rigarchitect.service.GuestSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies that the scheduled jobs of the services are registered with the scheduler.
+ */
+class SchedulingConfigTest {
+
+    private static final String RECONCILE_TASK = "com.rigarchitect.service.BuildCartService.reconcileTotals";
+    private static final String CLEANUP_TASK = "com.rigarchitect.service.GuestSessionService.cleanupExpiredSessions";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SchedulingConfig.class)
+            .withBean(BuildCartService.class, () -> new BuildCartService(mock(BuildCartRepository.class),
+                    mock(UserRepository.class), mock(BuildValidationService.class)))
+            .withBean(GuestSessionService.class, () -> new GuestSessionService(mock(GuestSessionRepository.class),
+                    mock(GuestBuildRepository.class)));
+
+    /**
+     * Cart total reconciliation runs on its default cron schedule.
+     */
+    @Test
+    void reconcileTotalsIsScheduled() {
+        contextRunner.run(context -> assertThat(cronFor(context, RECONCILE_TASK))
+                .containsExactly("0 30 * * * ?"));
+    }
+
+    /**
+     * The reconciliation schedule can be overridden by property.
+     */
+    @Test
+    void reconcileCronIsConfigurable() {
+        contextRunner.withPropertyValues("rigarchitect.carts.reconcile-cron=0 0 3 * * ?")
+                .run(context -> assertThat(cronFor(context, RECONCILE_TASK))
+                        .containsExactly("0 0 3 * * ?"));
+    }
+
+    /**
+     * Expired guest session cleanup runs hourly.
+     */
+    @Test
+    void cleanupExpiredSessionsIsScheduled() {
+        contextRunner.run(context -> assertThat(cronFor(context, CLEANUP_TASK))
+                .containsExactly("0 0 * * * ?"));
+    }
+
+    /**
+     * Gets the cron expressions of the tasks running a method, named by its qualified name as tasks describe themselves.
+     */
+    private static List<String> cronFor(ApplicationContext context, String methodName) {
+        return context.getBean(ScheduledTaskHolder.class).getScheduledTasks().stream()
+                .map(ScheduledTask::getTask)
+                .filter(task -> task instanceof CronTask)
+                .map(CronTask.class::cast)
+                .filter(task -> task.toString().equals(methodName))
+                .map(CronTask::getExpression)
+                .toList();
+    }
+}
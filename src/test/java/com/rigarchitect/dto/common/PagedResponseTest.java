@@ -0,0 +1,54 @@
+package com.rigarchitect.dto.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which pagination metadata each kind of page carries.
+ */
+class PagedResponseTest {
+
+    /**
+     * Offset pages with a counted or estimated total carry the total, the page count and the page number.
+     */
+    @Test
+    void offsetPagesCarryTotalsAndPageNumber() {
+        PagedResponse<String> fromPage = PagedResponse.fromPage(
+                new PageImpl<>(List.of("a", "b"), PageRequest.of(1, 2), 5));
+        PagedResponse<String> fromSlice = PagedResponse.fromSlice(
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), 5L, TotalMode.ESTIMATE, "next");
+
+        for (PagedResponse<String> response : List.of(fromPage, fromSlice)) {
+            assertThat(response.totalElements()).isEqualTo(5L);
+            assertThat(response.totalPages()).isEqualTo(3);
+            assertThat(response.currentPage()).isEqualTo(1);
+        }
+        assertThat(fromPage.totalMode()).isEqualTo(TotalMode.EXACT);
+        assertThat(fromSlice.totalMode()).isEqualTo(TotalMode.ESTIMATE);
+    }
+
+    /**
+     * Skipping the count leaves only the totals null, and cursor pages have no page number.
+     */
+    @Test
+    void onlyOptOutsLeaveMetadataNull() {
+        PagedResponse<String> uncounted = PagedResponse.fromSlice(
+                new SliceImpl<>(List.of("a"), PageRequest.of(2, 2), false), null, TotalMode.NONE, null);
+        PagedResponse<String> keyset = PagedResponse.fromKeyset(List.of("a", "b"), 2, true, true, "next", 9L,
+                TotalMode.EXACT);
+
+        assertThat(uncounted.totalElements()).isNull();
+        assertThat(uncounted.totalPages()).isNull();
+        assertThat(uncounted.currentPage()).isEqualTo(2);
+        assertThat(uncounted.totalMode()).isEqualTo(TotalMode.NONE);
+        assertThat(keyset.totalElements()).isEqualTo(9L);
+        assertThat(keyset.totalPages()).isEqualTo(5);
+        assertThat(keyset.currentPage()).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.rigarchitect.dto.common;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-component cost of writing the jsonb columns through a Map tree versus as raw JSON text.
+ * <ul>
+ *     <li>mapFromDatabase / rawFromDatabase: jsonb text read from a row, parsed into a Map (what Hibernate does)
+ *     and serialized again, versus copied through unchanged.</li>
+ *     <li>mapFromSnapshot / rawFromSnapshot: an already loaded catalog entry, serialized by walking its maps versus
+ *     copying the text prepared once when the snapshot was built.</li>
+ * </ul>
+ * Run with the allocation profiler to see bytes per component:
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=RawJsonBenchmark, adding {@code -prof gc} when running JMH directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawJsonBenchmark {
+
+    private static final TypeReference<Map<String, Object>> OBJECT_TYPE = new TypeReference<>() {
+    };
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+
+    private String extraCompatibilityJson;
+    private String metadataJson;
+    private ComponentResponse snapshotWithMaps;
+    private ComponentResponse snapshotWithRawJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(ComponentResponse.class)
+                .with(new SimpleFilterProvider().addFilter(ComponentResponse.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("chipset", "B650");
+        extra.put("max_memory_gb", 192);
+        extra.put("memory_slots", 4);
+        extra.put("pcie_version", "5.0");
+        extra.put("m2_slots", 3);
+        extra.put("supported_cpus", List.of("Ryzen 7000", "Ryzen 8000G", "Ryzen 9000"));
+
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        metadata.put("release_year", 2023);
+        metadata.put("warranty_years", 3);
+        metadata.put("rgb", true);
+        metadata.put("color", "black");
+        metadata.put("dimensions", Map.of("width_mm", 244, "depth_mm", 305));
+        metadata.put("tags", List.of("wifi", "bluetooth", "2.5gbe"));
+
+        extraCompatibilityJson = objectMapper.writeValueAsString(extra);
+        metadataJson = objectMapper.writeValueAsString(metadata);
+        snapshotWithMaps = component(extra, metadata);
+        snapshotWithRawJson = component(RawJsonObject.from(extra), RawJsonObject.from(metadata));
+    }
+
+    @Benchmark
+    public String mapFromDatabase() throws Exception {
+        Map<String, Object> extra = objectMapper.readValue(extraCompatibilityJson, OBJECT_TYPE);
+        Map<String, Object> metadata = objectMapper.readValue(metadataJson, OBJECT_TYPE);
+        return writer.writeValueAsString(component(extra, metadata));
+    }
+
+    @Benchmark
+    public String rawFromDatabase() throws Exception {
+        return writer.writeValueAsString(component(RawJsonObject.of(extraCompatibilityJson), RawJsonObject.of(metadataJson)));
+    }
+
+    @Benchmark
+    public String mapFromSnapshot() throws Exception {
+        return writer.writeValueAsString(snapshotWithMaps);
+    }
+
+    @Benchmark
+    public String rawFromSnapshot() throws Exception {
+        return writer.writeValueAsString(snapshotWithRawJson);
+    }
+
+    private static ComponentResponse component(Map<String, Object> extraCompatibility, Map<String, Object> metadata) {
+        return new ComponentResponse(
+                42L, "ROG STRIX B650-A GAMING WIFI", "ASUS", ComponentType.Motherboard, "AM5",
+                new BigDecimal("289.99"), 12, "AM5", "DDR5", null, "ATX", null, null, null, null,
+                extraCompatibility, metadata,
+                LocalDateTime.of(2025, 8, 13, 14, 0), LocalDateTime.of(2025, 8, 13, 14, 5)
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.model.BuildCart;
+import com.rigarchitect.model.CartItem;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.User;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.repository.CartItemRepository;
+import com.rigarchitect.repository.ComponentRepository;
+import com.rigarchitect.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements listing a cart's items takes, so component loads per item cannot creep back in.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CartItemServiceQueryCountTest {
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BuildCartRepository buildCartRepository;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Listing a cart and reading every item's component name takes one statement, however many items the cart holds.
+     */
+    @Test
+    void itemsWithComponentNamesLoadInOneStatement() {
+        assertThat(statementsToList(1)).isEqualTo(1);
+        assertThat(statementsToList(8)).isEqualTo(1);
+    }
+
+    private long statementsToList(int itemCount) {
+        User user = new User();
+        user.setName("Query count");
+        user.setPasswordHash("unused");
+        user.setBudget(new BigDecimal("2000.00"));
+        userRepository.save(user);
+
+        BuildCart cart = new BuildCart();
+        cart.setUser(user);
+        buildCartRepository.save(cart);
+
+        for (int i = 0; i < itemCount; i++) {
+            Component component = new Component();
+            component.setName("Query count part " + i);
+            component.setBrand("Test");
+            component.setType(ComponentType.SSD);
+            component.setCompatibilityTag("test");
+            component.setPrice(new BigDecimal("50.00"));
+            componentRepository.save(component);
+
+            CartItem item = new CartItem();
+            item.setBuildCart(cart);
+            item.setComponent(component);
+            item.setQuantity(1);
+            cartItemRepository.save(item);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CartItem> items = cartItemService.getItemsByCart(buildCartRepository.getReferenceById(cart.getId()));
+        List<String> names = items.stream().map(CartItem::getComponentName).toList();
+
+        assertThat(names).hasSize(itemCount).doesNotContainNull();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,161 @@
+package com.rigarchitect.service;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.BuildCartRepository;
+import com.rigarchitect.repository.CartItemRepository;
+import com.rigarchitect.service.catalog.CatalogSnapshot;
+import com.rigarchitect.service.catalog.ChipsetIndex;
+import com.rigarchitect.service.catalog.CompatibilityIndex;
+import com.rigarchitect.service.catalog.ComponentCatalog;
+import com.rigarchitect.service.catalog.ComponentChangedEvent;
+import com.rigarchitect.service.catalog.PairCompatibilityMatrix;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.CompiledRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the pairwise compatibility endpoints' answers against the built-in pair rules and the rule-language rules
+ * evaluated directly, while the catalog changes under them.
+ */
+class CompatibilityServicePairTest {
+
+    private static final List<String> CONFIGURED = List.of(
+            "gpu-case-airflow: gpu.metadata.power_tier != 'extreme' || case.coolerHeightMm >= 150",
+            "board-cpu-brand: cpu.brand == motherboard.brand || cpu.metadata.performance_score < 50",
+            "psu-minimum: psu.wattage >= 400",
+            "ram-board-tier: ram.metadata.power_tier != motherboard.metadata.power_tier");
+
+    private static final List<String> CARRIED = List.of(
+            "cooler.coolerHeightMm <= case.coolerHeightMm",
+            "gpu.gpuLengthMm <= 300",
+            "motherboard.formFactor != 'Mini-ITX' || ram.wattage <= 10");
+
+    @TempDir
+    Path rulesDirectory;
+
+    /**
+     * After every upsert, type change and delete, each component's compatible components and counts per paired type
+     * are exactly those passing the built-in pair rules and every configured and carried rule.
+     */
+    @Test
+    void matchesBruteForceThroughCatalogChanges() throws IOException {
+        Path rulesFile = rulesDirectory.resolve("compatibility.rules");
+        Files.writeString(rulesFile, "# test rules\n" + String.join("\n", CONFIGURED) + "\n");
+        List<CompiledRule> configured = CONFIGURED.stream().map(CompiledRule::compile).toList();
+
+        for (long seed = 1; seed <= 3; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            List<Component> entities = new ArrayList<>();
+            for (Component entity : RandomCatalog.entities(seed, 180)) {
+                entities.add(withCarriedRule(random, entity));
+            }
+            ComponentCatalog catalog = RandomCatalog.catalogOf(entities);
+            PairCompatibilityMatrix matrix = new PairCompatibilityMatrix(catalog);
+            catalog.addListener(matrix);
+            CompatibilityRuleService ruleService = new CompatibilityRuleService(catalog, new DefaultResourceLoader(),
+                    rulesFile.toUri().toString());
+            ruleService.register();
+            CompatibilityService service = new CompatibilityService(Mockito.mock(BuildCartRepository.class),
+                    Mockito.mock(CartItemRepository.class), catalog, Mockito.mock(CompatibilityIndex.class),
+                    Mockito.mock(ChipsetIndex.class), matrix, ruleService);
+            catalog.reload();
+            assertMatches(service, catalog.current(), configured, seed, -1);
+
+            long nextId = entities.size() + 1;
+            for (int step = 0; step < 60; step++) {
+                List<ComponentResponse> all = catalog.current().all();
+                int operation = random.nextInt(4);
+                if (operation == 0 && !all.isEmpty()) {
+                    catalog.onComponentChanged(ComponentChangedEvent.deleted(all.get(random.nextInt(all.size())).id()));
+                } else {
+                    long id = operation == 3 ? nextId++ : all.get(random.nextInt(all.size())).id();
+                    ComponentType type = operation == 1 ? catalog.current().findById(id).orElseThrow().type()
+                            : RandomCatalog.BUILD_TYPES[random.nextInt(RandomCatalog.BUILD_TYPES.length)];
+                    Component changed = withCarriedRule(random, RandomCatalog.entity(random, id, type));
+                    catalog.onComponentChanged(ComponentChangedEvent.upserted(ComponentResponse.fromEntity(changed)));
+                }
+                assertMatches(service, catalog.current(), configured, seed, step);
+            }
+        }
+    }
+
+    private static Component withCarriedRule(SplittableRandom random, Component entity) {
+        if (random.nextInt(6) == 0) {
+            Map<String, Object> extra = entity.getExtraCompatibility() != null
+                    ? new HashMap<>(entity.getExtraCompatibility()) : new HashMap<>();
+            extra.put(CompatibilityRuleService.COMPONENT_RULES_KEY, List.of(CARRIED.get(random.nextInt(CARRIED.size()))));
+            entity.setExtraCompatibility(extra);
+        }
+        return entity;
+    }
+
+    private static void assertMatches(CompatibilityService service, CatalogSnapshot snapshot, List<CompiledRule> configured,
+                                      long seed, int step) {
+        for (ComponentResponse component : snapshot.all()) {
+            Map<ComponentType, Integer> expectedCounts = new HashMap<>();
+            for (ComponentType target : PairCompatibilityMatrix.pairedTypes(component.type())) {
+                List<Long> expected = bruteForce(snapshot, configured, component, target);
+                assertThat(service.getPairCompatibleComponents(component.id(), target).orElseThrow())
+                        .as("seed %d step %d, %s with %s", seed, step, target, component.name())
+                        .extracting(ComponentResponse::id)
+                        .isEqualTo(expected);
+                expectedCounts.put(target, expected.size());
+            }
+            assertThat(service.getPairCompatibleCounts(component.id()).orElseThrow())
+                    .as("seed %d step %d, counts for %s", seed, step, component.name())
+                    .isEqualTo(expectedCounts);
+        }
+    }
+
+    /**
+     * Components of the target type, by ID, passing the built-in pair rules with the component, the configured rules
+     * on their own and as a pair, and the rules either of them carries applied to the other and to the pair.
+     */
+    private static List<Long> bruteForce(CatalogSnapshot snapshot, List<CompiledRule> configured,
+                                         ComponentResponse component, ComponentType target) {
+        List<Long> ids = new ArrayList<>();
+        for (ComponentResponse candidate : snapshot.byType(target)) {
+            boolean fits = CompatibilityRules.compatible(component, candidate);
+            for (CompiledRule rule : configured) {
+                fits &= rule.holds(candidate) && rule.holds(component, candidate);
+            }
+            for (CompiledRule rule : carried(component)) {
+                fits &= rule.holds(candidate) && rule.holds(component, candidate);
+            }
+            for (CompiledRule rule : carried(candidate)) {
+                fits &= rule.holds(candidate) && rule.holds(component) && rule.holds(component, candidate);
+            }
+            if (fits) {
+                ids.add(candidate.id());
+            }
+        }
+        ids.sort(Long::compare);
+        return ids;
+    }
+
+    private static List<CompiledRule> carried(ComponentResponse component) {
+        Object rules = component.extraCompatibility() != null
+                ? component.extraCompatibility().get(CompatibilityRuleService.COMPONENT_RULES_KEY) : null;
+        if (rules == null) {
+            return List.of();
+        }
+        return ((List<?>) rules).stream().map(rule -> CompiledRule.compile(rule.toString())).toList();
+    }
+}
@@ -0,0 +1,222 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.BuildGeneratorService;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.BuildViolation;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.CompiledRule;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the cheapest completion and the completion count of BuildCompletion against every completion of small
+ * random carts.
+ */
+class BuildCompletionTest {
+
+    private static final List<CompiledRule> CONFIGURED = List.of(
+            CompiledRule.compile("gpu-case-airflow: gpu.metadata.power_tier != 'extreme' || case.coolerHeightMm >= 150"),
+            CompiledRule.compile("board-cpu-brand: cpu.brand == motherboard.brand || cpu.metadata.performance_score < 50"),
+            CompiledRule.compile("ssd-psu-brand: ssd.brand != psu.brand"));
+
+    private static final CompiledRule CARRIED = CompiledRule.compile("short-gpu: gpu.gpuLengthMm <= 300");
+
+    /**
+     * On 150 random carts, with and without a price cap and configured or carried rules, the cheapest completion is
+     * the cheapest valid one and the count is exactly the completions that fit with prices and draws rounded; unless
+     * the count is reported as a lower bound, that is every valid completion under the cap.
+     */
+    @Test
+    void matchesBruteForceOnSmallCarts() {
+        int counted = 0;
+        int found = 0;
+        for (long seed = 0; seed < 150; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            List<BuildPart> fixed = new ArrayList<>();
+            Map<ComponentType, List<ComponentResponse>> catalog = new EnumMap<>(ComponentType.class);
+            long id = 1;
+            for (ComponentType type : BuildGeneratorService.DEFAULT_TYPES) {
+                if (random.nextInt(4) == 0) {
+                    fixed.add(new BuildPart(component(random, id++, type), 1 + random.nextInt(2)));
+                    continue;
+                }
+                List<ComponentResponse> components = new ArrayList<>();
+                for (int i = 1 + random.nextInt(6); i > 0; i--) {
+                    components.add(component(random, id++, type));
+                }
+                catalog.put(type, components);
+            }
+            RuleSet rules = rules(seed, catalog);
+
+            Map<ComponentType, List<ComponentResponse>> candidates = new EnumMap<>(ComponentType.class);
+            catalog.forEach((type, components) -> candidates.put(type, components.stream()
+                    .filter(c -> fixed.stream().allMatch(part -> CompatibilityRules.compatible(c, part.component())))
+                    .filter(c -> rules.allows(fixed, c))
+                    .toList()));
+            long fixedCents = fixed.stream()
+                    .mapToLong(part -> ComponentScores.cents(part.component().price()) * part.quantity())
+                    .sum();
+            Long cap = random.nextBoolean() ? null : fixedCents + 30_000 + random.nextInt(100_000);
+
+            BuildCompletion completion = BuildCompletion.of(fixed, candidates, rules);
+            BuildCompletion.Cheapest cheapest = completion.cheapest();
+            BuildCompletion.Count count = completion.count(cap);
+            BruteForce expected = new BruteForce(fixed, rules, cap != null ? cap - fixedCents : null, count.binCents());
+            expected.enumerate(new ArrayList<>(candidates.values()), 0, new ArrayList<>());
+
+            assertThat(cheapest.found()).as("seed %d", seed).isEqualTo(expected.cheapest != Long.MAX_VALUE);
+            if (cheapest.found()) {
+                assertThat(cheapest.priceCents()).as("seed %d", seed).isEqualTo(expected.cheapest);
+                List<BuildPart> build = new ArrayList<>(fixed);
+                cheapest.components().forEach(c -> build.add(new BuildPart(c, 1)));
+                assertThat(expected.valid(build)).as("seed %d", seed).isTrue();
+                found++;
+            }
+            assertThat(count.truncated()).isFalse();
+            assertThat(count.completions()).as("seed %d", seed).isEqualTo(expected.rounded);
+            assertThat(count.completions()).as("seed %d", seed).isLessThanOrEqualTo(expected.exact);
+            if (!count.rounded()) {
+                assertThat(count.completions()).as("seed %d, count not reported as rounded", seed).isEqualTo(expected.exact);
+            }
+            counted += count.completions() > 0 ? 1 : 0;
+        }
+        assertThat(counted).isGreaterThan(20);
+        assertThat(found).isGreaterThan(20);
+    }
+
+    /**
+     * A cap whose bin boundary falls between a build's rounded and exact price is reported as a lower bound.
+     */
+    @Test
+    void reportsCountsRoundedAtTheCapAsLowerBounds() {
+        SplittableRandom random = new SplittableRandom(1);
+        Component ssd = RandomCatalog.entity(random, 1, ComponentType.SSD);
+        ssd.setPrice(new java.math.BigDecimal("100.50"));
+        ssd.setWattage(null);
+        Map<ComponentType, List<ComponentResponse>> candidates = new EnumMap<>(ComponentType.class);
+        candidates.put(ComponentType.SSD, List.of(ComponentResponse.fromEntity(ssd)));
+        BuildCompletion completion = BuildCompletion.of(List.of(), candidates, RuleSet.EMPTY);
+
+        BuildCompletion.Count exact = completion.count(20_100L);
+        BuildCompletion.Count nearCap = completion.count(10_060L);
+
+        assertThat(exact.completions()).isEqualTo(1);
+        assertThat(exact.rounded()).isFalse();
+        assertThat(nearCap.completions()).isZero();
+        assertThat(nearCap.rounded()).isTrue();
+    }
+
+    private static ComponentResponse component(SplittableRandom random, long id, ComponentType type) {
+        return ComponentResponse.fromEntity(RandomCatalog.entity(random, id, type));
+    }
+
+    /**
+     * Configured rules for every other seed, and a rule carried by the first motherboard for every third.
+     */
+    private static RuleSet rules(long seed, Map<ComponentType, List<ComponentResponse>> catalog) {
+        List<CompiledRule> configured = seed % 2 == 0 ? CONFIGURED : List.of();
+        Map<Long, CompiledRule[]> carried = seed % 3 == 0 && catalog.containsKey(ComponentType.Motherboard)
+                ? Map.of(catalog.get(ComponentType.Motherboard).get(0).id(), new CompiledRule[]{CARRIED})
+                : Map.of();
+        return new RuleSet(seed, configured, carried);
+    }
+
+    /**
+     * Enumerates every completion, keeping the cheapest valid one, the number of valid ones under the cap, and the
+     * number that also fit with prices rounded up to the bin width and power rounded to the counting step.
+     */
+    private static final class BruteForce {
+
+        private final List<BuildPart> fixed;
+        private final RuleSet rules;
+        private final Long allowance;
+        private final long binCents;
+        long cheapest = Long.MAX_VALUE;
+        long exact;
+        long rounded;
+
+        BruteForce(List<BuildPart> fixed, RuleSet rules, Long allowance, long binCents) {
+            this.fixed = fixed;
+            this.rules = rules;
+            this.allowance = allowance;
+            this.binCents = binCents;
+        }
+
+        void enumerate(List<List<ComponentResponse>> stages, int stage, List<ComponentResponse> chosen) {
+            if (stage < stages.size()) {
+                for (ComponentResponse candidate : stages.get(stage)) {
+                    chosen.add(candidate);
+                    enumerate(stages, stage + 1, chosen);
+                    chosen.remove(chosen.size() - 1);
+                }
+                return;
+            }
+            List<BuildPart> build = new ArrayList<>(fixed);
+            chosen.forEach(c -> build.add(new BuildPart(c, 1)));
+            if (!valid(build)) {
+                return;
+            }
+            long price = chosen.stream().mapToLong(c -> ComponentScores.cents(c.price())).sum();
+            cheapest = Math.min(cheapest, price);
+            if (allowance != null && price > allowance) {
+                return;
+            }
+            exact++;
+            if (fitsRounded(chosen)) {
+                rounded++;
+            }
+        }
+
+        boolean valid(List<BuildPart> build) {
+            for (int i = 0; i < build.size(); i++) {
+                for (int j = 0; j < i; j++) {
+                    if (!CompatibilityRules.compatible(build.get(i).component(), build.get(j).component())) {
+                        return false;
+                    }
+                }
+            }
+            List<BuildViolation> violations = new ArrayList<>();
+            rules.collectViolations(build, violations);
+            Integer capacity = CompatibilityRules.psuCapacity(build);
+            return violations.isEmpty() && (capacity == null || CompatibilityRules.estimatedDraw(build) <= capacity);
+        }
+
+        private boolean fitsRounded(List<ComponentResponse> chosen) {
+            int step = BuildCompletion.COUNT_WATT_STEP;
+            Integer fixedCapacity = CompatibilityRules.psuCapacity(fixed);
+            boolean rated = fixedCapacity != null;
+            int balance = (rated ? Math.floorDiv(fixedCapacity, step) : 0)
+                    - ceilDiv(CompatibilityRules.estimatedDraw(fixed), step);
+            long bins = 0;
+            for (ComponentResponse c : chosen) {
+                if (c.type() == ComponentType.PSU && c.wattage() != null) {
+                    rated = true;
+                    balance += Math.floorDiv(c.wattage(), step);
+                } else {
+                    Integer draw = CompatibilityRules.unitDraw(c);
+                    balance -= ceilDiv(draw != null ? draw : 0, step);
+                }
+                if (allowance != null) {
+                    bins += -Math.floorDiv(-ComponentScores.cents(c.price()), binCents);
+                }
+            }
+            return !(rated && balance < 0) && (allowance == null || bins <= allowance / binCents);
+        }
+
+        private static int ceilDiv(int value, int divisor) {
+            return -Math.floorDiv(-value, divisor);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.BuildGeneratorService;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the build generator on synthetic catalogs shaped like a real parts catalog: every type has its
+ * usual spread of sockets, memory types, form factors, sizes and wattages, and scores grow with price.
+ * The deadline is far out, so every run is a complete search; a single-thread pool shows what the fork/join
+ * split buys. Run with: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=BuildSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildSearchBenchmark {
+
+    private static final String[][] PLATFORMS = {{"AM4", "DDR4"}, {"AM5", "DDR5"}, {"LGA1700", "DDR4"},
+            {"LGA1700", "DDR5"}, {"LGA1851", "DDR5"}};
+    private static final String[] BOARD_SIZES = {"Mini-ITX", "Micro-ATX", "ATX", "E-ATX"};
+    private static final String[] PSU_FORM_FACTORS = {"ATX", "SFX"};
+    private static final Duration NO_DEADLINE = Duration.ofMinutes(1);
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    @Param({"1000", "2500"})
+    public int budget;
+
+    private Map<ComponentType, List<ComponentResponse>> candidates;
+    private ForkJoinPool parallel;
+    private ForkJoinPool sequential;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        candidates = new EnumMap<>(ComponentType.class);
+        List<ComponentType> types = new ArrayList<>(BuildGeneratorService.DEFAULT_TYPES);
+        for (int i = 0; i < size; i++) {
+            ComponentType type = types.get(random.nextInt(types.size()));
+            candidates.computeIfAbsent(type, t -> new ArrayList<>()).add(component(i + 1L, type, random));
+        }
+        parallel = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        sequential = new ForkJoinPool(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallel.shutdownNow();
+        sequential.shutdownNow();
+    }
+
+    @Benchmark
+    public BuildSearch.Result parallel() {
+        return BuildSearch.of(List.of(), candidates, budget * 100L, RuleSet.EMPTY).run(parallel, deadline());
+    }
+
+    @Benchmark
+    public BuildSearch.Result sequential() {
+        return BuildSearch.of(List.of(), candidates, budget * 100L, RuleSet.EMPTY).run(sequential, deadline());
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + NO_DEADLINE.toNanos();
+    }
+
+    private static ComponentResponse component(long id, ComponentType type, SplittableRandom random) {
+        String[] platform = PLATFORMS[random.nextInt(PLATFORMS.length)];
+        int price = 20 + random.nextInt(type == ComponentType.GPU ? 1500 : type == ComponentType.CPU ? 600 : 300);
+        Long score = switch (type) {
+            case CPU -> price * 60L + random.nextInt(5000);
+            case GPU -> price * 15L + random.nextInt(2000);
+            case RAM -> price * 25L + random.nextInt(1000);
+            default -> null;
+        };
+        String socket = null;
+        String ramType = null;
+        String formFactor = null;
+        Integer wattage = null;
+        Integer gpuLength = null;
+        Integer coolerHeight = null;
+        String psuFormFactor = null;
+        switch (type) {
+            case CPU -> {
+                socket = platform[0];
+                ramType = platform[1];
+                wattage = 35 + random.nextInt(220);
+            }
+            case Motherboard -> {
+                socket = platform[0];
+                ramType = platform[1];
+                formFactor = BOARD_SIZES[random.nextInt(BOARD_SIZES.length)];
+                wattage = 30 + random.nextInt(50);
+            }
+            case RAM -> {
+                ramType = platform[1];
+                wattage = 5 + random.nextInt(10);
+            }
+            case GPU -> {
+                gpuLength = 170 + random.nextInt(190);
+                wattage = 75 + random.nextInt(400);
+            }
+            case Cooler -> {
+                socket = random.nextBoolean() ? "AM4, AM5, LGA1700, LGA1851" : platform[0];
+                coolerHeight = 40 + random.nextInt(130);
+                wattage = 3 + random.nextInt(10);
+            }
+            case Case -> {
+                formFactor = BOARD_SIZES[random.nextInt(BOARD_SIZES.length)];
+                gpuLength = 200 + random.nextInt(250);
+                coolerHeight = 60 + random.nextInt(130);
+                psuFormFactor = PSU_FORM_FACTORS[random.nextInt(PSU_FORM_FACTORS.length)];
+            }
+            case PSU -> {
+                wattage = 450 + 50 * random.nextInt(20);
+                psuFormFactor = PSU_FORM_FACTORS[random.nextInt(PSU_FORM_FACTORS.length)];
+            }
+            case SSD -> wattage = 3 + random.nextInt(8);
+            default -> {
+            }
+        }
+        Map<String, Object> metadata = score != null ? Map.of("performance_score", score) : Map.of();
+        return new ComponentResponse(id, type + " " + id, "Brand", type, socket, BigDecimal.valueOf(price * 100L, 2),
+                1 + random.nextInt(20), socket, ramType, wattage, formFactor, gpuLength, coolerHeight, psuFormFactor,
+                null, null, metadata, null, null);
+    }
+}
@@ -0,0 +1,209 @@
+package com.rigarchitect.service.build;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.BuildViolation;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import com.rigarchitect.service.compatibility.CompiledRule;
+import com.rigarchitect.service.compatibility.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the builds BuildSearch finds against every build of small random catalogs.
+ */
+class BuildSearchTest {
+
+    private static final List<ComponentType> TYPES = List.of(ComponentType.CPU, ComponentType.Motherboard,
+            ComponentType.RAM, ComponentType.GPU, ComponentType.Case, ComponentType.PSU, ComponentType.Cooler);
+
+    private static final RuleSet RULES = new RuleSet(1, List.of(
+            CompiledRule.compile("gpu-fits-airflow: gpu.metadata.power_tier != 'extreme' || case.coolerHeightMm >= 150"),
+            CompiledRule.compile("board-cpu-brand: cpu.brand == motherboard.brand || cpu.metadata.performance_score < 50"),
+            CompiledRule.compile("psu-minimum: psu.wattage >= 450")), Map.of());
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * A complete search finds a build with the best score, and of those the lowest price, that any build of the
+     * catalog reaches within the budget, with or without pinned components and configured rules.
+     */
+    @Test
+    void completeSearchFindsTheOptimum() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (long seed = 1; seed <= 40; seed++) {
+            Map<ComponentType, List<ComponentResponse>> candidates = catalog(seed, 4);
+            List<ComponentResponse> pinned = new ArrayList<>();
+            if (seed % 3 == 0) {
+                ComponentType type = TYPES.get(random.nextInt(TYPES.size()));
+                pinned.add(candidates.remove(type).get(random.nextInt(4)));
+            }
+            RuleSet rules = seed % 2 == 0 ? RULES : RuleSet.EMPTY;
+            long budget = 100_000 + random.nextInt(250_000);
+
+            BuildSearch.Result result = run(pinned, candidates, budget, rules);
+            long[] optimum = bruteForce(pinned, new ArrayList<>(candidates.values()), budget, rules);
+
+            assertThat(result.complete()).isTrue();
+            if (optimum == null) {
+                assertThat(result.found()).as("seed %d", seed).isFalse();
+                continue;
+            }
+            assertThat(result.found()).as("seed %d", seed).isTrue();
+            assertThat(new long[]{result.score(), result.priceCents()}).as("seed %d", seed).isEqualTo(optimum);
+            assertThat(valid(parts(result.components()), budget, rules)).as("seed %d", seed).isTrue();
+        }
+    }
+
+    /**
+     * The build found never costs more than the budget, pinned components included.
+     */
+    @Test
+    void neverExceedsTheBudget() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Map<ComponentType, List<ComponentResponse>> candidates = catalog(seed, 8);
+            for (long budget = 50_000; budget <= 400_000; budget += 25_000) {
+                BuildSearch.Result result = run(List.of(), candidates, budget, RuleSet.EMPTY);
+                if (result.found()) {
+                    long price = result.components().stream().mapToLong(c -> ComponentScores.cents(c.price())).sum();
+                    assertThat(result.priceCents()).isEqualTo(price).isLessThanOrEqualTo(budget);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pinned components are part of the build, count towards its price and constrain the other choices.
+     */
+    @Test
+    void keepsPinnedComponents() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Map<ComponentType, List<ComponentResponse>> candidates = catalog(seed, 6);
+            ComponentResponse cpu = candidates.remove(ComponentType.CPU).get(0);
+            long budget = 400_000;
+
+            BuildSearch.Result result = run(List.of(cpu), candidates, budget, RuleSet.EMPTY);
+
+            if (result.found()) {
+                assertThat(result.components()).contains(cpu).hasSize(TYPES.size());
+                assertThat(result.priceCents()).isGreaterThanOrEqualTo(ComponentScores.cents(cpu.price()));
+                for (ComponentResponse component : result.components()) {
+                    assertThat(CompatibilityRules.compatible(cpu, component)).isTrue();
+                }
+            } else {
+                assertThat(bruteForce(List.of(cpu), new ArrayList<>(candidates.values()), budget, RuleSet.EMPTY)).isNull();
+            }
+        }
+    }
+
+    /**
+     * When no build fits, the search completes without one: here the budget cannot cover the cheapest parts,
+     * and the configured rules refuse every power supply.
+     */
+    @Test
+    void reportsWhenNoBuildFits() {
+        Map<ComponentType, List<ComponentResponse>> candidates = catalog(1, 5);
+
+        BuildSearch.Result tooPoor = run(List.of(), candidates, 1_000, RuleSet.EMPTY);
+        BuildSearch.Result refused = run(List.of(), candidates, 10_000_000,
+                new RuleSet(1, List.of(CompiledRule.compile("psu.brand == 'Nobody'")), Map.of()));
+
+        assertThat(tooPoor.found()).isFalse();
+        assertThat(tooPoor.complete()).isTrue();
+        assertThat(tooPoor.components()).isEmpty();
+        assertThat(refused.found()).isFalse();
+        assertThat(refused.complete()).isTrue();
+    }
+
+    private BuildSearch.Result run(List<ComponentResponse> pinned, Map<ComponentType, List<ComponentResponse>> candidates,
+                                   long budget, RuleSet rules) {
+        return BuildSearch.of(pinned, candidates, budget, rules)
+                .run(pool, System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+    }
+
+    /**
+     * Creates a catalog with the given number of components of each build type.
+     */
+    private static Map<ComponentType, List<ComponentResponse>> catalog(long seed, int perType) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<ComponentType, List<ComponentResponse>> candidates = new EnumMap<>(ComponentType.class);
+        long id = 1;
+        for (ComponentType type : TYPES) {
+            List<ComponentResponse> components = new ArrayList<>();
+            for (int i = 0; i < perType; i++) {
+                components.add(ComponentResponse.fromEntity(RandomCatalog.entity(random, id++, type)));
+            }
+            candidates.put(type, components);
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the best score and, for it, the lowest price of any valid build, or null if there is none.
+     */
+    private static long[] bruteForce(List<ComponentResponse> pinned, List<List<ComponentResponse>> slots, long budget,
+                                     RuleSet rules) {
+        long[] best = null;
+        int[] picks = new int[slots.size()];
+        while (true) {
+            List<ComponentResponse> build = new ArrayList<>(pinned);
+            for (int i = 0; i < picks.length; i++) {
+                build.add(slots.get(i).get(picks[i]));
+            }
+            List<BuildPart> parts = parts(build);
+            if (valid(parts, budget, rules)) {
+                long score = build.stream().mapToLong(ComponentScores::performanceScore).sum();
+                long price = build.stream().mapToLong(c -> ComponentScores.cents(c.price())).sum();
+                if (best == null || score > best[0] || (score == best[0] && price < best[1])) {
+                    best = new long[]{score, price};
+                }
+            }
+            int i = 0;
+            while (i < picks.length && ++picks[i] == slots.get(i).size()) {
+                picks[i++] = 0;
+            }
+            if (i == picks.length) {
+                return best;
+            }
+        }
+    }
+
+    private static boolean valid(List<BuildPart> parts, long budget, RuleSet rules) {
+        long price = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            ComponentResponse component = parts.get(i).component();
+            price += ComponentScores.cents(component.price());
+            for (int j = 0; j < i; j++) {
+                if (!CompatibilityRules.compatible(parts.get(j).component(), component)) {
+                    return false;
+                }
+            }
+        }
+        List<BuildViolation> violations = new ArrayList<>();
+        rules.collectViolations(parts, violations);
+        Integer capacity = CompatibilityRules.psuCapacity(parts);
+        return price <= budget && violations.isEmpty()
+                && (capacity == null || CompatibilityRules.estimatedDraw(parts) <= capacity);
+    }
+
+    private static List<BuildPart> parts(List<ComponentResponse> components) {
+        return components.stream().map(component -> new BuildPart(component, 1)).toList();
+    }
+}
@@ -0,0 +1,151 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.compatibility.BuildPart;
+import com.rigarchitect.service.compatibility.CompatibilityRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bitmap answers of CompatibilityIndex against the pairwise CompatibilityRules and the power checks
+ * they stand for.
+ */
+class CompatibilityIndexTest {
+
+    /**
+     * A CPU listing DDR4 as its ram_type but flagging DDR5 support fits DDR5 boards and memory.
+     */
+    @Test
+    void cpuSupportFlagsWidenItsMemoryTypes() {
+        Component cpu = RandomCatalog.entity(new SplittableRandom(1), 1, ComponentType.CPU);
+        cpu.setSocket("LGA1700");
+        cpu.setRamType("DDR4");
+        cpu.setExtraCompatibility(Map.of("ddr4_support", true, "ddr5_support", true));
+        Component board = RandomCatalog.entity(new SplittableRandom(2), 2, ComponentType.Motherboard);
+        board.setSocket("LGA1700");
+        board.setRamType("DDR5");
+        Component ram = RandomCatalog.entity(new SplittableRandom(3), 3, ComponentType.RAM);
+        ram.setRamType("DDR5");
+        ComponentResponse cpuResponse = ComponentResponse.fromEntity(cpu);
+
+        assertThat(CompatibilityRules.compatible(cpuResponse, ComponentResponse.fromEntity(board))).isTrue();
+        assertThat(CompatibilityRules.compatible(cpuResponse, ComponentResponse.fromEntity(ram))).isTrue();
+
+        CompatibilityIndex index = indexOf(List.of(cpu, board, ram));
+        List<BuildPart> build = List.of(new BuildPart(cpuResponse, 1));
+        assertThat(index.compatibleWith(build, ComponentType.Motherboard)).extracting(ComponentResponse::id).containsExactly(2L);
+        assertThat(index.compatibleWith(build, ComponentType.RAM)).extracting(ComponentResponse::id).containsExactly(3L);
+    }
+
+    /**
+     * A CPU whose flags rule a memory type out does not fit boards of that type, whatever its ram_type says.
+     */
+    @Test
+    void cpuSupportFlagsOverrideItsRamType() {
+        Component cpu = RandomCatalog.entity(new SplittableRandom(1), 1, ComponentType.CPU);
+        cpu.setSocket("AM5");
+        cpu.setRamType("DDR4");
+        cpu.setExtraCompatibility(Map.of("ddr4_support", false, "ddr5_support", true));
+        Component board = RandomCatalog.entity(new SplittableRandom(2), 2, ComponentType.Motherboard);
+        board.setSocket("AM5");
+        board.setRamType("DDR4");
+
+        assertThat(CompatibilityRules.compatible(ComponentResponse.fromEntity(cpu), ComponentResponse.fromEntity(board)))
+                .isFalse();
+        assertThat(indexOf(List.of(cpu, board))
+                .compatibleWith(List.of(new BuildPart(ComponentResponse.fromEntity(cpu), 1)), ComponentType.Motherboard))
+                .isEmpty();
+    }
+
+    /**
+     * For every component as a one-part build and every type, the index gives exactly the components the pair rules
+     * and power checks accept.
+     */
+    @Test
+    void singlePartBuildsMatchPairwiseRules() {
+        for (long seed = 1; seed <= 5; seed++) {
+            List<Component> entities = RandomCatalog.entities(seed, 270);
+            List<ComponentResponse> all = entities.stream().map(ComponentResponse::fromEntity).toList();
+            CompatibilityIndex index = indexOf(entities);
+            for (ComponentResponse part : all) {
+                List<BuildPart> build = List.of(new BuildPart(part, 1));
+                for (ComponentType type : RandomCatalog.BUILD_TYPES) {
+                    assertThat(ids(index.compatibleWith(build, type)))
+                            .as("seed %d, %s with %s", seed, type, part.name())
+                            .isEqualTo(ids(bruteForce(all, build, type)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Random multi-part builds, including repeated quantities, match the pair rules checked against every part.
+     */
+    @Test
+    void multiPartBuildsMatchPairwiseRules() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (long seed = 1; seed <= 5; seed++) {
+            List<Component> entities = RandomCatalog.entities(seed, 450);
+            List<ComponentResponse> all = entities.stream().map(ComponentResponse::fromEntity).toList();
+            CompatibilityIndex index = indexOf(entities);
+            for (int trial = 0; trial < 200; trial++) {
+                List<BuildPart> build = new ArrayList<>();
+                int size = 2 + random.nextInt(3);
+                for (int i = 0; i < size; i++) {
+                    build.add(new BuildPart(all.get(random.nextInt(all.size())), 1 + random.nextInt(2)));
+                }
+                for (ComponentType type : RandomCatalog.BUILD_TYPES) {
+                    assertThat(ids(index.compatibleWith(build, type)))
+                            .as("seed %d, %s with %s", seed, type, build)
+                            .isEqualTo(ids(bruteForce(all, build, type)));
+                }
+            }
+        }
+    }
+
+    private static CompatibilityIndex indexOf(List<Component> entities) {
+        ComponentCatalog catalog = RandomCatalog.catalogOf(entities);
+        CompatibilityIndex index = new CompatibilityIndex(catalog);
+        index.register();
+        catalog.reload();
+        return index;
+    }
+
+    /**
+     * Components of the type that break no pair rule with any part, and that the build's power supplies, with one
+     * unit of the candidate added, still cover. A candidate missing its wattage is never excluded by power.
+     */
+    private static List<ComponentResponse> bruteForce(List<ComponentResponse> all, List<BuildPart> build, ComponentType type) {
+        int draw = CompatibilityRules.estimatedDraw(build);
+        Integer capacity = CompatibilityRules.psuCapacity(build);
+        List<ComponentResponse> result = new ArrayList<>();
+        for (ComponentResponse candidate : all) {
+            if (candidate.type() != type) {
+                continue;
+            }
+            boolean fits = build.stream().allMatch(part -> CompatibilityRules.compatible(part.component(), candidate));
+            if (type == ComponentType.PSU) {
+                fits &= candidate.wattage() == null || (capacity != null ? capacity : 0) + candidate.wattage() >= draw;
+            } else if (capacity != null) {
+                Integer unit = CompatibilityRules.unitDraw(candidate);
+                fits &= capacity >= draw + (unit != null ? unit : 0);
+            }
+            if (fits) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private static List<Long> ids(List<ComponentResponse> components) {
+        return components.stream().map(ComponentResponse::id).sorted().toList();
+    }
+}
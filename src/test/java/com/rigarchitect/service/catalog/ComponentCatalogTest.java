@@ -0,0 +1,59 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the order in which ComponentCatalog hands changes to its listeners and publishes them.
+ */
+class ComponentCatalogTest {
+
+    /**
+     * Listeners get the new snapshot of every reload, upsert and delete while readers still see the previous
+     * version, so a published version is always backed by updated indexes.
+     */
+    @Test
+    void listenersRunBeforeTheNewVersionIsPublished() {
+        ComponentCatalog catalog = RandomCatalog.catalogOf(RandomCatalog.entities(1, 27));
+        catalog.reload();
+        List<String> seen = new ArrayList<>();
+        catalog.addListener(new CatalogListener() {
+            @Override
+            public void onCatalogLoaded(CatalogSnapshot snapshot) {
+                seen.add("loaded v" + snapshot.version() + " published v" + catalog.version());
+            }
+
+            @Override
+            public void onComponentUpserted(CatalogSnapshot snapshot, ComponentResponse previous, ComponentResponse current) {
+                seen.add("upserted v" + snapshot.version() + " published v" + catalog.version()
+                        + " contains " + snapshot.findById(current.id()).isPresent());
+            }
+
+            @Override
+            public void onComponentRemoved(CatalogSnapshot snapshot, ComponentResponse previous) {
+                seen.add("removed v" + snapshot.version() + " published v" + catalog.version()
+                        + " contains " + snapshot.findById(previous.id()).isPresent());
+            }
+        });
+
+        ComponentResponse added = ComponentResponse.fromEntity(
+                RandomCatalog.entity(new SplittableRandom(2), 100, ComponentType.GPU));
+        catalog.onComponentChanged(ComponentChangedEvent.upserted(added));
+        catalog.onComponentChanged(ComponentChangedEvent.deleted(100L));
+        catalog.reload();
+
+        assertThat(seen).containsExactly(
+                "loaded v1 published v1",
+                "upserted v2 published v1 contains true",
+                "removed v3 published v2 contains false",
+                "loaded v4 published v3");
+        assertThat(catalog.version()).isEqualTo(4);
+    }
+}
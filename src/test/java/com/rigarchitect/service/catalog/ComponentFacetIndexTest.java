@@ -0,0 +1,186 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.ComponentFilter;
+import com.rigarchitect.repository.ComponentSearchTerms;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bitmap answers of ComponentFacetIndex against evaluating the filters on every component.
+ */
+class ComponentFacetIndexTest {
+
+    private static final String[] TERMS = {"cpu", "gpu 1", "brand2", "tag", "TAG1", "ram 3", "case", "2"};
+    private static final String[] BRANDS = {"brand1", "AND", "Brand3", "x"};
+    private static final String[] SOCKETS = {"am", "AM5", "lga", "1700"};
+
+    /**
+     * After loading and after every upsert, type change and delete, searches and counts for random filters give
+     * exactly the components the filter matches.
+     */
+    @Test
+    void matchesFilteringEveryComponentThroughChanges() {
+        for (long seed = 1; seed <= 3; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            ComponentCatalog catalog = RandomCatalog.catalogOf(RandomCatalog.entities(seed, 360));
+            ComponentFacetIndex index = new ComponentFacetIndex(catalog);
+            index.register();
+            catalog.reload();
+
+            long nextId = 361;
+            for (int step = 0; step < 80; step++) {
+                for (int query = 0; query < 10; query++) {
+                    ComponentFilter filter = randomFilter(random);
+                    List<Long> expected = ids(bruteForce(catalog.current().all(), filter));
+                    assertThat(ids(index.search(filter))).as("seed %d step %d, %s", seed, step, filter).isEqualTo(expected);
+                    assertThat(index.count(filter)).isEqualTo(expected.size());
+                }
+
+                List<ComponentResponse> all = catalog.current().all();
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    catalog.onComponentChanged(ComponentChangedEvent.deleted(all.get(random.nextInt(all.size())).id()));
+                } else {
+                    long id = operation == 1 ? all.get(random.nextInt(all.size())).id() : nextId++;
+                    Component changed = RandomCatalog.entity(random,
+                            id, RandomCatalog.BUILD_TYPES[random.nextInt(RandomCatalog.BUILD_TYPES.length)]);
+                    if (random.nextInt(10) == 0) {
+                        changed.setPrice(null);
+                    }
+                    catalog.onComponentChanged(ComponentChangedEvent.upserted(ComponentResponse.fromEntity(changed)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Facet and price-bucket counts cover exactly the matching components, with prices below the first bound and
+     * missing prices left out of the buckets.
+     */
+    @Test
+    void countsFacetValuesAndPriceBuckets() {
+        ComponentCatalog catalog = RandomCatalog.catalogOf(RandomCatalog.entities(4, 450));
+        ComponentFacetIndex index = new ComponentFacetIndex(catalog);
+        index.register();
+        catalog.reload();
+        long[] bounds = {10_000, 25_000, 50_000};
+        ComponentFilter filter = ComponentFilter.of(null, null, "brand", null, null, null, 1, false);
+
+        FacetCounts counts = index.facetCounts(filter, EnumSet.of(ComponentFacetIndex.Facet.TYPE,
+                ComponentFacetIndex.Facet.BRAND), bounds);
+
+        List<ComponentResponse> matching = bruteForce(catalog.current().all(), filter);
+        Map<String, Integer> types = new HashMap<>();
+        Map<String, Integer> brands = new HashMap<>();
+        int[] buckets = new int[bounds.length];
+        for (ComponentResponse component : matching) {
+            types.merge(component.type().name(), 1, Integer::sum);
+            brands.merge(component.brand(), 1, Integer::sum);
+            long cents = ComponentFacetIndex.toCents(component.price());
+            for (int i = bounds.length - 1; i >= 0; i--) {
+                if (cents >= bounds[i]) {
+                    buckets[i]++;
+                    break;
+                }
+            }
+        }
+        assertThat(counts.total()).isEqualTo(matching.size());
+        assertThat(counts.values().get(ComponentFacetIndex.Facet.TYPE)).isEqualTo(types);
+        assertThat(counts.values().get(ComponentFacetIndex.Facet.BRAND)).isEqualTo(brands);
+        assertThat(counts.priceBuckets()).containsExactly(buckets);
+    }
+
+    /**
+     * Price caps beyond the range of cents saturate instead of failing: a huge cap matches every priced component
+     * and a hugely negative one none, however large the exponent.
+     */
+    @Test
+    void saturatesPriceCapsBeyondTheRangeOfCents() {
+        ComponentCatalog catalog = RandomCatalog.catalogOf(RandomCatalog.entities(5, 90));
+        ComponentFacetIndex index = new ComponentFacetIndex(catalog);
+        index.register();
+        catalog.reload();
+
+        for (String cap : new String[]{"92233720368547758.07", "1E+30", "1E+999999999"}) {
+            assertThat(index.count(ComponentFilter.of(null, null, null, null, null, new BigDecimal(cap), 0, false)))
+                    .as(cap).isEqualTo(90);
+        }
+        for (String cap : new String[]{"-92233720368547758.08", "-1E+30", "-1E+999999999"}) {
+            assertThat(index.count(ComponentFilter.of(null, null, null, null, null, new BigDecimal(cap), 0, false)))
+                    .as(cap).isZero();
+        }
+        assertThat(ComponentFacetIndex.toCents(new BigDecimal("1E-999999999"))).isZero();
+        assertThat(ComponentFacetIndex.toCents(new BigDecimal("-1E-999999999"))).isEqualTo(-1);
+        assertThat(ComponentFacetIndex.toCents(new BigDecimal("19.999"))).isEqualTo(1_999);
+        assertThat(ComponentFacetIndex.toCents(new BigDecimal("-0.015"))).isEqualTo(-2);
+    }
+
+    private static ComponentFilter randomFilter(SplittableRandom random) {
+        return ComponentFilter.of(
+                random.nextInt(3) == 0 ? TERMS[random.nextInt(TERMS.length)] : null,
+                random.nextInt(3) == 0 ? RandomCatalog.BUILD_TYPES[random.nextInt(RandomCatalog.BUILD_TYPES.length)] : null,
+                random.nextInt(4) == 0 ? BRANDS[random.nextInt(BRANDS.length)] : null,
+                random.nextInt(4) == 0 ? SOCKETS[random.nextInt(SOCKETS.length)] : null,
+                random.nextInt(5) == 0 ? "tag" + random.nextInt(4) : null,
+                random.nextInt(3) == 0 ? BigDecimal.valueOf(random.nextInt(70_000), 2) : null,
+                random.nextInt(3) == 0 ? random.nextInt(25) : null,
+                random.nextInt(5) == 0);
+    }
+
+    /**
+     * Components matching the filter the way the database query does: text filters as case-insensitive substrings,
+     * and the searchTerm as a substring of name, brand or compatibility tag or with every word prefixing one of
+     * their words.
+     */
+    private static List<ComponentResponse> bruteForce(List<ComponentResponse> all, ComponentFilter filter) {
+        List<ComponentResponse> result = new ArrayList<>();
+        for (ComponentResponse c : all) {
+            boolean matches = (filter.type() == null || filter.type() == c.type())
+                    && contains(c.brand(), filter.brand())
+                    && contains(c.socket(), filter.socket())
+                    && contains(c.compatibilityTag(), filter.compatibilityTag())
+                    && (filter.maxPrice() == null || (c.price() != null && c.price().compareTo(filter.maxPrice()) <= 0))
+                    && (c.stockQuantity() != null ? c.stockQuantity() : 0) >= filter.minStock();
+            if (matches && filter.searchTerm() != null) {
+                String term = filter.searchTerm();
+                matches = (c.name() != null && contains(c.name(), term)) || (c.brand() != null && contains(c.brand(), term))
+                        || (c.compatibilityTag() != null && contains(c.compatibilityTag(), term))
+                        || prefixesEveryWord(c, term);
+            }
+            if (matches) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    private static boolean contains(String value, String filter) {
+        return filter == null || (value != null && value.toLowerCase(Locale.ROOT).contains(filter.toLowerCase(Locale.ROOT)));
+    }
+
+    private static boolean prefixesEveryWord(ComponentResponse c, String term) {
+        List<String> words = new ArrayList<>();
+        for (String text : new String[]{c.name(), c.brand(), c.compatibilityTag()}) {
+            words.addAll(ComponentSearchTerms.words(text));
+        }
+        List<String> prefixes = ComponentSearchTerms.words(term);
+        return !prefixes.isEmpty() && prefixes.stream().allMatch(prefix -> words.stream().anyMatch(w -> w.startsWith(prefix)));
+    }
+
+    private static List<Long> ids(List<ComponentResponse> components) {
+        return components.stream().map(ComponentResponse::id).sorted().toList();
+    }
+}
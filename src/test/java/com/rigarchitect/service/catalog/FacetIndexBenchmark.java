@@ -0,0 +1,132 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.ComponentFilter;
+import com.rigarchitect.repository.ComponentRepository;
+import jakarta.persistence.EntityManager;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the bitmap facet index with the findAll()+stream filter it replaced in ComponentService.searchComponents.
+ * The scan runs over already loaded entities, so the database round trip of the old path is not even counted.
+ * Run with: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=FacetIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacetIndexBenchmark {
+
+    private static final String[] BRANDS = {"AMD", "Intel", "NVIDIA", "ASUS", "MSI", "Gigabyte", "Corsair",
+            "G.Skill", "Kingston", "Samsung", "Western Digital", "Seagate", "Seasonic", "EVGA", "be quiet!",
+            "Noctua", "Fractal Design", "NZXT", "Lian Li", "Cooler Master"};
+    private static final String[] SOCKETS = {"AM4", "AM5", "LGA1700", "LGA1200", "LGA1851"};
+    private static final String[] RAM_TYPES = {"DDR4", "DDR5"};
+    private static final String[] FORM_FACTORS = {"ATX", "Micro-ATX", "Mini-ITX", "E-ATX"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Component> entities;
+    private ComponentFacetIndex index;
+
+    /** Selective: one type, one brand, one socket. */
+    private ComponentFilter narrow;
+    /** Broad: one type and a price cap that keeps about half of it. */
+    private ComponentFilter broad;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        entities = new ArrayList<>(size);
+        ComponentType[] types = ComponentType.values();
+        for (int i = 0; i < size; i++) {
+            Component component = new Component();
+            component.setId((long) i + 1);
+            component.setType(types[random.nextInt(types.length)]);
+            component.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            component.setName(component.getBrand() + " " + component.getType() + " " + i);
+            component.setCompatibilityTag(SOCKETS[random.nextInt(SOCKETS.length)]);
+            component.setSocket(random.nextInt(3) == 0 ? SOCKETS[random.nextInt(SOCKETS.length)] : null);
+            component.setRamType(RAM_TYPES[random.nextInt(RAM_TYPES.length)]);
+            component.setFormFactor(FORM_FACTORS[random.nextInt(FORM_FACTORS.length)]);
+            component.setPrice(BigDecimal.valueOf(random.nextInt(2_000_00), 2));
+            component.setStockQuantity(random.nextInt(50));
+            entities.add(component);
+        }
+
+        ComponentRepository repository = Mockito.mock(ComponentRepository.class);
+        Mockito.when(repository.streamAllOrderById()).thenAnswer(invocation -> entities.stream());
+        ComponentCatalog catalog = new ComponentCatalog(repository, Mockito.mock(EntityManager.class),
+                Mockito.mock(PlatformTransactionManager.class));
+        index = new ComponentFacetIndex(catalog);
+        index.register();
+        catalog.reload();
+
+        narrow = ComponentFilter.of(null, ComponentType.CPU, "amd", "am5", null, null, null, false);
+        broad = ComponentFilter.of(null, ComponentType.GPU, null, null, null, new BigDecimal("1000.00"), 1, false);
+    }
+
+    @Benchmark
+    public List<ComponentResponse> indexNarrow() {
+        return index.search(narrow);
+    }
+
+    @Benchmark
+    public List<ComponentResponse> scanNarrow() {
+        return scan(narrow);
+    }
+
+    @Benchmark
+    public List<ComponentResponse> indexBroad() {
+        return index.search(broad);
+    }
+
+    @Benchmark
+    public List<ComponentResponse> scanBroad() {
+        return scan(broad);
+    }
+
+    /**
+     * The filter previously used by ComponentService.searchComponents.
+     */
+    private List<ComponentResponse> scan(ComponentFilter filter) {
+        ComponentType type = filter.type();
+        String brand = filter.brand();
+        String socket = filter.socket();
+        BigDecimal maxPrice = filter.maxPrice();
+        int minStock = filter.minStock();
+        return entities.stream()
+                .filter(c -> type == null || c.getType().equals(type))
+                .filter(c -> brand == null || (c.getBrand() != null && c.getBrand().toLowerCase().contains(brand.toLowerCase())))
+                .filter(c -> socket == null || (c.getSocket() != null && c.getSocket().toLowerCase().contains(socket.toLowerCase())))
+                .filter(c -> maxPrice == null || c.getPrice().compareTo(maxPrice) <= 0)
+                .filter(c -> c.getStockQuantity() >= minStock)
+                .map(ComponentResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+package com.rigarchitect.service.catalog;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.repository.ComponentRepository;
+import jakarta.persistence.EntityManager;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Random catalogs for tests that check the catalog indexes and searches against brute force.
+ * Attribute values come from small pools and are sometimes missing, so both matches and conflicts are common.
+ */
+public final class RandomCatalog {
+
+    private static final String[] SOCKETS = {"AM4", "AM5", "LGA1700"};
+    private static final String[] RAM_TYPES = {"DDR4", "DDR5"};
+    private static final String[] BOARD_FORM_FACTORS = {"ATX", "Micro-ATX", "Mini-ITX"};
+    private static final String[] PSU_FORM_FACTORS = {"ATX", "SFX"};
+    private static final String[] POWER_TIERS = {"low", "moderate", "high", "extreme"};
+
+    /** The types a full build is made of. */
+    public static final ComponentType[] BUILD_TYPES = {ComponentType.CPU, ComponentType.Motherboard, ComponentType.RAM,
+            ComponentType.GPU, ComponentType.Case, ComponentType.Cooler, ComponentType.PSU, ComponentType.SSD,
+            ComponentType.HDD};
+
+    private RandomCatalog() {
+    }
+
+    /**
+     * Creates component entities with IDs from 1, spread evenly over the build types.
+     */
+    public static List<Component> entities(long seed, int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Component> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(entity(random, (long) i + 1, BUILD_TYPES[i % BUILD_TYPES.length]));
+        }
+        return entities;
+    }
+
+    /**
+     * Creates a random component of the given type.
+     */
+    public static Component entity(SplittableRandom random, long id, ComponentType type) {
+        Component c = new Component();
+        c.setId(id);
+        c.setType(type);
+        c.setBrand("Brand" + random.nextInt(4));
+        c.setName(type + " " + id);
+        c.setCompatibilityTag("tag" + random.nextInt(3));
+        c.setPrice(BigDecimal.valueOf(2_000 + random.nextInt(60_000), 2));
+        c.setStockQuantity(random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(20));
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("performance_score", random.nextInt(100));
+        if (random.nextInt(4) > 0) {
+            metadata.put("power_tier", pick(random, POWER_TIERS));
+        }
+        c.setMetadata(metadata);
+        switch (type) {
+            case CPU -> {
+                c.setSocket(maybe(random, SOCKETS));
+                c.setRamType(maybe(random, RAM_TYPES));
+                c.setWattage(65 + random.nextInt(190));
+                if (random.nextBoolean()) {
+                    Map<String, Object> extra = new HashMap<>();
+                    extra.put("ddr4_support", random.nextBoolean());
+                    extra.put("ddr5_support", random.nextBoolean());
+                    c.setExtraCompatibility(extra);
+                }
+            }
+            case Motherboard -> {
+                c.setSocket(maybe(random, SOCKETS));
+                c.setRamType(maybe(random, RAM_TYPES));
+                c.setFormFactor(maybe(random, BOARD_FORM_FACTORS));
+                c.setGpuLengthMm(random.nextInt(3) == 0 ? null : 250 + random.nextInt(120));
+                c.setWattage(random.nextInt(3) == 0 ? null : 20 + random.nextInt(40));
+            }
+            case RAM -> {
+                c.setRamType(maybe(random, RAM_TYPES));
+                c.setWattage(5 + random.nextInt(10));
+            }
+            case GPU -> {
+                c.setGpuLengthMm(random.nextInt(8) == 0 ? null : 200 + random.nextInt(150));
+                c.setWattage(random.nextInt(8) == 0 ? null : 75 + random.nextInt(375));
+            }
+            case Case -> {
+                String formFactors = pick(random, BOARD_FORM_FACTORS);
+                if (random.nextBoolean()) {
+                    formFactors += ", " + pick(random, BOARD_FORM_FACTORS);
+                }
+                c.setFormFactor(random.nextInt(8) == 0 ? null : formFactors);
+                c.setGpuLengthMm(random.nextInt(4) == 0 ? null : 250 + random.nextInt(150));
+                c.setCoolerHeightMm(random.nextInt(4) == 0 ? null : 120 + random.nextInt(60));
+                c.setPsuFormFactor(maybe(random, PSU_FORM_FACTORS));
+            }
+            case Cooler -> {
+                String sockets = pick(random, SOCKETS);
+                if (random.nextBoolean()) {
+                    sockets += "," + pick(random, SOCKETS);
+                }
+                c.setSocket(random.nextInt(8) == 0 ? null : sockets);
+                c.setCoolerHeightMm(random.nextInt(4) == 0 ? null : 100 + random.nextInt(80));
+                c.setWattage(random.nextInt(3) == 0 ? null : 2 + random.nextInt(8));
+            }
+            case PSU -> {
+                c.setWattage(random.nextInt(10) == 0 ? null : 300 + 50 * random.nextInt(15));
+                c.setPsuFormFactor(maybe(random, PSU_FORM_FACTORS));
+            }
+            default -> c.setWattage(random.nextInt(3) == 0 ? null : 3 + random.nextInt(10));
+        }
+        return c;
+    }
+
+    /**
+     * Creates component responses with IDs from 1, spread evenly over the build types.
+     */
+    public static List<ComponentResponse> components(long seed, int size) {
+        return entities(seed, size).stream().map(ComponentResponse::fromEntity).toList();
+    }
+
+    /**
+     * Creates a catalog serving the given entities, loaded on first use and by {@link ComponentCatalog#reload()}.
+     */
+    public static ComponentCatalog catalogOf(List<Component> entities) {
+        ComponentRepository repository = Mockito.mock(ComponentRepository.class);
+        Mockito.when(repository.streamAllOrderById()).thenAnswer(invocation -> entities.stream());
+        return new ComponentCatalog(repository, Mockito.mock(EntityManager.class),
+                Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    private static String maybe(SplittableRandom random, String[] values) {
+        return random.nextInt(8) == 0 ? null : pick(random, values);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,99 @@
+package com.rigarchitect.service.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the range answers of SortedValueIndex against scanning the values directly.
+ */
+class SortedValueIndexTest {
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    /**
+     * Absent values are left out, and ranges are inclusive at both ends.
+     */
+    @Test
+    void findsInclusiveRangesSkippingAbsentValues() {
+        long[] values = {500, ABSENT, 100, 300, 300, 900};
+        SortedValueIndex index = SortedValueIndex.build(values, values.length, ABSENT);
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.count(300, 500)).isEqualTo(3);
+        assertThat(index.between(300, 500).toArray()).containsExactly(0, 3, 4);
+        assertThat(index.between(Long.MIN_VALUE + 1, Long.MAX_VALUE).toArray()).containsExactly(0, 2, 3, 4, 5);
+        assertThat(index.count(600, 800)).isZero();
+        assertThat(index.count(800, 600)).isZero();
+        assertThat(index.between(800, 600).isEmpty()).isTrue();
+    }
+
+    /**
+     * Values outside the range that can be packed with an ordinal, negative or above an int, are sorted as well.
+     */
+    @Test
+    void sortsValuesOutsideThePackedRange() {
+        long[] values = {Long.MAX_VALUE, -5, 1L << 40, 0, Long.MIN_VALUE + 1};
+        SortedValueIndex index = SortedValueIndex.build(values, values.length, ABSENT);
+
+        assertThat(index.between(-5, 1L << 40).toArray()).containsExactly(1, 2, 3);
+        assertThat(index.between(Long.MIN_VALUE + 1, -1).toArray()).containsExactly(1, 4);
+        assertThat(index.count(Long.MAX_VALUE, Long.MAX_VALUE)).isEqualTo(1);
+    }
+
+    /**
+     * Through random inserts and removals, including duplicate values, every range matches a scan of the values.
+     */
+    @Test
+    void matchesScanningThroughChanges() {
+        for (long seed = 1; seed <= 5; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            boolean wide = seed % 2 == 0;
+            int ordinals = 300;
+            long[] values = new long[ordinals];
+            for (int i = 0; i < ordinals; i++) {
+                values[i] = random.nextInt(5) == 0 ? ABSENT : value(random, wide);
+            }
+            SortedValueIndex index = SortedValueIndex.build(values, ordinals, ABSENT);
+
+            for (int step = 0; step < 400; step++) {
+                int ordinal = random.nextInt(ordinals);
+                if (values[ordinal] != ABSENT) {
+                    index.remove(values[ordinal], ordinal);
+                }
+                values[ordinal] = random.nextInt(5) == 0 ? ABSENT : value(random, wide);
+                if (values[ordinal] != ABSENT) {
+                    index.insert(values[ordinal], ordinal);
+                }
+
+                long min = value(random, wide);
+                long max = random.nextInt(10) == 0 ? min : value(random, wide);
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < ordinals; i++) {
+                    if (values[i] != ABSENT && values[i] >= min && values[i] <= max) {
+                        expected.add(i);
+                    }
+                }
+                RoaringBitmap between = index.between(min, max);
+                assertThat(Arrays.stream(between.toArray()).boxed().toList())
+                        .as("seed %d step %d, [%d, %d]", seed, step, min, max)
+                        .isEqualTo(expected);
+                assertThat(index.count(min, max)).isEqualTo(expected.size());
+                assertThat(index.size()).isEqualTo((int) Arrays.stream(values).filter(v -> v != ABSENT).count());
+            }
+        }
+    }
+
+    /**
+     * Draws from a small range so that duplicates are common, or from a wide one spanning negative values.
+     */
+    private static long value(SplittableRandom random, boolean wide) {
+        return wide ? random.nextLong(-1L << 40, 1L << 40) : random.nextInt(50);
+    }
+}
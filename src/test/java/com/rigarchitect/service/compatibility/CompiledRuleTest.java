@@ -0,0 +1,306 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.Component;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Covers parsing, type checking and evaluation of the compatibility rule language.
+ */
+class CompiledRuleTest {
+
+    private static final ComponentResponse GPU_300 = part(ComponentType.GPU, c -> c.setGpuLengthMm(300));
+    private static final ComponentResponse CASE_320 = part(ComponentType.Case, c -> c.setGpuLengthMm(320));
+    private static final ComponentResponse CASE_280 = part(ComponentType.Case, c -> c.setGpuLengthMm(280));
+
+    /**
+     * A named rule keeps its name, records its types in order of mention and relates them in either order.
+     */
+    @Test
+    void parsesNameAndTypes() {
+        CompiledRule rule = CompiledRule.compile("  gpu-fits-case: case.gpuLengthMm >= gpu.gpuLengthMm  ");
+
+        assertThat(rule.name()).isEqualTo("gpu-fits-case");
+        assertThat(rule.source()).isEqualTo("gpu-fits-case: case.gpuLengthMm >= gpu.gpuLengthMm");
+        assertThat(rule.first()).isEqualTo(ComponentType.Case);
+        assertThat(rule.second()).isEqualTo(ComponentType.GPU);
+        assertThat(rule.relates(ComponentType.GPU, ComponentType.Case)).isTrue();
+        assertThat(rule.relates(ComponentType.Case, ComponentType.GPU)).isTrue();
+        assertThat(rule.relates(ComponentType.Case, ComponentType.PSU)).isFalse();
+    }
+
+    /**
+     * A rule without a name is named by its source, and a rule over one type relates no pair.
+     */
+    @Test
+    void unnamedSingleTypeRule() {
+        CompiledRule rule = CompiledRule.compile("gpu.wattage <= 450");
+
+        assertThat(rule.name()).isEqualTo("gpu.wattage <= 450");
+        assertThat(rule.first()).isEqualTo(ComponentType.GPU);
+        assertThat(rule.second()).isNull();
+        assertThat(rule.relates(ComponentType.GPU, ComponentType.GPU)).isFalse();
+        assertThat(rule.holds(part(ComponentType.GPU, c -> c.setWattage(450)))).isTrue();
+        assertThat(rule.holds(part(ComponentType.GPU, c -> c.setWattage(451)))).isFalse();
+        assertThat(rule.holds(part(ComponentType.PSU, c -> c.setWattage(1000)))).isTrue();
+        assertThat(rule.holds(GPU_300, CASE_280)).isTrue();
+    }
+
+    /**
+     * Pair rules give the same answer whichever order the components are passed in, and hold for unrelated types.
+     */
+    @Test
+    void pairRulesIgnoreArgumentOrder() {
+        CompiledRule rule = CompiledRule.compile("case.gpuLengthMm >= gpu.gpuLengthMm");
+
+        assertThat(rule.holds(CASE_320, GPU_300)).isTrue();
+        assertThat(rule.holds(GPU_300, CASE_320)).isTrue();
+        assertThat(rule.holds(CASE_280, GPU_300)).isFalse();
+        assertThat(rule.holds(GPU_300, CASE_280)).isFalse();
+        assertThat(rule.holds(GPU_300, part(ComponentType.PSU, c -> c.setGpuLengthMm(1)))).isTrue();
+        assertThat(rule.holds(CASE_280)).isTrue();
+    }
+
+    /**
+     * Each comparison operator on numbers.
+     */
+    @Test
+    void numericOperators() {
+        ComponentResponse gpu = part(ComponentType.GPU, c -> c.setWattage(200));
+        assertOperators(gpu, 200, true, false, false, true, false, true);
+        assertOperators(gpu, 250, false, true, true, true, false, false);
+        assertOperators(gpu, 150, false, true, false, false, true, true);
+        assertThat(CompiledRule.compile("gpu.wattage == 200.0").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("gpu.wattage > -1").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("gpu.price < 100").holds(part(ComponentType.GPU, c -> c.setPrice(new BigDecimal("99.99")))))
+                .isTrue();
+    }
+
+    private static void assertOperators(ComponentResponse gpu, int value, boolean eq, boolean ne, boolean lt, boolean le,
+                                        boolean gt, boolean ge) {
+        assertThat(CompiledRule.compile("gpu.wattage == " + value).holds(gpu)).as("== %d", value).isEqualTo(eq);
+        assertThat(CompiledRule.compile("gpu.wattage != " + value).holds(gpu)).as("!= %d", value).isEqualTo(ne);
+        assertThat(CompiledRule.compile("gpu.wattage < " + value).holds(gpu)).as("< %d", value).isEqualTo(lt);
+        assertThat(CompiledRule.compile("gpu.wattage <= " + value).holds(gpu)).as("<= %d", value).isEqualTo(le);
+        assertThat(CompiledRule.compile("gpu.wattage > " + value).holds(gpu)).as("> %d", value).isEqualTo(gt);
+        assertThat(CompiledRule.compile("gpu.wattage >= " + value).holds(gpu)).as(">= %d", value).isEqualTo(ge);
+    }
+
+    /**
+     * Text compares ignoring case, spaces, dashes and underscores; booleans compare for equality.
+     */
+    @Test
+    void textAndBooleanEquality() {
+        ComponentResponse board = part(ComponentType.Motherboard, c -> {
+            c.setFormFactor("Micro-ATX");
+            c.setExtraCompatibility(Map.of("wifi", true));
+        });
+
+        assertThat(CompiledRule.compile("motherboard.formFactor == 'micro atx'").holds(board)).isTrue();
+        assertThat(CompiledRule.compile("motherboard.formFactor == \"MICRO_ATX\"").holds(board)).isTrue();
+        assertThat(CompiledRule.compile("motherboard.formFactor != 'ATX'").holds(board)).isTrue();
+        assertThat(CompiledRule.compile("motherboard.formFactor == 'ATX'").holds(board)).isFalse();
+        assertThat(CompiledRule.compile("motherboard.extra.wifi == true").holds(board)).isTrue();
+        assertThat(CompiledRule.compile("motherboard.extra.wifi != true").holds(board)).isFalse();
+        assertThat(CompiledRule.sameText("Mini - ITX", "mini_itx")).isTrue();
+        assertThat(CompiledRule.sameText("ATX", "E-ATX")).isFalse();
+        assertThat(CompiledRule.sameText("", " - ")).isTrue();
+    }
+
+    /**
+     * Extra compatibility and metadata keys are read from their own maps.
+     */
+    @Test
+    void jsonReferences() {
+        ComponentResponse gpu = part(ComponentType.GPU, c -> {
+            c.setMetadata(Map.of("power_tier", "high", "slots", 3));
+            c.setExtraCompatibility(Map.of("power_tier", "low"));
+        });
+
+        assertThat(CompiledRule.compile("gpu.metadata.power_tier == 'high'").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("gpu.extra.power_tier == 'low'").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("gpu.metadata.slots <= 2").holds(gpu)).isFalse();
+    }
+
+    /**
+     * A comparison with a missing value on either side, or values of different kinds, holds.
+     */
+    @Test
+    void missingOrMismatchedValuesHold() {
+        ComponentResponse bare = part(ComponentType.GPU, c -> {
+        });
+        ComponentResponse textual = part(ComponentType.GPU, c -> c.setMetadata(Map.of("slots", "three", "flag", true)));
+
+        assertThat(CompiledRule.compile("gpu.wattage > 1000").holds(bare)).isTrue();
+        assertThat(CompiledRule.compile("gpu.wattage == 0").holds(bare)).isTrue();
+        assertThat(CompiledRule.compile("gpu.extra.anything == 'x'").holds(bare)).isTrue();
+        assertThat(CompiledRule.compile("gpu.metadata.anything != 1").holds(bare)).isTrue();
+        assertThat(CompiledRule.compile("gpu.metadata.slots <= 2").holds(textual)).isTrue();
+        assertThat(CompiledRule.compile("gpu.metadata.slots == 2").holds(textual)).isTrue();
+        assertThat(CompiledRule.compile("gpu.metadata.flag == 'yes'").holds(textual)).isTrue();
+        assertThat(CompiledRule.compile("case.gpuLengthMm >= gpu.gpuLengthMm")
+                .holds(part(ComponentType.Case, c -> { }), GPU_300)).isTrue();
+    }
+
+    /**
+     * {@code &&} binds tighter than {@code ||}, {@code !} tighter than both, and parentheses override them.
+     */
+    @Test
+    void logicalOperatorsAndPrecedence() {
+        ComponentResponse gpu = part(ComponentType.GPU, c -> {
+            c.setWattage(300);
+            c.setGpuLengthMm(250);
+        });
+
+        assertThat(CompiledRule.compile("gpu.wattage > 500 || gpu.wattage > 200 && gpu.gpuLengthMm < 260").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("(gpu.wattage > 500 || gpu.wattage > 200) && gpu.gpuLengthMm < 200").holds(gpu)).isFalse();
+        assertThat(CompiledRule.compile("!gpu.wattage > 200").holds(gpu)).isFalse();
+        assertThat(CompiledRule.compile("!(gpu.wattage > 500) && !!(gpu.gpuLengthMm == 250)").holds(gpu)).isTrue();
+        assertThat(CompiledRule.compile("gpu.wattage > 500 || gpu.gpuLengthMm > 500").holds(gpu)).isFalse();
+    }
+
+    /**
+     * Invalid rules are rejected when compiled, with the rule and the position of the problem.
+     */
+    @Test
+    void rejectsInvalidRules() {
+        assertInvalid("gpu.wattage >", "Invalid rule \"gpu.wattage >\" at 13: expected a value");
+        assertInvalid("gpu.wattage 300", "at 12: expected a comparison operator");
+        assertInvalid("gpu.power > 300", "at 9: unknown field 'power'");
+        assertInvalid("router.wattage > 1", "at 6: unknown component type 'router'");
+        assertInvalid("gpu.name == 'open", "at 12: unterminated string");
+        assertInvalid("gpu.name > 'a'", "at 14: text can only be compared with == or !=");
+        assertInvalid("1 == 1", "at 6: a comparison must reference a component");
+        assertInvalid("(gpu.wattage > 1", "at 16: expected ')'");
+        assertInvalid("gpu.wattage > 1 )", "at 16: unexpected ')'");
+        assertInvalid("gpu.wattage > 1..2", "at 14: invalid number");
+        assertInvalid("gpu.wattage > case.wattage && psu.wattage > 1",
+                "at 33: a rule can relate at most two component types");
+        assertInvalid("gpu wattage > 1", "at 4: expected '.'");
+        assertInvalid("true == false", "a comparison must reference a component");
+    }
+
+    private static void assertInvalid(String rule, String message) {
+        assertThatThrownBy(() -> CompiledRule.compile(rule))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(message);
+    }
+
+    /**
+     * Compiled rules agree with the same conditions written directly in Java over random components, including the
+     * missing-value convention: a comparison with a missing side holds, so negating it fails.
+     */
+    @Test
+    void agreesWithDirectJavaPredicates() {
+        List<ComponentResponse> all = RandomCatalog.components(3, 900);
+        assertAgrees(all, "case.gpuLengthMm >= gpu.gpuLengthMm", ComponentType.Case, ComponentType.GPU,
+                (pcCase, gpu) -> pcCase.gpuLengthMm() == null || gpu.gpuLengthMm() == null
+                        || pcCase.gpuLengthMm() >= gpu.gpuLengthMm());
+        assertAgrees(all, "ram.ramType != 'DDR5' || cpu.extra.ddr5_support == true", ComponentType.RAM, ComponentType.CPU,
+                (ram, cpu) -> {
+                    boolean notDdr5 = ram.ramType() == null || !ram.ramType().equals("DDR5");
+                    Object flag = cpu.extraCompatibility() != null ? cpu.extraCompatibility().get("ddr5_support") : null;
+                    return notDdr5 || flag == null || flag.equals(true);
+                });
+        assertAgrees(all, "psu.wattage >= 500 && case.psuFormFactor == psu.psuFormFactor", ComponentType.PSU,
+                ComponentType.Case,
+                (psu, pcCase) -> (psu.wattage() == null || psu.wattage() >= 500)
+                        && (psu.psuFormFactor() == null || pcCase.psuFormFactor() == null
+                        || psu.psuFormFactor().equalsIgnoreCase(pcCase.psuFormFactor())));
+        assertAgrees(all, "!(cooler.coolerHeightMm > case.coolerHeightMm) && cooler.metadata.power_tier != 'extreme'",
+                ComponentType.Cooler, ComponentType.Case,
+                (cooler, pcCase) -> !(cooler.coolerHeightMm() == null || pcCase.coolerHeightMm() == null
+                        || cooler.coolerHeightMm() > pcCase.coolerHeightMm())
+                        && !Objects.equals(cooler.metadata().get("power_tier"), "extreme"));
+        assertAgrees(all, "motherboard.socket == cpu.socket", ComponentType.Motherboard, ComponentType.CPU,
+                (board, cpu) -> board.socket() == null || cpu.socket() == null || board.socket().equals(cpu.socket()));
+    }
+
+    /**
+     * Checks a compiled rule against a Java predicate over every pair of components of its types, both ways round.
+     */
+    private static void assertAgrees(List<ComponentResponse> all, String source, ComponentType first, ComponentType second,
+                                     BiPredicate<ComponentResponse, ComponentResponse> expected) {
+        CompiledRule rule = CompiledRule.compile(source);
+        int checked = 0;
+        for (ComponentResponse x : all) {
+            if (x.type() != first) {
+                continue;
+            }
+            for (ComponentResponse y : all) {
+                if (y.type() == second) {
+                    boolean wanted = expected.test(x, y);
+                    assertThat(rule.holds(x, y)).as("%s on %s and %s", source, x.name(), y.name()).isEqualTo(wanted);
+                    assertThat(rule.holds(y, x)).as("%s on %s and %s", source, y.name(), x.name()).isEqualTo(wanted);
+                    checked++;
+                }
+            }
+        }
+        assertThat(checked).isPositive();
+    }
+
+    /**
+     * Evaluating compiled rules allocates nothing, so checks inside searches put no load on the collector.
+     */
+    @Test
+    void evaluationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertThat(threads.isThreadAllocatedMemorySupported()).isTrue();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        List<CompiledRule> rules = List.of(
+                CompiledRule.compile("case.gpuLengthMm >= gpu.gpuLengthMm && gpu.metadata.power_tier != 'extreme'"),
+                CompiledRule.compile("ram.ramType != 'DDR5' || cpu.extra.ddr5_support == true"),
+                CompiledRule.compile("!(cooler.coolerHeightMm > case.coolerHeightMm) || cooler.socket == 'AM5'"));
+        List<ComponentResponse> all = RandomCatalog.components(5, 90);
+        ComponentResponse[] components = all.toArray(ComponentResponse[]::new);
+
+        long holding = evaluate(rules, components, 200_000);
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        holding += evaluate(rules, components, 1_000_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(holding).isPositive();
+        assertThat(allocated).as("bytes allocated by a million checks").isLessThan(16 * 1024);
+    }
+
+    private static long evaluate(List<CompiledRule> rules, ComponentResponse[] components, int checks) {
+        long holding = 0;
+        int n = components.length;
+        for (int i = 0; i < checks; i++) {
+            CompiledRule rule = rules.get(i % rules.size());
+            if (rule.holds(components[i % n], components[(i / n) % n])) {
+                holding++;
+            }
+        }
+        return holding;
+    }
+
+    /**
+     * Creates a component of the given type with its other fields empty.
+     */
+    static ComponentResponse part(ComponentType type, Consumer<Component> setup) {
+        Component component = new Component();
+        component.setId(1L);
+        component.setName(type + " part");
+        component.setType(type);
+        component.setPrice(null);
+        component.setStockQuantity(null);
+        setup.accept(component);
+        return ComponentResponse.fromEntity(component);
+    }
+}
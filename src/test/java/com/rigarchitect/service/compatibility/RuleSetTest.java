@@ -0,0 +1,169 @@
+package com.rigarchitect.service.compatibility;
+
+import com.rigarchitect.dto.component.ComponentResponse;
+import com.rigarchitect.model.enums.ComponentType;
+import com.rigarchitect.service.catalog.RandomCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static com.rigarchitect.service.compatibility.CompiledRuleTest.part;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that rule sets apply configured and component rules to the right parts of a build.
+ */
+class RuleSetTest {
+
+    private static final CompiledRule GPU_FITS_CASE = CompiledRule.compile("gpu-fits-case: case.gpuLengthMm >= gpu.gpuLengthMm");
+    private static final CompiledRule GPU_POWER_CAP = CompiledRule.compile("gpu-power-cap: gpu.wattage <= 300");
+
+    /**
+     * The empty set allows everything and reports nothing.
+     */
+    @Test
+    void emptySetAllowsEverything() {
+        ComponentResponse gpu = part(ComponentType.GPU, c -> c.setWattage(10_000));
+        List<BuildViolation> violations = new ArrayList<>();
+        RuleSet.EMPTY.collectViolations(List.of(new BuildPart(gpu, 1)), violations);
+
+        assertThat(RuleSet.EMPTY.isEmpty()).isTrue();
+        assertThat(RuleSet.EMPTY.allows(List.of(), gpu)).isTrue();
+        assertThat(violations).isEmpty();
+    }
+
+    /**
+     * A candidate is refused if it breaks a single-type rule or a pair rule with any part of the build, in either role.
+     */
+    @Test
+    void allowsChecksCandidateAloneAndAgainstEveryPart() {
+        RuleSet rules = new RuleSet(1, List.of(GPU_FITS_CASE, GPU_POWER_CAP), Map.of());
+        ComponentResponse pcCase = part(ComponentType.Case, c -> c.setGpuLengthMm(300));
+        ComponentResponse psu = part(ComponentType.PSU, c -> c.setWattage(850));
+        List<BuildPart> build = List.of(new BuildPart(psu, 1), new BuildPart(pcCase, 1));
+
+        assertThat(rules.allows(build, part(ComponentType.GPU, c -> c.setGpuLengthMm(290)))).isTrue();
+        assertThat(rules.allows(build, part(ComponentType.GPU, c -> c.setGpuLengthMm(310)))).isFalse();
+        assertThat(rules.allows(build, part(ComponentType.GPU, c -> c.setWattage(350)))).isFalse();
+        assertThat(rules.allows(List.of(), part(ComponentType.GPU, c -> c.setWattage(350)))).isFalse();
+        assertThat(rules.allows(List.of(new BuildPart(part(ComponentType.GPU, c -> c.setGpuLengthMm(310)), 1)),
+                pcCase)).isFalse();
+        assertThat(rules.allows(build, part(ComponentType.RAM, c -> c.setWattage(10_000)))).isTrue();
+    }
+
+    /**
+     * Rules a component carries apply only to builds containing that component.
+     */
+    @Test
+    void componentRulesApplyOnlyWithTheirComponent() {
+        ComponentResponse board = part(ComponentType.Motherboard, c -> c.setId(7L));
+        ComponentResponse otherBoard = part(ComponentType.Motherboard, c -> c.setId(8L));
+        ComponentResponse longGpu = part(ComponentType.GPU, c -> c.setGpuLengthMm(330));
+        CompiledRule shortGpuOnly = CompiledRule.compile("board-7-short-gpu: gpu.gpuLengthMm <= 300 && motherboard.socket != 'x'");
+        RuleSet rules = new RuleSet(2, List.of(), Map.of(7L, new CompiledRule[]{shortGpuOnly}));
+
+        assertThat(rules.isEmpty()).isFalse();
+        assertThat(rules.allows(List.of(new BuildPart(board, 1)), longGpu)).isFalse();
+        assertThat(rules.allows(List.of(new BuildPart(longGpu, 1)), board)).isFalse();
+        assertThat(rules.allows(List.of(new BuildPart(otherBoard, 1)), longGpu)).isTrue();
+        assertThat(rules.allows(List.of(), longGpu)).isTrue();
+    }
+
+    /**
+     * A rule about a single type that a component carries applies to the other parts of builds containing it.
+     */
+    @Test
+    void carriedSingleTypeRulesApplyToOtherParts() {
+        ComponentResponse board = part(ComponentType.Motherboard, c -> {
+            c.setId(7L);
+            c.setName("Board");
+        });
+        ComponentResponse longGpu = part(ComponentType.GPU, c -> {
+            c.setId(9L);
+            c.setName("Long GPU");
+            c.setGpuLengthMm(330);
+        });
+        RuleSet rules = new RuleSet(5, List.of(),
+                Map.of(7L, new CompiledRule[]{CompiledRule.compile("short-gpu: gpu.gpuLengthMm <= 300")}));
+        List<BuildViolation> violations = new ArrayList<>();
+        rules.collectViolations(List.of(new BuildPart(board, 1), new BuildPart(longGpu, 1)), violations);
+
+        assertThat(rules.allows(List.of(new BuildPart(board, 1)), longGpu)).isFalse();
+        assertThat(rules.allows(List.of(new BuildPart(longGpu, 1)), board)).isFalse();
+        assertThat(violations).containsExactly(
+                new BuildViolation(CompatibilityRule.CONFIGURED, "short-gpu: Board and Long GPU", List.of(7L, 9L)));
+    }
+
+    /**
+     * Violations name the broken rule and the parts involved, once per broken rule and pair.
+     */
+    @Test
+    void collectsNamedViolations() {
+        RuleSet rules = new RuleSet(3, List.of(GPU_FITS_CASE, GPU_POWER_CAP), Map.of());
+        ComponentResponse gpu = part(ComponentType.GPU, c -> {
+            c.setId(1L);
+            c.setName("Big GPU");
+            c.setGpuLengthMm(340);
+            c.setWattage(450);
+        });
+        ComponentResponse pcCase = part(ComponentType.Case, c -> {
+            c.setId(2L);
+            c.setName("Small case");
+            c.setGpuLengthMm(300);
+        });
+        List<BuildViolation> violations = new ArrayList<>();
+        rules.collectViolations(List.of(new BuildPart(gpu, 1), new BuildPart(pcCase, 1)), violations);
+
+        assertThat(violations).containsExactly(
+                new BuildViolation(CompatibilityRule.CONFIGURED, "gpu-power-cap: Big GPU", List.of(1L)),
+                new BuildViolation(CompatibilityRule.CONFIGURED, "gpu-fits-case: Big GPU and Small case", List.of(1L, 2L)));
+    }
+
+    /**
+     * On random builds, {@code allows} agrees with checking every rule against the candidate and every part directly.
+     */
+    @Test
+    void allowsMatchesCheckingEveryRule() {
+        List<CompiledRule> configured = List.of(GPU_FITS_CASE, GPU_POWER_CAP,
+                CompiledRule.compile("motherboard.socket == cpu.socket"),
+                CompiledRule.compile("ram.ramType == motherboard.ramType || ram.metadata.power_tier == 'low'"),
+                CompiledRule.compile("psu.wattage >= 450"));
+        List<ComponentResponse> all = RandomCatalog.components(11, 360);
+        Long carrier = all.get(5).id();
+        CompiledRule[] carried = {CompiledRule.compile("cooler.coolerHeightMm <= 150"),
+                CompiledRule.compile("cooler.coolerHeightMm <= case.coolerHeightMm")};
+        RuleSet rules = new RuleSet(4, configured, Map.of(carrier, carried));
+
+        SplittableRandom random = new SplittableRandom(17);
+        for (int trial = 0; trial < 2_000; trial++) {
+            List<BuildPart> build = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                build.add(new BuildPart(all.get(random.nextInt(all.size())), 1));
+            }
+            ComponentResponse candidate = all.get(random.nextInt(all.size()));
+            boolean expected = true;
+            for (CompiledRule rule : configured) {
+                expected &= rule.holds(candidate);
+                for (BuildPart p : build) {
+                    expected &= rule.holds(p.component(), candidate);
+                }
+            }
+            for (CompiledRule rule : carried) {
+                if (candidate.id().equals(carrier)) {
+                    expected &= rule.holds(candidate);
+                }
+                for (BuildPart p : build) {
+                    if (candidate.id().equals(carrier)) {
+                        expected &= rule.holds(p.component()) && rule.holds(p.component(), candidate);
+                    } else if (p.component().id().equals(carrier)) {
+                        expected &= rule.holds(candidate) && rule.holds(p.component(), candidate);
+                    }
+                }
+            }
+            assertThat(rules.allows(build, candidate)).as("%s with %s", candidate.name(), build).isEqualTo(expected);
+        }
+    }
+}